@@ -0,0 +1,44 @@
+package com.github.bztmrlan.financeassistant.config;
+
+import com.github.bztmrlan.financeassistant.exception.RateLimitExceededException;
+import com.github.bztmrlan.financeassistant.security.CustomUserDetailsService;
+import com.github.bztmrlan.financeassistant.service.RateLimit;
+import com.github.bztmrlan.financeassistant.service.RateLimiter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Takes a token from the caller's bucket for {@code limit} before a POST reaches the handler, and
+ * turns the request away with 429 and {@code Retry-After} once the bucket is empty. Anonymous requests
+ * are left to the handler's own authentication check.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimit limit;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        if (!(request.getUserPrincipal() instanceof Authentication authentication)
+                || !(authentication.getPrincipal() instanceof CustomUserDetailsService.CustomUserDetails userDetails)) {
+            return true;
+        }
+        long waitMillis = rateLimiter.acquire(limit, userDetails.getUserId());
+        if (waitMillis > 0) {
+            throw new RateLimitExceededException("Too many requests, please retry later",
+                    Math.max(1, (waitMillis + 999) / 1000));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.bztmrlan.financeassistant.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections between the primary database and its read replicas. Read-only transactions
+ * declared by the application go to a replica, round-robin among those whose lag was last measured
+ * within {@code maxLagSeconds}; when none is, they fall back to the primary. Everything else goes to the
+ * primary, including the read-only transactions Spring Data opens around single repository calls, as
+ * those mostly read the state a write is about to change.
+ * <p>
+ * The connection has to be chosen after the transaction began, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}. Connections are counted as
+ * {@code datasource.route} tagged with the route, fallbacks as {@code datasource.replica.fallback}, and
+ * each replica's lag is published as {@code datasource.replica.lag}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Boolean> repositoryTransactions = new ConcurrentHashMap<>();
+    private final Counter primaryRoutes;
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, double maxLagSeconds,
+                                    String lagQuery, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        this.primaryRoutes = routeCounter(PRIMARY, meterRegistry);
+        this.fallbacks = Counter.builder("datasource.replica.fallback")
+                .description("Read-only connections sent to the primary because no replica was fresh enough")
+                .register(meterRegistry);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, routeCounter(name, meterRegistry));
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag last measured on the replica, NaN when it could not be measured")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || isRepositoryTransaction(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            primaryRoutes.increment();
+            return PRIMARY;
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.available) {
+                replica.routes.increment();
+                return replica.name;
+            }
+        }
+        fallbacks.increment();
+        primaryRoutes.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * Measures the lag of every replica, taking the ones behind by more than the limit, or that cannot
+     * be reached, out of the rotation until they catch up.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.read-replicas.lag-check-interval-ms:5000}")
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try {
+                Double lag = new JdbcTemplate(replica.dataSource).queryForObject(lagQuery, Double.class);
+                replica.lagSeconds = lag == null ? 0 : lag;
+                replica.available = replica.lagSeconds <= maxLagSeconds;
+            } catch (DataAccessException e) {
+                replica.lagSeconds = Double.NaN;
+                replica.available = false;
+                log.debug("Could not measure the lag of replica {}", replica.name, e);
+            }
+            if (wasAvailable && !replica.available) {
+                log.warn("Replica {} taken out of rotation, lag {}s", replica.name, replica.lagSeconds);
+            } else if (!wasAvailable && replica.available) {
+                log.info("Replica {} in rotation, lag {}s", replica.name, replica.lagSeconds);
+            }
+        }
+    }
+
+    public boolean isAvailable(String replicaName) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(replicaName) && replica.available);
+    }
+
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private boolean isRepositoryTransaction(String transactionName) {
+        if (transactionName == null) {
+            return false;
+        }
+        return repositoryTransactions.computeIfAbsent(transactionName, name -> {
+            String className = name.substring(0, Math.max(name.lastIndexOf('.'), 0));
+            try {
+                return Repository.class.isAssignableFrom(ClassUtils.forName(className, getClass().getClassLoader()));
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        });
+    }
+
+    private static Counter routeCounter(String route, MeterRegistry meterRegistry) {
+        return Counter.builder("datasource.route")
+                .description("Connections handed out, by the database they were routed to")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter routes;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource, Counter routes) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.routes = routes;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.github.bztmrlan.financeassistant.config;
 
 
+import com.github.bztmrlan.financeassistant.security.BulkheadPasswordEncoder;
 import com.github.bztmrlan.financeassistant.security.JwtRequestFilter;
+import com.github.bztmrlan.financeassistant.security.UserAuthorities;
+import com.github.bztmrlan.financeassistant.service.Bulkheads;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -36,13 +39,16 @@ public class SecurityConfig {
     @Value("#{'${app.cors.allowed-headers}'.split(',')}")
     private List<String> allowedHeaders;
 
+    @Value("#{'${app.cors.exposed-headers:X-Next-Cursor,Retry-After}'.split(',')}")
+    private List<String> exposedHeaders;
+
 
     @Autowired
     private JwtRequestFilter jwtRequestFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(Bulkheads bulkheads) {
+        return new BulkheadPasswordEncoder(new BCryptPasswordEncoder(), bulkheads.passwordHashing());
     }
 
     @Bean
@@ -58,8 +64,10 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/auth/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
                 .requestMatchers("/api/transactions/upload/status").permitAll()
                 .requestMatchers("/api/transactions/upload/formats").permitAll()
+                .requestMatchers("/api/admin/**").hasAuthority(UserAuthorities.ADMIN)
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
@@ -76,6 +84,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(allowedOrigins);
         configuration.setAllowedMethods(allowedMethods);
         configuration.setAllowedHeaders(allowedHeaders);
+        configuration.setExposedHeaders(exposedHeaders);
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
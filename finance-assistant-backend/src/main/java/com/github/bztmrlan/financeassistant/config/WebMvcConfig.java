@@ -0,0 +1,71 @@
+package com.github.bztmrlan.financeassistant.config;
+
+import com.github.bztmrlan.financeassistant.service.RateLimit;
+import com.github.bztmrlan.financeassistant.service.RateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${app.rate-limit.insights.capacity:5}")
+    private int insightsCapacity;
+
+    @Value("${app.rate-limit.insights.refill-seconds:60}")
+    private long insightsRefillSeconds;
+
+    @Value("${app.rate-limit.upload.capacity:5}")
+    private int uploadCapacity;
+
+    @Value("${app.rate-limit.upload.refill-seconds:60}")
+    private long uploadRefillSeconds;
+
+    @Value("${app.rate-limit.rule-evaluation.capacity:10}")
+    private int ruleEvaluationCapacity;
+
+    @Value("${app.rate-limit.rule-evaluation.refill-seconds:30}")
+    private long ruleEvaluationRefillSeconds;
+
+    @Value("${app.rate-limit.goal-progress.capacity:10}")
+    private int goalProgressCapacity;
+
+    @Value("${app.rate-limit.goal-progress.refill-seconds:30}")
+    private long goalProgressRefillSeconds;
+
+    @Value("${app.rate-limit.rollup-rebuild.capacity:1}")
+    private int rollupRebuildCapacity;
+
+    @Value("${app.rate-limit.rollup-rebuild.refill-seconds:300}")
+    private long rollupRebuildRefillSeconds;
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        if (!rateLimitEnabled) {
+            return;
+        }
+        limit(registry, new RateLimit("insights", insightsCapacity, insightsRefillSeconds * 1000),
+                "/api/insights");
+        limit(registry, new RateLimit("upload", uploadCapacity, uploadRefillSeconds * 1000),
+                "/api/transactions/upload");
+        limit(registry, new RateLimit("rule-evaluation", ruleEvaluationCapacity, ruleEvaluationRefillSeconds * 1000),
+                "/api/rule-engine/evaluate", "/api/rule-engine/evaluate/**");
+        limit(registry, new RateLimit("goal-progress", goalProgressCapacity, goalProgressRefillSeconds * 1000),
+                "/api/goals/calculate-progress", "/api/goals/evaluate");
+        limit(registry, new RateLimit("rollup-rebuild", rollupRebuildCapacity, rollupRebuildRefillSeconds * 1000),
+                "/api/transactions/rollups/rebuild");
+    }
+
+    private void limit(InterceptorRegistry registry, RateLimit limit, String... paths) {
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, limit)).addPathPatterns(paths);
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.bztmrlan.financeassistant.controller;
+
+import com.github.bztmrlan.financeassistant.dto.EvaluationRunResponse;
+import com.github.bztmrlan.financeassistant.model.EvaluationRun;
+import com.github.bztmrlan.financeassistant.service.EvaluationRunService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private static final int MAX_RUNS = 500;
+
+    private final EvaluationRunService evaluationRunService;
+
+    @GetMapping("/evaluation-runs")
+    public ResponseEntity<List<EvaluationRunResponse>> getEvaluationRuns(
+            @RequestParam(defaultValue = "50") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_RUNS));
+        List<EvaluationRunResponse> runs = evaluationRunService.recentRuns(boundedLimit).stream()
+                .map(this::convertToEvaluationRunResponse)
+                .toList();
+        return ResponseEntity.ok(runs);
+    }
+
+    private EvaluationRunResponse convertToEvaluationRunResponse(EvaluationRun run) {
+        Instant end = run.getFinishedAt() != null ? run.getFinishedAt() : Instant.now();
+        long durationMillis = Math.max(Duration.between(run.getStartedAt(), end).toMillis(), 0);
+        return EvaluationRunResponse.builder()
+                .id(run.getId())
+                .jobName(run.getJobName())
+                .runDate(run.getRunDate())
+                .status(run.getStatus())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .durationMillis(durationMillis)
+                .usersProcessed(run.getUsersProcessed())
+                .usersFailed(run.getUsersFailed())
+                .usersPerSecond(run.getUsersProcessed() * 1000.0 / Math.max(durationMillis, 1))
+                .build();
+    }
+}
@@ -7,10 +7,12 @@ import com.github.bztmrlan.financeassistant.model.User;
 import com.github.bztmrlan.financeassistant.repository.UserRepository;
 import com.github.bztmrlan.financeassistant.security.CustomUserDetailsService;
 import com.github.bztmrlan.financeassistant.security.JwtUtil;
+import com.github.bztmrlan.financeassistant.security.TokenRevocationCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,8 +23,6 @@ import java.time.Instant;
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
-    @Autowired
-    private AuthenticationManager authenticationManager;
     @Autowired
     private CustomUserDetailsService userDetailsService;
     @Autowired
@@ -31,18 +31,29 @@ public class AuthController {
     private UserRepository userRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache;
+    @Autowired
+    private AuthenticationManager authenticationManager;
 
+    /**
+     * The credentials are checked by the {@link AuthenticationManager}, whose password encoder hashes on
+     * the password hashing bulkhead. Its {@code DaoAuthenticationProvider} matches unknown emails against
+     * a throwaway hash, so they take as long to reject as a wrong password.
+     */
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody AuthRequest request) {
+        if (request.getEmail() == null || request.getPassword() == null) {
+            return ResponseEntity.status(401).body("Invalid credentials");
+        }
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
         } catch (AuthenticationException e) {
             return ResponseEntity.status(401).body("Invalid credentials");
         }
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(request.getEmail());
-        final String jwt = jwtUtil.generateToken(userDetails);
+        final String jwt = jwtUtil.generateToken((UserDetails) authentication.getPrincipal());
         return ResponseEntity.ok(new AuthResponse(jwt));
     }
 
@@ -52,10 +63,11 @@ public class AuthController {
             return ResponseEntity.badRequest().body("User already exists");
         }
         
+        String passwordHash = passwordEncoder.encode(request.getPassword());
         User user = User.builder()
                 .name(request.getName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .createdAt(Instant.now())
                 .build();
         
@@ -71,28 +83,33 @@ public class AuthController {
         return ResponseEntity.ok("Auth service is running");
     }
 
+    /**
+     * The token itself is checked by the request filter, which authenticates the request only when
+     * it is valid and not revoked.
+     */
     @GetMapping("/verify")
-    public ResponseEntity<?> verifyToken(@RequestHeader("Authorization") String authHeader) {
-        try {
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                return ResponseEntity.status(401).body("Invalid token format");
-            }
-            
-            String token = authHeader.substring(7);
-            String username = jwtUtil.extractUsername(token);
-            
-            if (username == null) {
-                return ResponseEntity.status(401).body("Invalid token");
-            }
-            
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(token, userDetails)) {
-                return ResponseEntity.ok("Token is valid");
-            } else {
-                return ResponseEntity.status(401).body("Token is invalid or expired");
-            }
-        } catch (Exception e) {
-            return ResponseEntity.status(401).body("Token verification failed");
+    public ResponseEntity<?> verifyToken(@RequestHeader("Authorization") String authHeader,
+                                         Authentication authentication) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(401).body("Invalid token format");
+        }
+        if (authentication == null
+                || !(authentication.getPrincipal() instanceof CustomUserDetailsService.CustomUserDetails)) {
+            return ResponseEntity.status(401).body("Token is invalid or expired");
+        }
+        return ResponseEntity.ok("Token is valid");
+    }
+
+    /**
+     * Revokes every token issued to the authenticated user, signing them out on all devices.
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(Authentication authentication) {
+        if (authentication == null
+                || !(authentication.getPrincipal() instanceof CustomUserDetailsService.CustomUserDetails userDetails)) {
+            return ResponseEntity.status(401).build();
         }
+        tokenRevocationCache.revokeAll(userDetails.getUserId());
+        return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
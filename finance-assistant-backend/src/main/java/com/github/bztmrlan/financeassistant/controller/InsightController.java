@@ -3,6 +3,7 @@ package com.github.bztmrlan.financeassistant.controller;
 import com.github.bztmrlan.financeassistant.dto.InsightRequest;
 import com.github.bztmrlan.financeassistant.dto.InsightResponse;
 import com.github.bztmrlan.financeassistant.security.CustomUserDetailsService;
+import com.github.bztmrlan.financeassistant.service.Bulkheads;
 import com.github.bztmrlan.financeassistant.service.InsightService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/insights")
@@ -21,28 +23,37 @@ import java.util.UUID;
 public class InsightController {
 
     private final InsightService insightService;
+    private final Bulkheads bulkheads;
 
 
+    /**
+     * The AI provider is called on the AI bulkhead, so slow completions do not hold request threads.
+     */
     @PostMapping
-    public ResponseEntity<InsightResponse> generateInsight(
+    public CompletableFuture<ResponseEntity<InsightResponse>> generateInsight(
             @Valid @RequestBody InsightRequest request,
             Authentication authentication) {
-        
-        try {
-            UUID userId = extractUserId(authentication);
-            if (userId == null) {
-                return ResponseEntity.badRequest().build();
-            }
-            
 
-            InsightResponse insight = insightService.generateInsight(request, userId);
-            
-            return ResponseEntity.ok(insight);
-            
+        UUID userId;
+        try {
+            userId = extractUserId(authentication);
         } catch (Exception e) {
             log.error("Error generating insight", e);
-            return ResponseEntity.internalServerError().build();
+            return CompletableFuture.completedFuture(ResponseEntity.internalServerError().build());
         }
+        if (userId == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+
+        return bulkheads.ai().submit(() -> {
+            try {
+                InsightResponse insight = insightService.generateInsight(request, userId);
+                return ResponseEntity.ok(insight);
+            } catch (Exception e) {
+                log.error("Error generating insight", e);
+                return ResponseEntity.internalServerError().build();
+            }
+        });
     }
 
 
@@ -1,23 +1,39 @@
 package com.github.bztmrlan.financeassistant.controller;
 
+import com.github.bztmrlan.financeassistant.enums.ExportFormat;
 import com.github.bztmrlan.financeassistant.model.Transaction;
-import com.github.bztmrlan.financeassistant.model.User;
 import com.github.bztmrlan.financeassistant.model.Category;
 import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
-import com.github.bztmrlan.financeassistant.repository.UserRepository;
 import com.github.bztmrlan.financeassistant.repository.CategoryRepository;
+import com.github.bztmrlan.financeassistant.dto.SpendingTotals;
+import com.github.bztmrlan.financeassistant.dto.TransactionCursor;
+import com.github.bztmrlan.financeassistant.dto.TransactionFilter;
 import com.github.bztmrlan.financeassistant.dto.TransactionResponse;
 import com.github.bztmrlan.financeassistant.security.CustomUserDetailsService;
+import com.github.bztmrlan.financeassistant.service.RuleEngineService;
+import com.github.bztmrlan.financeassistant.service.SpendingRollupService;
+import com.github.bztmrlan.financeassistant.service.SpendingWindowCache;
+import com.github.bztmrlan.financeassistant.service.TransactionExportService;
+import com.github.bztmrlan.financeassistant.service.TransactionSearchService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -26,47 +42,181 @@ import java.util.stream.Collectors;
 public class TransactionController {
 
     private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
-
-
+    private final SpendingRollupService spendingRollupService;
+    private final SpendingWindowCache spendingWindowCache;
+    private final RuleEngineService ruleEngineService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionSearchService transactionSearchService;
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_SEARCH_SIZE = 20;
+    private static final int MAX_SEARCH_SIZE = 100;
+    private static final int MAX_SEARCH_PAGE = 50;
+    private static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+
+    /**
+     * One page of the user's transactions, newest first. When more match, the cursor of the next
+     * page is returned in the {@value #NEXT_CURSOR_HEADER} header.
+     */
     @GetMapping
-    public ResponseEntity<List<TransactionResponse>> getUserTransactions(Authentication authentication) {
+    public ResponseEntity<List<TransactionResponse>> getUserTransactions(
+            Authentication authentication,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String q) {
         try {
-            User user = getAuthenticatedUser(authentication);
-            if (user == null) {
+            UUID userId = getAuthenticatedUserId(authentication);
+            if (userId == null) {
                 return ResponseEntity.status(401).build();
             }
 
-            List<Transaction> transactions = transactionRepository.findByUserIdOrderByDateDesc(user.getId());
+            TransactionCursor after;
+            try {
+                after = cursor != null && !cursor.isBlank() ? TransactionCursor.decode(cursor) : null;
+            } catch (IllegalArgumentException e) {
+                log.warn("Rejected transaction listing cursor: {}", cursor);
+                return ResponseEntity.badRequest().build();
+            }
+
+            TransactionFilter filter = TransactionFilter.builder()
+                    .from(from)
+                    .to(to)
+                    .categoryId(categoryId)
+                    .type(type)
+                    .minAmount(minAmount)
+                    .maxAmount(maxAmount)
+                    .text(q)
+                    .build();
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            List<TransactionResponse> transactions =
+                    transactionRepository.findPage(userId, filter, after, pageSize + 1);
+
+            HttpHeaders headers = new HttpHeaders();
+            if (transactions.size() > pageSize) {
+                transactions = transactions.subList(0, pageSize);
+                TransactionResponse last = transactions.get(pageSize - 1);
+                headers.set(NEXT_CURSOR_HEADER, new TransactionCursor(last.getDate(), last.getId()).encode());
+            }
 
-            
-            List<TransactionResponse> transactionResponses = transactions.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(transactionResponses);
+            return ResponseEntity.ok().headers(headers).body(transactions);
         } catch (Exception e) {
             log.error("Error retrieving transactions for user", e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    /**
+     * Transactions whose description matches {@code q}, ranked by relevance and paged by {@code page}
+     * and {@code size}.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<TransactionResponse>> searchTransactions(
+            Authentication authentication,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_SIZE) int size) {
+        try {
+            UUID userId = getAuthenticatedUserId(authentication);
+            if (userId == null) {
+                return ResponseEntity.status(401).build();
+            }
+            if (q.isBlank() || page < 0 || page > MAX_SEARCH_PAGE) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+            return ResponseEntity.ok(transactionSearchService.search(userId, q.trim(), page, pageSize));
+        } catch (Exception e) {
+            log.error("Error searching transactions", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Count, income, expenses and net of all the user's transactions in the date range, for one category
+     * or for all of them, summed from the daily rollups instead of the listed pages.
+     */
+    @GetMapping("/totals")
+    public ResponseEntity<SpendingTotals> getTransactionTotals(
+            Authentication authentication,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) UUID categoryId) {
+        try {
+            UUID userId = getAuthenticatedUserId(authentication);
+            if (userId == null) {
+                return ResponseEntity.status(401).build();
+            }
+
+            return ResponseEntity.ok(spendingRollupService.getTotals(userId, categoryId,
+                    from != null ? from : EARLIEST, to != null ? to : LATEST));
+        } catch (Exception e) {
+            log.error("Error retrieving transaction totals", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Streams the user's transactions in the date range as {@code csv} or {@code ndjson}, sending
+     * rows while they are still being read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            Authentication authentication,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        UUID userId = getAuthenticatedUserId(authentication);
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> transactionExportService.export(userId, exportFormat, from, to, out);
+        String extension = exportFormat == ExportFormat.CSV ? "csv" : "ndjson";
+        return ResponseEntity.ok()
+                .contentType(exportFormat == ExportFormat.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + extension)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @PutMapping("/{transactionId}/category")
     public ResponseEntity<?> updateTransactionCategory(
             @PathVariable UUID transactionId,
             @RequestBody CategoryUpdateRequest request,
             Authentication authentication) {
         try {
-            User user = getAuthenticatedUser(authentication);
-            if (user == null) {
+            UUID userId = getAuthenticatedUserId(authentication);
+            if (userId == null) {
                 return ResponseEntity.status(401).build();
             }
 
 
-            Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, user.getId());
+            Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId);
             if (transaction == null) {
-                log.warn("Transaction {} not found or doesn't belong to user {}", transactionId, user.getId());
+                log.warn("Transaction {} not found or doesn't belong to user {}", transactionId, userId);
                 return ResponseEntity.notFound().build();
             }
 
@@ -77,17 +227,18 @@ public class TransactionController {
             }
 
 
-            if (!newCategory.getUser().getId().equals(user.getId())) {
-                log.warn("Category {} doesn't belong to user {}", request.getCategoryId(), user.getId());
+            if (!newCategory.getUser().getId().equals(userId)) {
+                log.warn("Category {} doesn't belong to user {}", request.getCategoryId(), userId);
                 return ResponseEntity.badRequest().body("Category not found");
             }
 
 
             transaction.setCategory(newCategory);
             transactionRepository.save(transaction);
+            applyBusinessRules(transaction);
 
             log.info("Updated category for transaction {} to category {} for user {}", 
-                    transactionId, request.getCategoryId(), user.getId());
+                    transactionId, request.getCategoryId(), userId);
 
             return ResponseEntity.ok().build();
         } catch (Exception e) {
@@ -102,18 +253,14 @@ public class TransactionController {
             @PathVariable UUID transactionId,
             Authentication authentication) {
         try {
-            User user = getAuthenticatedUser(authentication);
-            if (user == null) {
+            UUID userId = getAuthenticatedUserId(authentication);
+            if (userId == null) {
                 return ResponseEntity.status(401).build();
             }
 
-            Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, user.getId());
-            if (transaction == null) {
-                return ResponseEntity.notFound().build();
-            }
-
-            TransactionResponse response = convertToResponse(transaction);
-            return ResponseEntity.ok(response);
+            return transactionRepository.findResponseByIdAndUserId(transactionId, userId)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
             log.error("Error retrieving transaction {}", transactionId, e);
             return ResponseEntity.internalServerError().build();
@@ -125,20 +272,20 @@ public class TransactionController {
             @PathVariable UUID transactionId,
             Authentication authentication) {
         try {
-            User user = getAuthenticatedUser(authentication);
-            if (user == null) {
+            UUID userId = getAuthenticatedUserId(authentication);
+            if (userId == null) {
                 return ResponseEntity.status(401).build();
             }
 
 
-            Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, user.getId());
+            Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId);
             if (transaction == null) {
-                log.warn("Transaction {} not found or doesn't belong to user {}", transactionId, user.getId());
+                log.warn("Transaction {} not found or doesn't belong to user {}", transactionId, userId);
                 return ResponseEntity.notFound().build();
             }
 
             transactionRepository.delete(transaction);
-            log.info("Deleted transaction {} for user {}", transactionId, user.getId());
+            log.info("Deleted transaction {} for user {}", transactionId, userId);
 
             return ResponseEntity.ok().build();
         } catch (Exception e) {
@@ -147,34 +294,41 @@ public class TransactionController {
         }
     }
 
-    private User getAuthenticatedUser(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return null;
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRollups(Authentication authentication) {
+        try {
+            UUID userId = getAuthenticatedUserId(authentication);
+            if (userId == null) {
+                return ResponseEntity.status(401).build();
+            }
+
+            int rows = spendingRollupService.rebuildForUser(userId);
+            spendingWindowCache.invalidate(userId);
+            return ResponseEntity.ok(Map.of("rebuiltRows", rows));
+        } catch (Exception e) {
+            log.error("Error rebuilding spending rollups", e);
+            return ResponseEntity.internalServerError().build();
         }
+    }
 
+    /**
+     * The category change is already saved, so a failing rule evaluation is logged rather than turned
+     * into an error response; the next scheduled evaluation picks the transaction up again.
+     */
+    private void applyBusinessRules(Transaction transaction) {
         try {
-            Object principal = authentication.getPrincipal();
-            return userRepository.findById(((CustomUserDetailsService.CustomUserDetails) principal).getUserId()).orElse(null);
+            ruleEngineService.evaluateRulesForTransaction(transaction);
         } catch (Exception e) {
-            log.error("Error extracting user from authentication", e);
-            return null;
+            log.error("Error applying business rules to transaction {}", transaction.getId(), e);
         }
     }
 
-
-    private TransactionResponse convertToResponse(Transaction transaction) {
-        return TransactionResponse.builder()
-            .id(transaction.getId())
-            .userId(transaction.getUser().getId())
-            .categoryId(transaction.getCategory() != null ? transaction.getCategory().getId() : null)
-            .categoryName(transaction.getCategory() != null ? transaction.getCategory().getName() : null)
-            .categoryType(transaction.getCategory() != null ? transaction.getCategory().getType().name() : null)
-            .date(transaction.getDate())
-            .amount(transaction.getAmount())
-            .currency(transaction.getCurrency())
-            .description(transaction.getDescription())
-            .type(transaction.getType())
-            .build();
+    private UUID getAuthenticatedUserId(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof CustomUserDetailsService.CustomUserDetails userDetails)) {
+            return null;
+        }
+        return userDetails.getUserId();
     }
 
     @Data
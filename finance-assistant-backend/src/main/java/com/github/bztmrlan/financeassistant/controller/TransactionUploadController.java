@@ -4,6 +4,7 @@ import com.github.bztmrlan.financeassistant.dto.TransactionUploadResponse;
 import com.github.bztmrlan.financeassistant.model.User;
 import com.github.bztmrlan.financeassistant.repository.UserRepository;
 import com.github.bztmrlan.financeassistant.security.CustomUserDetailsService;
+import com.github.bztmrlan.financeassistant.service.Bulkheads;
 import com.github.bztmrlan.financeassistant.service.TransactionUploadService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +16,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/transactions/upload")
@@ -24,67 +26,55 @@ public class TransactionUploadController {
 
     private final TransactionUploadService transactionUploadService;
     private final UserRepository userRepository;
+    private final Bulkheads bulkheads;
 
 
+    /**
+     * Validates the request here and parses and stores the file on the ingestion bulkhead, so that a
+     * long upload does not hold a request thread.
+     */
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<TransactionUploadResponse> uploadTransactions(
+    public CompletableFuture<ResponseEntity<TransactionUploadResponse>> uploadTransactions(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "currency", defaultValue = "USD") String currency,
             @RequestParam(value = "autoCategorize", defaultValue = "true") boolean autoCategorize,
             @RequestParam(value = "skipDuplicates", defaultValue = "true") boolean skipDuplicates,
             @RequestParam(value = "dateFormat", defaultValue = "yyyy-MM-dd") String dateFormat,
             Authentication authentication) {
-        
-        try {
-            if (file.isEmpty()) {
-                return ResponseEntity.badRequest().body(
-                    TransactionUploadResponse.builder()
-                        .totalRows(0)
-                        .successfulTransactions(0)
-                        .failedTransactions(1)
-                        .skippedDuplicates(0)
-                        .errors(List.of("File is empty"))
-                        .warnings(List.of())
-                        .processingTime("0ms")
-                        .build()
-                );
-            }
 
-            String fileName = file.getOriginalFilename();
-            if (fileName == null || (!fileName.toLowerCase().endsWith(".csv") && 
-                                   !fileName.toLowerCase().endsWith(".xlsx") && 
-                                   !fileName.toLowerCase().endsWith(".xls"))) {
-                return ResponseEntity.badRequest().body(
-                    TransactionUploadResponse.builder()
-                        .totalRows(0)
-                        .successfulTransactions(0)
-                        .failedTransactions(1)
-                        .skippedDuplicates(0)
-                        .errors(List.of("Unsupported file format. Please use CSV or Excel files."))
-                        .warnings(List.of())
-                        .processingTime("0ms")
-                        .build()
-                );
-            }
+        if (file.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(
+                    failedUpload("File is empty")));
+        }
 
-            User user = getAuthenticatedUser(authentication);
-            if (user == null) {
-                return ResponseEntity.status(401).body(
-                    TransactionUploadResponse.builder()
-                        .totalRows(0)
-                        .successfulTransactions(0)
-                        .failedTransactions(1)
-                        .skippedDuplicates(0)
-                        .errors(List.of("User not authenticated"))
-                        .warnings(List.of())
-                        .processingTime("0ms")
-                        .build()
-                );
-            }
+        String fileName = file.getOriginalFilename();
+        if (fileName == null || (!fileName.toLowerCase().endsWith(".csv") &&
+                               !fileName.toLowerCase().endsWith(".xlsx") &&
+                               !fileName.toLowerCase().endsWith(".xls"))) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(
+                    failedUpload("Unsupported file format. Please use CSV or Excel files.")));
+        }
 
-            log.info("Processing transaction upload for user: {}, file: {}, size: {} bytes", 
-                    user.getId(), fileName, file.getSize());
+        UUID userId = getAuthenticatedUserId(authentication);
+        if (userId == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).body(
+                    failedUpload("User not authenticated")));
+        }
 
+        log.info("Queueing transaction upload for user: {}, file: {}, size: {} bytes",
+                userId, fileName, file.getSize());
+        return bulkheads.ingestion().submit(() ->
+                processUpload(file, userId, currency, autoCategorize, skipDuplicates, dateFormat));
+    }
+
+    private ResponseEntity<TransactionUploadResponse> processUpload(MultipartFile file, UUID userId, String currency,
+                                                                    boolean autoCategorize, boolean skipDuplicates,
+                                                                    String dateFormat) {
+        try {
+            User user = userRepository.findById(userId).orElse(null);
+            if (user == null) {
+                return ResponseEntity.status(401).body(failedUpload("User not authenticated"));
+            }
 
             TransactionUploadResponse response = transactionUploadService.uploadTransactions(
                     file, user, currency, autoCategorize, skipDuplicates, dateFormat);
@@ -98,19 +88,22 @@ public class TransactionUploadController {
         } catch (Exception e) {
             log.error("Error processing transaction upload", e);
             return ResponseEntity.internalServerError().body(
-                TransactionUploadResponse.builder()
-                    .totalRows(0)
-                    .successfulTransactions(0)
-                    .failedTransactions(1)
-                    .skippedDuplicates(0)
-                    .errors(List.of("Internal server error: " + e.getMessage()))
-                    .warnings(List.of())
-                    .processingTime("0ms")
-                    .build()
-            );
+                    failedUpload("Internal server error: " + e.getMessage()));
         }
     }
 
+    private TransactionUploadResponse failedUpload(String error) {
+        return TransactionUploadResponse.builder()
+                .totalRows(0)
+                .successfulTransactions(0)
+                .failedTransactions(1)
+                .skippedDuplicates(0)
+                .errors(List.of(error))
+                .warnings(List.of())
+                .processingTime("0ms")
+                .build();
+    }
+
 
     @GetMapping("/status")
     public ResponseEntity<String> getUploadStatus() {
@@ -125,13 +118,11 @@ public class TransactionUploadController {
     }
 
 
-    private User getAuthenticatedUser(Authentication authentication) {
-        if (authentication == null || authentication.getPrincipal() == null) {
+    private UUID getAuthenticatedUserId(Authentication authentication) {
+        if (authentication == null
+                || !(authentication.getPrincipal() instanceof CustomUserDetailsService.CustomUserDetails userDetails)) {
             return null;
         }
-        
-        Object principal = authentication.getPrincipal();
-        UUID userId = ((CustomUserDetailsService.CustomUserDetails) principal).getUserId();
-        return userRepository.findById(userId).orElse(null);
+        return userDetails.getUserId();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.github.bztmrlan.financeassistant.dto;
+
+import com.github.bztmrlan.financeassistant.enums.EvaluationRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvaluationRunResponse {
+    private UUID id;
+    private String jobName;
+    private LocalDate runDate;
+    private EvaluationRunStatus status;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long durationMillis;
+    private long usersProcessed;
+    private long usersFailed;
+    private double usersPerSecond;
+}
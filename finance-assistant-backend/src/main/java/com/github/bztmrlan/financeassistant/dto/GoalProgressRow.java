@@ -0,0 +1,25 @@
+package com.github.bztmrlan.financeassistant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * An open goal with its stored running total and the credit sum the daily rollup holds for its
+ * counting window.
+ */
+@Data
+@AllArgsConstructor
+public class GoalProgressRow {
+    private UUID goalId;
+    private UUID userId;
+    private String name;
+    private BigDecimal targetAmount;
+    private BigDecimal currentAmount;
+    private LocalDate targetDate;
+    private LocalDate progressFrom;
+    private BigDecimal creditSum;
+}
@@ -0,0 +1,36 @@
+package com.github.bztmrlan.financeassistant.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+public class SpendingTotals {
+    private UUID categoryId;
+    private BigDecimal debitSum;
+    private BigDecimal creditSum;
+    private long count;
+
+    public SpendingTotals(UUID categoryId, BigDecimal debitSum, BigDecimal creditSum, Long count) {
+        this.categoryId = categoryId;
+        this.debitSum = debitSum != null ? debitSum : BigDecimal.ZERO;
+        this.creditSum = creditSum != null ? creditSum : BigDecimal.ZERO;
+        this.count = count != null ? count : 0L;
+    }
+
+    public SpendingTotals(BigDecimal debitSum, BigDecimal creditSum, Long count) {
+        this(null, debitSum, creditSum, count);
+    }
+
+    public static SpendingTotals empty(UUID categoryId) {
+        return new SpendingTotals(categoryId, BigDecimal.ZERO, BigDecimal.ZERO, 0L);
+    }
+
+    /**
+     * Signed total of the range, equal to summing the raw transaction amounts.
+     */
+    public BigDecimal getNet() {
+        return creditSum.subtract(debitSum);
+    }
+}
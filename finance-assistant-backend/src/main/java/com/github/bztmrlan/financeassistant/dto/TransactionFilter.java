@@ -0,0 +1,27 @@
+package com.github.bztmrlan.financeassistant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Optional criteria of a transaction listing; null fields do not restrict the result.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionFilter {
+    private LocalDate from;
+    private LocalDate to;
+    private UUID categoryId;
+    private String type;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private String text;
+}
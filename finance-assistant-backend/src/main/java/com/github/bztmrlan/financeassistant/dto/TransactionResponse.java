@@ -1,5 +1,6 @@
 package com.github.bztmrlan.financeassistant.dto;
 
+import com.github.bztmrlan.financeassistant.enums.CategoryType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,4 +25,14 @@ public class TransactionResponse {
     private String currency;
     private String description;
     private String type;
+
+    /**
+     * Constructor expression target of the projection queries, which select the category type as
+     * the enum.
+     */
+    public TransactionResponse(UUID id, UUID userId, UUID categoryId, String categoryName, CategoryType categoryType,
+                               LocalDate date, BigDecimal amount, String currency, String description, String type) {
+        this(id, userId, categoryId, categoryName, categoryType != null ? categoryType.name() : null,
+                date, amount, currency, description, type);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.github.bztmrlan.financeassistant.enums;
+
+public enum EvaluationRunStatus {
+    RUNNING,
+    COMPLETED,
+    INCOMPLETE
+}
@@ -0,0 +1,6 @@
+package com.github.bztmrlan.financeassistant.enums;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
@@ -1,9 +1,46 @@
 package com.github.bztmrlan.financeassistant.enums;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
 public enum TimePeriod {
     DAILY,
     WEEKLY,
     MONTHLY,
     QUARTERLY,
-    YEARLY
+    YEARLY;
+
+    /**
+     * First day of the calendar window of this period containing {@code date}; weeks start on Monday.
+     */
+    public LocalDate windowStart(LocalDate date) {
+        return switch (this) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+            case QUARTERLY -> date.withDayOfMonth(1).withMonth((date.getMonthValue() - 1) / 3 * 3 + 1);
+            case YEARLY -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Start of the window following the one starting at {@code windowStart}.
+     */
+    public LocalDate nextWindowStart(LocalDate windowStart) {
+        return switch (this) {
+            case DAILY -> windowStart.plusDays(1);
+            case WEEKLY -> windowStart.plusWeeks(1);
+            case MONTHLY -> windowStart.plusMonths(1);
+            case QUARTERLY -> windowStart.plusMonths(3);
+            case YEARLY -> windowStart.plusYears(1);
+        };
+    }
+
+    /**
+     * Start of the window preceding the one starting at {@code windowStart}.
+     */
+    public LocalDate previousWindowStart(LocalDate windowStart) {
+        return windowStart(windowStart.minusDays(1));
+    }
 }
@@ -0,0 +1,18 @@
+package com.github.bztmrlan.financeassistant.exception;
+
+import lombok.Getter;
+
+/**
+ * The caller used up their allowance for an endpoint; they may retry after
+ * {@link #getRetryAfterSeconds()} seconds.
+ */
+@Getter
+public class RateLimitExceededException extends FinanceAssistantException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message, "RATE_LIMITED", 429);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.bztmrlan.financeassistant.exception;
+
+import lombok.Getter;
+
+/**
+ * A request was turned away because the capacity serving it is exhausted; the client may retry after
+ * {@link #getRetryAfterSeconds()} seconds.
+ */
+@Getter
+public class ServiceBusyException extends FinanceAssistantException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message, "SERVICE_BUSY", 503);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
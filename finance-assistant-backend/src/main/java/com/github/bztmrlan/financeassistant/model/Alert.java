@@ -9,10 +9,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "alerts")
+@Table(name = "alerts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_alerts_source_window", columnNames = {"source_type", "source_id", "window_start"})
+})
 @Builder
 @Data
 @NoArgsConstructor
@@ -43,4 +46,10 @@ public class Alert {
     private boolean read;
 
     private Instant createdAt;
+
+    /**
+     * Start of the evaluation window a rule alert belongs to; one alert is kept per rule and window.
+     */
+    @Column(name = "window_start")
+    private LocalDate windowStart;
 }
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.github.bztmrlan.financeassistant.enums.BudgetStatus;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,6 +18,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "budgets")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budgets")
 @Builder
 @Data
 @NoArgsConstructor
@@ -51,6 +55,7 @@ public class Budget {
     private String period;
 
     @OneToMany(mappedBy = "budget", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budget-category-limits")
     @JsonManagedReference("budget-categories")
     private List<BudgetCategory> categories;
 
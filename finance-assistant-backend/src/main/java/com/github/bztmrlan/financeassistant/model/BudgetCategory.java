@@ -2,6 +2,8 @@ package com.github.bztmrlan.financeassistant.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,6 +14,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "budget_categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budget-categories")
 @Builder
 @Data
 @NoArgsConstructor
@@ -0,0 +1,52 @@
+package com.github.bztmrlan.financeassistant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Synchronize;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One row per user, category and day holding the debit/credit sums of that day's transactions.
+ * Rows are written by {@link com.github.bztmrlan.financeassistant.service.TransactionRollupListener}
+ * whenever a transaction is inserted, updated or deleted, so range totals can be read in O(days).
+ * A null category id holds the uncategorized transactions of the day.
+ */
+@Entity
+@Table(name = "daily_category_totals",
+        indexes = @Index(name = "idx_daily_totals_user_day", columnList = "user_id, spend_day, category_id"))
+@Synchronize("transactions")
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyCategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "category_id")
+    private UUID categoryId;
+
+    @Column(name = "spend_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private BigDecimal debitSum;
+
+    @Column(nullable = false)
+    private BigDecimal creditSum;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long count;
+}
@@ -0,0 +1,47 @@
+package com.github.bztmrlan.financeassistant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A user whose evaluation failed in a scheduled job and is queued for retry.
+ */
+@Entity
+@Table(name = "evaluation_failures", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_evaluation_failures_job_user", columnNames = {"job_name", "user_id"})
+})
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvaluationFailure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "failure_id")
+    private UUID id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "first_failed_at", nullable = false)
+    private Instant firstFailedAt;
+
+    @Column(name = "last_failed_at", nullable = false)
+    private Instant lastFailedAt;
+}
@@ -0,0 +1,57 @@
+package com.github.bztmrlan.financeassistant.model;
+
+import com.github.bztmrlan.financeassistant.enums.EvaluationRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One run of a scheduled evaluation job, shared by every node taking part in it. The user counters
+ * are added to page by page, so they survive a node restart in the middle of the run.
+ */
+@Entity
+@Table(name = "evaluation_runs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_evaluation_runs_run_key", columnNames = {"run_key"})
+})
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvaluationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "run_id")
+    private UUID id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(name = "run_key", nullable = false)
+    private String runKey;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EvaluationRunStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "users_processed", nullable = false)
+    private long usersProcessed;
+
+    @Column(name = "users_failed", nullable = false)
+    private long usersFailed;
+}
@@ -52,6 +52,14 @@ public class Goal {
     @Column(nullable = false)
     private boolean completed = false;
 
+    /**
+     * First transaction date counted in {@code currentAmount}. Transactions dated between it and the
+     * target date are added to the running total as they are stored; null until the goal's progress
+     * has been calculated once.
+     */
+    @Column(name = "progress_from")
+    private LocalDate progressFrom;
+
 
     public void updateProgress(BigDecimal amount) {
         this.currentAmount = this.currentAmount.add(amount);
@@ -0,0 +1,52 @@
+package com.github.bztmrlan.financeassistant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Lease on one shard of a scheduled job. A node owns the shard until {@code leaseUntil} and keeps
+ * renewing it while it works; {@code runKey} and {@code completed} record which run last finished it,
+ * and {@code checkpoint} the last user id of that run known to be done.
+ */
+@Entity
+@Table(name = "job_leases", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_job_leases_job_shard", columnNames = {"job_name", "shard"})
+})
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "lease_id")
+    private UUID id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(nullable = false)
+    private int shard;
+
+    @Column(name = "run_key")
+    private String runKey;
+
+    @Column(name = "lease_owner")
+    private String owner;
+
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "checkpoint_user_id")
+    private UUID checkpoint;
+}
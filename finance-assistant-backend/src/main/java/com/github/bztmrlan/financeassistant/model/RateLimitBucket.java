@@ -0,0 +1,38 @@
+package com.github.bztmrlan.financeassistant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A user's token bucket for one rate limit, shared by all nodes. The bucket is stored as the epoch
+ * millisecond at which all of its tokens are back.
+ */
+@Entity
+@Table(name = "rate_limit_buckets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rate_limit_buckets_limit_user", columnNames = {"limit_name", "user_id"})
+})
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "bucket_id")
+    private UUID id;
+
+    @Column(name = "limit_name", nullable = false)
+    private String limitName;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "full_at_millis", nullable = false)
+    private long fullAtMillis;
+}
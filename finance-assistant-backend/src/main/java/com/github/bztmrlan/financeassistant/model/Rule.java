@@ -4,16 +4,21 @@ import com.github.bztmrlan.financeassistant.enums.CondititonType;
 import com.github.bztmrlan.financeassistant.enums.TimePeriod;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
 @Table(name = "rules")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rules")
 @Builder
 @Data
 @NoArgsConstructor
@@ -52,5 +57,10 @@ public class Rule {
     @Column(nullable = false)
     private TimePeriod period;
 
+    /**
+     * Start of the last closed period window the scheduler evaluated this rule for.
+     */
+    @Column(name = "last_evaluated_window")
+    private LocalDate lastEvaluatedWindow;
 
 }
@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions",
+        indexes = @Index(name = "idx_transactions_user_date_id", columnList = "user_id, date, transaction_id"))
 @Builder
 @Data
 @NoArgsConstructor
@@ -3,6 +3,7 @@ package com.github.bztmrlan.financeassistant.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 
 import java.time.Instant;
@@ -35,6 +36,13 @@ public class User {
 
     private Instant createdAt;
 
+    /**
+     * Embedded in issued tokens; incrementing it revokes every token issued before.
+     */
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    private int tokenVersion;
+
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
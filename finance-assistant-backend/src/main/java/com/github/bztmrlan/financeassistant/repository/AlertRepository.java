@@ -1,13 +1,19 @@
 package com.github.bztmrlan.financeassistant.repository;
 
+import com.github.bztmrlan.financeassistant.enums.SourceType;
 import com.github.bztmrlan.financeassistant.model.Alert;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface AlertRepository extends JpaRepository<Alert, UUID> {
+public interface AlertRepository extends JpaRepository<Alert, UUID>, AlertRepositoryCustom {
     List<Alert> findByUserId(UUID userId);
+
+    List<Alert> findBySourceTypeAndSourceIdInAndWindowStartGreaterThanEqual(
+            SourceType sourceType, Collection<UUID> sourceIds, LocalDate windowStart);
 }
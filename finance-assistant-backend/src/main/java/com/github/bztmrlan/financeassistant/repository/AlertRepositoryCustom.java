@@ -0,0 +1,18 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import com.github.bztmrlan.financeassistant.enums.SourceType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface AlertRepositoryCustom {
+
+    /**
+     * Inserts the alert of a source and window, or rewrites the message of the one already there
+     * when it differs, in one statement so concurrent evaluations of the same window cannot collide
+     * on {@code uk_alerts_source_window}. Returns the number of rows written.
+     */
+    int upsertWindowAlert(UUID userId, SourceType sourceType, UUID sourceId, LocalDate windowStart,
+                          String message, Instant createdAt);
+}
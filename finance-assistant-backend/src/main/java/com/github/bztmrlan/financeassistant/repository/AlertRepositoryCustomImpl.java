@@ -0,0 +1,78 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import com.github.bztmrlan.financeassistant.model.Alert;
+import com.github.bztmrlan.financeassistant.enums.SourceType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * PostgreSQL resolves the conflict with {@code ON CONFLICT}; other databases, H2 in the tests, with a
+ * {@code MERGE} on the same key. The write goes around the persistence context, so pending entity
+ * changes are flushed first and a managed copy of a changed alert is refreshed afterwards.
+ */
+class AlertRepositoryCustomImpl implements AlertRepositoryCustom {
+
+    static final String POSTGRES_UPSERT_SQL =
+            "INSERT INTO alerts (alert_id, user_id, source_type, source_id, window_start, message, read, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, FALSE, ?) " +
+            "ON CONFLICT (source_type, source_id, window_start) DO UPDATE SET message = EXCLUDED.message " +
+            "WHERE alerts.message <> EXCLUDED.message";
+
+    static final String MERGE_SQL =
+            "MERGE INTO alerts a USING (VALUES (CAST(? AS UUID), CAST(? AS UUID), CAST(? AS VARCHAR), " +
+            "CAST(? AS UUID), CAST(? AS DATE), CAST(? AS VARCHAR), CAST(? AS TIMESTAMP WITH TIME ZONE))) " +
+            "s (alert_id, user_id, source_type, source_id, window_start, message, created_at) " +
+            "ON a.source_type = s.source_type AND a.source_id = s.source_id AND a.window_start = s.window_start " +
+            "WHEN MATCHED AND a.message <> s.message THEN UPDATE SET message = s.message " +
+            "WHEN NOT MATCHED THEN INSERT (alert_id, user_id, source_type, source_id, window_start, message, read, " +
+            "created_at) VALUES (s.alert_id, s.user_id, s.source_type, s.source_id, s.window_start, s.message, " +
+            "FALSE, s.created_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private volatile String upsertSql;
+
+    AlertRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public int upsertWindowAlert(UUID userId, SourceType sourceType, UUID sourceId, LocalDate windowStart,
+                                 String message, Instant createdAt) {
+        entityManager.flush();
+        int written = jdbcTemplate.update(upsertSql(), UUID.randomUUID(), userId, sourceType.name(), sourceId,
+                Date.valueOf(windowStart), message, Timestamp.from(createdAt));
+        if (written > 0) {
+            entityManager.createQuery(
+                            "SELECT a FROM Alert a WHERE a.sourceType = :sourceType AND a.sourceId = :sourceId " +
+                            "AND a.windowStart = :windowStart", Alert.class)
+                    .setParameter("sourceType", sourceType)
+                    .setParameter("sourceId", sourceId)
+                    .setParameter("windowStart", windowStart)
+                    .setFlushMode(FlushModeType.COMMIT)
+                    .getResultList()
+                    .forEach(entityManager::refresh);
+        }
+        return written;
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            upsertSql = "PostgreSQL".equals(product) ? POSTGRES_UPSERT_SQL : MERGE_SQL;
+        }
+        return upsertSql;
+    }
+}
@@ -3,9 +3,12 @@ package com.github.bztmrlan.financeassistant.repository;
 import com.github.bztmrlan.financeassistant.model.Budget;
 import com.github.bztmrlan.financeassistant.model.BudgetCategory;
 import com.github.bztmrlan.financeassistant.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
@@ -22,8 +25,10 @@ public interface BudgetCategoryRepository extends JpaRepository<BudgetCategory,
 
     boolean existsByBudgetAndCategory(Budget budget, Category category);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<BudgetCategory> findByBudgetAndCategory(Budget budget, Category category);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<BudgetCategory> findByBudget(Budget budget);
     
     void deleteByBudget(Budget budget);
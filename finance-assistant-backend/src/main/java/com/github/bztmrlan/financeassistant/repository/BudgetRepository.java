@@ -1,8 +1,11 @@
 package com.github.bztmrlan.financeassistant.repository;
 
 import com.github.bztmrlan.financeassistant.model.Budget;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,14 +15,17 @@ import java.util.UUID;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Budget> findByUserId(UUID userId);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Budget> findByIdAndUserId(UUID budgetId, UUID userId);
 
     @Query("SELECT bc.category, SUM(bc.spentAmount) FROM Budget b " +
             "JOIN b.categories bc WHERE b.id = :budgetId GROUP BY bc.category")
     List<Object[]> getCategorySpendingForBudget(@Param("budgetId") UUID budgetId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT b FROM Budget b " +
             "LEFT JOIN FETCH b.categories bc " +
             "LEFT JOIN FETCH bc.category c " +
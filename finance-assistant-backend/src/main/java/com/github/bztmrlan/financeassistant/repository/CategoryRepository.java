@@ -2,7 +2,10 @@ package com.github.bztmrlan.financeassistant.repository;
 
 import com.github.bztmrlan.financeassistant.enums.CategoryType;
 import com.github.bztmrlan.financeassistant.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,12 +14,16 @@ import java.util.UUID;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByUserId(UUID userId);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByUserIdAndType(UUID userId, CategoryType type);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByIdAndUserId(UUID id, UUID userId);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByNameAndUserId(String name, UUID userId);
     
     boolean existsByNameAndUserId(String name, UUID userId);
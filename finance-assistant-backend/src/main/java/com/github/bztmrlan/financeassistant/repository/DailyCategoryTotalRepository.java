@@ -0,0 +1,56 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import com.github.bztmrlan.financeassistant.dto.SpendingTotals;
+import com.github.bztmrlan.financeassistant.model.DailyCategoryTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DailyCategoryTotalRepository extends JpaRepository<DailyCategoryTotal, UUID> {
+
+    List<DailyCategoryTotal> findByUserIdAndDayBetween(UUID userId, LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT new com.github.bztmrlan.financeassistant.dto.SpendingTotals(" +
+            "d.categoryId, SUM(d.debitSum), SUM(d.creditSum), SUM(d.count)) " +
+            "FROM DailyCategoryTotal d " +
+            "WHERE d.userId = :userId AND d.day BETWEEN :start AND :end " +
+            "GROUP BY d.categoryId")
+    List<SpendingTotals> sumByCategory(
+            @Param("userId") UUID userId,
+            @Param("start") LocalDate startDate,
+            @Param("end") LocalDate endDate
+    );
+
+    @Query("SELECT new com.github.bztmrlan.financeassistant.dto.SpendingTotals(" +
+            "SUM(d.debitSum), SUM(d.creditSum), SUM(d.count)) " +
+            "FROM DailyCategoryTotal d " +
+            "WHERE d.userId = :userId AND d.categoryId = :categoryId " +
+            "AND d.day BETWEEN :start AND :end")
+    SpendingTotals sumForCategory(
+            @Param("userId") UUID userId,
+            @Param("categoryId") UUID categoryId,
+            @Param("start") LocalDate startDate,
+            @Param("end") LocalDate endDate
+    );
+
+    @Query("SELECT new com.github.bztmrlan.financeassistant.dto.SpendingTotals(" +
+            "SUM(d.debitSum), SUM(d.creditSum), SUM(d.count)) " +
+            "FROM DailyCategoryTotal d " +
+            "WHERE d.userId = :userId AND d.day BETWEEN :start AND :end")
+    SpendingTotals sumForUser(
+            @Param("userId") UUID userId,
+            @Param("start") LocalDate startDate,
+            @Param("end") LocalDate endDate
+    );
+
+    @Modifying
+    @Query("DELETE FROM DailyCategoryTotal d WHERE d.userId = :userId")
+    void deleteByUserId(@Param("userId") UUID userId);
+}
@@ -0,0 +1,20 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import com.github.bztmrlan.financeassistant.model.EvaluationFailure;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EvaluationFailureRepository extends JpaRepository<EvaluationFailure, UUID> {
+
+    Optional<EvaluationFailure> findByJobNameAndUserId(String jobName, UUID userId);
+
+    List<EvaluationFailure> findByJobNameOrderByFirstFailedAt(String jobName, Pageable pageable);
+
+    long countByJobName(String jobName);
+}
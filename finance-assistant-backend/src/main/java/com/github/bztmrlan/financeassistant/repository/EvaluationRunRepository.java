@@ -0,0 +1,44 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import com.github.bztmrlan.financeassistant.enums.EvaluationRunStatus;
+import com.github.bztmrlan.financeassistant.model.EvaluationRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EvaluationRunRepository extends JpaRepository<EvaluationRun, UUID> {
+
+    Optional<EvaluationRun> findByRunKey(String runKey);
+
+    List<EvaluationRun> findByOrderByStartedAtDesc(Pageable pageable);
+
+    boolean existsByJobNameAndRunDateAndStatusNot(String jobName, LocalDate runDate, EvaluationRunStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EvaluationRun r SET r.usersProcessed = r.usersProcessed + :processed, " +
+            "r.usersFailed = r.usersFailed + :failed WHERE r.id = :id")
+    int addProgress(@Param("id") UUID id, @Param("processed") long processed, @Param("failed") long failed);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EvaluationRun r SET r.status = :status, r.finishedAt = :finishedAt WHERE r.id = :id")
+    int finish(@Param("id") UUID id, @Param("status") EvaluationRunStatus status, @Param("finishedAt") Instant finishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EvaluationRun r SET r.status = :status, r.finishedAt = NULL " +
+            "WHERE r.id = :id AND r.status <> :status")
+    int reopen(@Param("id") UUID id, @Param("status") EvaluationRunStatus status);
+}
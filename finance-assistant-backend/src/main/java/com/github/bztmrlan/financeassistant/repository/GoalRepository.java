@@ -1,12 +1,17 @@
 package com.github.bztmrlan.financeassistant.repository;
 
+import com.github.bztmrlan.financeassistant.dto.GoalProgressRow;
 import com.github.bztmrlan.financeassistant.model.Goal;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,4 +27,52 @@ public interface GoalRepository extends JpaRepository<Goal, UUID> {
             @Param("start") LocalDate startDate,
             @Param("end") LocalDate endDate
     );
+
+    @Query("SELECT g FROM Goal g " +
+            "WHERE g.user.id = :userId AND g.completed = false AND g.currentAmount >= g.targetAmount")
+    List<Goal> findReachedGoals(@Param("userId") UUID userId);
+
+    /**
+     * Replaces the goal's running total unless it changed since it was read as {@code observed},
+     * in which case a concurrent ingestion got there first and the next reconciliation retries.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Goal g SET g.currentAmount = :amount, g.progressFrom = :from " +
+            "WHERE g.id = :id AND g.currentAmount = :observed")
+    int reconcileProgress(
+            @Param("id") UUID goalId,
+            @Param("observed") BigDecimal observed,
+            @Param("amount") BigDecimal amount,
+            @Param("from") LocalDate progressFrom
+    );
+
+    /**
+     * The open goals of the given users, each with the credits of its category (or of all
+     * categories) from {@code from} through its target date, summed from the daily rollup.
+     */
+    @Query("SELECT new com.github.bztmrlan.financeassistant.dto.GoalProgressRow(" +
+            "g.id, g.user.id, g.name, g.targetAmount, g.currentAmount, g.targetDate, g.progressFrom, " +
+            "COALESCE(SUM(d.creditSum), 0)) " +
+            "FROM Goal g LEFT JOIN DailyCategoryTotal d ON d.userId = g.user.id " +
+            "AND (g.category IS NULL OR d.categoryId = g.category.id) " +
+            "AND d.day >= :from AND d.day <= g.targetDate " +
+            "WHERE g.user.id IN :userIds AND g.completed = false " +
+            "GROUP BY g.id, g.user.id, g.name, g.targetAmount, g.currentAmount, g.targetDate, g.progressFrom")
+    List<GoalProgressRow> aggregateOpenGoalProgress(
+            @Param("userIds") Collection<UUID> userIds,
+            @Param("from") LocalDate from
+    );
+
+    @Modifying
+    @Query("UPDATE Goal g SET g.completed = true WHERE g.id IN :goalIds AND g.completed = false")
+    int markCompleted(@Param("goalIds") Collection<UUID> goalIds);
+
+    @Query("SELECT DISTINCT g.user.id FROM Goal g WHERE g.user.id >= :first AND g.user.id <= :last ORDER BY g.user.id")
+    List<UUID> findUserIdsInRange(@Param("first") UUID first, @Param("last") UUID last, Pageable pageable);
+
+    @Query("SELECT DISTINCT g.user.id FROM Goal g WHERE g.user.id > :after AND g.user.id <= :last ORDER BY g.user.id")
+    List<UUID> findUserIdsInRangeAfter(@Param("after") UUID after, @Param("last") UUID last, Pageable pageable);
+
+    @Query("SELECT COUNT(DISTINCT g.user.id) FROM Goal g")
+    long countDistinctUsers();
 }
@@ -0,0 +1,102 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import com.github.bztmrlan.financeassistant.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, UUID> {
+
+    List<JobLease> findByJobNameOrderByShard(String jobName);
+
+    Optional<JobLease> findByJobNameAndShard(String jobName, int shard);
+
+    long countByJobNameAndRunKeyAndCompletedTrueAndShardLessThan(String jobName, String runKey, int shardCount);
+
+    /**
+     * Takes the shard for {@code runKey} unless another node holds a live lease on it or the run
+     * already completed it. The checkpoint is kept when the shard is taken over within the same run
+     * and cleared for a new run. Returns 1 when the lease was acquired.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.leaseUntil = :until, l.runKey = :runKey, l.completed = false, " +
+            "l.checkpoint = CASE WHEN l.runKey = :runKey THEN l.checkpoint ELSE NULL END " +
+            "WHERE l.jobName = :jobName AND l.shard = :shard " +
+            "AND (l.leaseUntil IS NULL OR l.leaseUntil < :now) " +
+            "AND (l.runKey IS NULL OR l.runKey <> :runKey OR l.completed = false)")
+    int claim(
+            @Param("jobName") String jobName,
+            @Param("shard") int shard,
+            @Param("runKey") String runKey,
+            @Param("owner") String owner,
+            @Param("now") Instant now,
+            @Param("until") Instant until
+    );
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = :until " +
+            "WHERE l.jobName = :jobName AND l.shard = :shard AND l.owner = :owner AND l.runKey = :runKey")
+    int renew(
+            @Param("jobName") String jobName,
+            @Param("shard") int shard,
+            @Param("runKey") String runKey,
+            @Param("owner") String owner,
+            @Param("until") Instant until
+    );
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.checkpoint = :userId " +
+            "WHERE l.jobName = :jobName AND l.shard = :shard AND l.owner = :owner AND l.runKey = :runKey")
+    int checkpoint(
+            @Param("jobName") String jobName,
+            @Param("shard") int shard,
+            @Param("runKey") String runKey,
+            @Param("owner") String owner,
+            @Param("userId") UUID userId
+    );
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.completed = true, l.leaseUntil = NULL " +
+            "WHERE l.jobName = :jobName AND l.shard = :shard AND l.owner = :owner AND l.runKey = :runKey")
+    int complete(
+            @Param("jobName") String jobName,
+            @Param("shard") int shard,
+            @Param("runKey") String runKey,
+            @Param("owner") String owner
+    );
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = NULL " +
+            "WHERE l.jobName = :jobName AND l.shard = :shard AND l.owner = :owner AND l.runKey = :runKey")
+    int release(
+            @Param("jobName") String jobName,
+            @Param("shard") int shard,
+            @Param("runKey") String runKey,
+            @Param("owner") String owner
+    );
+
+    @Query("SELECT COUNT(l) FROM JobLease l WHERE l.jobName = :jobName AND l.shard < :shardCount " +
+            "AND l.owner <> :owner AND l.leaseUntil >= :now " +
+            "AND (l.runKey <> :runKey OR l.completed = false)")
+    long countHeldByOthers(
+            @Param("jobName") String jobName,
+            @Param("runKey") String runKey,
+            @Param("shardCount") int shardCount,
+            @Param("owner") String owner,
+            @Param("now") Instant now
+    );
+}
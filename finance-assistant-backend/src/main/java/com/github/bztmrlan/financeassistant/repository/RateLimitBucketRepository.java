@@ -0,0 +1,39 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import com.github.bztmrlan.financeassistant.model.RateLimitBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, UUID> {
+
+    @Query("SELECT b.fullAtMillis FROM RateLimitBucket b WHERE b.limitName = :limitName AND b.userId = :userId")
+    Optional<Long> findFullAt(@Param("limitName") String limitName, @Param("userId") UUID userId);
+
+    /**
+     * Moves the bucket to {@code next} unless another request changed it since {@code expected} was
+     * read. Returns 1 when the token was taken.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RateLimitBucket b SET b.fullAtMillis = :next " +
+            "WHERE b.limitName = :limitName AND b.userId = :userId AND b.fullAtMillis = :expected")
+    int compareAndSet(
+            @Param("limitName") String limitName,
+            @Param("userId") UUID userId,
+            @Param("expected") long expected,
+            @Param("next") long next
+    );
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RateLimitBucket b WHERE b.fullAtMillis <= :now")
+    int deleteFullBuckets(@Param("now") long now);
+}
@@ -2,8 +2,12 @@ package com.github.bztmrlan.financeassistant.repository;
 
 import com.github.bztmrlan.financeassistant.enums.TimePeriod;
 import com.github.bztmrlan.financeassistant.model.Rule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,8 +16,11 @@ import java.util.UUID;
 
 @Repository
 public interface RuleRepository extends JpaRepository<Rule, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Rule> findByUserId(UUID userId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT r FROM Rule r " +
             "WHERE r.user.id = :userId " +
             "AND r.active = true " +
@@ -23,6 +30,8 @@ public interface RuleRepository extends JpaRepository<Rule, UUID> {
             @Param("period") TimePeriod period
     );
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(attributePaths = "category")
     List<Rule> findByUserIdAndActiveTrue(UUID userId);
 
 
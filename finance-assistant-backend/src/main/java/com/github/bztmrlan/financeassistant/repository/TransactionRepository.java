@@ -1,18 +1,25 @@
 package com.github.bztmrlan.financeassistant.repository;
 
+import com.github.bztmrlan.financeassistant.dto.TransactionResponse;
 import com.github.bztmrlan.financeassistant.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 import java.math.BigDecimal;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>, TransactionRepositoryCustom {
     List<Transaction> findByUserId(UUID userId);
     List<Transaction> findByUserIdAndDateBetween(UUID userId, LocalDate startDate, LocalDate endDate);
 
@@ -25,6 +32,15 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             @Param("end") LocalDate endDate
     );
 
+    @Query("SELECT c.id, t.date, " +
+            "SUM(CASE WHEN t.amount < 0 THEN -t.amount ELSE 0 END), " +
+            "SUM(CASE WHEN t.amount > 0 THEN t.amount ELSE 0 END), " +
+            "COUNT(t) " +
+            "FROM Transaction t LEFT JOIN t.category c " +
+            "WHERE t.user.id = :userId " +
+            "GROUP BY c.id, t.date")
+    List<Object[]> aggregateDailyTotals(@Param("userId") UUID userId);
+
     List<Transaction> findByUserIdAndCategoryIdAndDateBetween(
             UUID userId, 
             UUID categoryId, 
@@ -36,9 +52,34 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             UUID userId, LocalDate date, BigDecimal amount, String description);
 
 
-    List<Transaction> findByUserIdOrderByDateDesc(UUID userId);
+    Transaction findByIdAndUserId(UUID id, UUID userId);
 
+    @Query("SELECT new com.github.bztmrlan.financeassistant.dto.TransactionResponse(" +
+            "t.id, t.user.id, c.id, c.name, c.type, t.date, t.amount, t.currency, t.description, t.type) " +
+            "FROM Transaction t LEFT JOIN t.category c " +
+            "WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TransactionResponse> findResponseByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
 
-    Transaction findByIdAndUserId(UUID id, UUID userId);
+    @Query("SELECT new com.github.bztmrlan.financeassistant.dto.TransactionResponse(" +
+            "t.id, t.user.id, c.id, c.name, c.type, t.date, t.amount, t.currency, t.description, t.type) " +
+            "FROM Transaction t LEFT JOIN t.category c " +
+            "WHERE t.id IN :ids")
+    List<TransactionResponse> findResponsesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * The user's transactions in the date range as responses, oldest first, read through a
+     * forward-only cursor in batches of the fetch size. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.github.bztmrlan.financeassistant.dto.TransactionResponse(" +
+            "t.id, t.user.id, c.id, c.name, c.type, t.date, t.amount, t.currency, t.description, t.type) " +
+            "FROM Transaction t LEFT JOIN t.category c " +
+            "WHERE t.user.id = :userId AND t.date BETWEEN :start AND :end " +
+            "ORDER BY t.date, t.id")
+    Stream<TransactionResponse> streamForExport(
+            @Param("userId") UUID userId,
+            @Param("start") LocalDate startDate,
+            @Param("end") LocalDate endDate
+    );
 
 }
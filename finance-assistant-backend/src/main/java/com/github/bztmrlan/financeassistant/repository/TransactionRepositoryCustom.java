@@ -0,0 +1,18 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import com.github.bztmrlan.financeassistant.dto.TransactionCursor;
+import com.github.bztmrlan.financeassistant.dto.TransactionFilter;
+import com.github.bztmrlan.financeassistant.dto.TransactionResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Up to {@code limit} transactions of the user matching {@code filter}, newest first and
+     * ordered by (date, id) descending, starting strictly after {@code after} when it is given.
+     * Rows are projected straight into responses, joined with their category's name and type.
+     */
+    List<TransactionResponse> findPage(UUID userId, TransactionFilter filter, TransactionCursor after, int limit);
+}
@@ -0,0 +1,111 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import com.github.bztmrlan.financeassistant.dto.TransactionCursor;
+import com.github.bztmrlan.financeassistant.dto.TransactionFilter;
+import com.github.bztmrlan.financeassistant.dto.TransactionResponse;
+import com.github.bztmrlan.financeassistant.enums.CategoryType;
+import com.github.bztmrlan.financeassistant.model.Category;
+import com.github.bztmrlan.financeassistant.model.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Builds the listing query from the filters that are actually set, so each combination gets a plain
+ * predicate list the planner can match against the (user_id, date, transaction_id) index, and seeks
+ * past the cursor instead of skipping rows with an offset. Rows are selected as responses, so a page
+ * is one query and no entities enter the persistence context.
+ */
+class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> findPage(UUID userId, TransactionFilter filter, TransactionCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponse> query = cb.createQuery(TransactionResponse.class);
+        Root<Transaction> t = query.from(Transaction.class);
+        Join<Transaction, Category> category = t.join("category", JoinType.LEFT);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(t.get("user").get("id"), userId));
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(t.get("date"), after.date()),
+                    cb.and(cb.equal(t.get("date"), after.date()), cb.lessThan(t.get("id"), after.id()))));
+        }
+        if (filter != null) {
+            addFilters(cb, t, category, filter, predicates);
+        }
+
+        query.select(cb.construct(TransactionResponse.class,
+                        t.get("id"), t.get("user").get("id"),
+                        category.get("id"), category.get("name"), category.get("type"),
+                        t.get("date"), t.get("amount"), t.get("currency"), t.get("description"), t.get("type")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(t.get("date")), cb.desc(t.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static void addFilters(CriteriaBuilder cb, Root<Transaction> t, Join<Transaction, Category> category,
+                                   TransactionFilter filter, List<Predicate> predicates) {
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(t.get("date"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(t.get("date"), filter.getTo()));
+        }
+        if (filter.getCategoryId() != null) {
+            predicates.add(cb.equal(t.get("category").get("id"), filter.getCategoryId()));
+        }
+        if (filter.getMinAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(t.get("amount"), filter.getMinAmount()));
+        }
+        if (filter.getMaxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(t.get("amount"), filter.getMaxAmount()));
+        }
+        if (hasText(filter.getType())) {
+            predicates.add(typePredicate(cb, t, category, filter.getType().trim()));
+        }
+        if (hasText(filter.getText())) {
+            String pattern = "%" + escapeLike(filter.getText().trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.like(cb.lower(t.get("description")), pattern, '\\'));
+        }
+    }
+
+    /**
+     * Matches the transaction's own type as imported, or the type of its category when the value
+     * names one.
+     */
+    private static Predicate typePredicate(CriteriaBuilder cb, Root<Transaction> t,
+                                           Join<Transaction, Category> category, String type) {
+        Predicate ownType = cb.equal(cb.lower(t.get("type")), type.toLowerCase(Locale.ROOT));
+        try {
+            CategoryType categoryType = CategoryType.valueOf(type.toUpperCase(Locale.ROOT));
+            return cb.or(ownType, cb.equal(category.get("type"), categoryType));
+        } catch (IllegalArgumentException e) {
+            return ownType;
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
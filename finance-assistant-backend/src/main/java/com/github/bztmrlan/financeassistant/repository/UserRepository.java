@@ -1,13 +1,33 @@
 package com.github.bztmrlan.financeassistant.repository;
 
 import com.github.bztmrlan.financeassistant.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") UUID id);
+
+    @Query("SELECT u.id FROM User u WHERE u.id >= :first AND u.id <= :last ORDER BY u.id")
+    List<UUID> findIdsInRange(@Param("first") UUID first, @Param("last") UUID last, Pageable pageable);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :after AND u.id <= :last ORDER BY u.id")
+    List<UUID> findIdsInRangeAfter(@Param("after") UUID after, @Param("last") UUID last, Pageable pageable);
 }
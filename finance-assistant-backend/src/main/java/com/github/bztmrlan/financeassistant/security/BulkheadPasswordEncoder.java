@@ -0,0 +1,35 @@
+package com.github.bztmrlan.financeassistant.security;
+
+import com.github.bztmrlan.financeassistant.service.Bulkhead;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs the hashing of another encoder on a {@link Bulkhead}, so every caller, the
+ * {@link org.springframework.security.authentication.AuthenticationManager} included, keeps BCrypt off
+ * the request threads while the user lookup around it stays on them.
+ */
+public class BulkheadPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Bulkhead bulkhead;
+
+    public BulkheadPasswordEncoder(PasswordEncoder delegate, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bulkhead.call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return bulkhead.call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
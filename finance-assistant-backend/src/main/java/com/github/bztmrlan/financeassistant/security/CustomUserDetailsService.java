@@ -6,13 +6,11 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,9 +18,11 @@ import java.util.UUID;
 public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private UserAuthorities userAuthorities;
 
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    public CustomUserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
@@ -30,7 +30,8 @@ public class CustomUserDetailsService implements UserDetailsService {
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("USER"))
+                userAuthorities.forEmail(user.getEmail()),
+                user.getTokenVersion()
         );
     }
 
@@ -42,6 +43,11 @@ public class CustomUserDetailsService implements UserDetailsService {
         private final String username;
         private final String password;
         private final List<GrantedAuthority> authorities;
+        private final int tokenVersion;
+
+        public CustomUserDetails(UUID userId, String username, String password, List<GrantedAuthority> authorities) {
+            this(userId, username, password, authorities, 0);
+        }
 
 
         @Override
@@ -1,12 +1,12 @@
 package com.github.bztmrlan.financeassistant.security;
 
 
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -16,13 +16,25 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.UUID;
 
+/**
+ * Authenticates bearer tokens from their claims: the user id and token version they carry are checked
+ * against the {@link TokenRevocationCache} instead of loading the user. Each token is verified once per
+ * request. Tokens issued before the user
+ * id claim existed still go through the user lookup until they expire, and are rejected once the user
+ * has revoked their tokens, as they carry no version and so count as version 0.
+ */
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
     @Autowired
     private JwtUtil jwtUtil;
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache;
+    @Autowired
+    private UserAuthorities userAuthorities;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -37,13 +49,30 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String username = jwtUtil.extractUsername(jwt);
+            final Claims claims = jwtUtil.verify(jwt);
+            final String username = claims.getSubject();
+            final UUID userId = jwtUtil.extractUserId(claims);
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
             if (username != null && authentication == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                CustomUserDetailsService.CustomUserDetails userDetails;
+                int tokenVersion = jwtUtil.extractTokenVersion(claims);
+                if (userId != null) {
+                    if (!tokenRevocationCache.isCurrent(userId, tokenVersion)) {
+                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                        return;
+                    }
+                    userDetails = new CustomUserDetailsService.CustomUserDetails(
+                            userId, username, null, userAuthorities.forEmail(username), tokenVersion);
+                } else {
+                    userDetails = this.userDetailsService.loadUserByUsername(username);
+                    if (userDetails.getTokenVersion() != tokenVersion) {
+                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                        return;
+                    }
+                }
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (userId != null || jwtUtil.validateToken(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
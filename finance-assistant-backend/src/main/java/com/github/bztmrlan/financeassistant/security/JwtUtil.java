@@ -1,28 +1,70 @@
 package com.github.bztmrlan.financeassistant.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies the HS256 tokens. The signing key and parser are built once; verified tokens
+ * are remembered by their SHA-256 for a short TTL, never past their expiry, so a client repeating
+ * its token skips the signature check and claims parsing. The cache is a Caffeine cache, so concurrent
+ * requests look tokens up without contending on a shared lock.
+ */
 @Component
 public class JwtUtil {
+    static final String USER_ID_CLAIM = "uid";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String secretKey;
     
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${app.auth.verified-token-cache.ttl-seconds:60}")
+    private long verifiedTokenTtlSeconds;
+
+    @Value("${app.auth.verified-token-cache.max-entries:10000}")
+    private int verifiedTokenMaxEntries;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    private record VerifiedToken(Claims claims, long expiresAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenMaxEntries)
+                .expireAfterWrite(Duration.ofSeconds(verifiedTokenTtlSeconds))
+                .build();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -37,20 +79,64 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * The user id claim, or null for tokens issued before it was added.
+     */
+    public UUID extractUserId(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        return userId != null ? UUID.fromString(userId) : null;
+    }
+
+    public int extractTokenVersion(Claims claims) {
+        Integer version = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Verifies the signature and expiry of the token and returns its claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public Claims verify(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified != null && verified.expiresAt() > now) {
+            return verified.claims();
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        long expiresAt = now + verifiedTokenTtlSeconds * 1000;
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        verifiedTokens.put(key, new VerifiedToken(claims, expiresAt));
+        return claims;
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verify(token);
+    }
+
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof CustomUserDetailsService.CustomUserDetails customUserDetails) {
+            claims.put(USER_ID_CLAIM, customUserDetails.getUserId().toString());
+            claims.put(TOKEN_VERSION_CLAIM, customUserDetails.getTokenVersion());
+        }
         return createToken(claims, userDetails, jwtExpiration);
     }
 
@@ -63,18 +149,15 @@ public class JwtUtil {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key getSignInKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
-    }
-
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
     }
 
-
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
+    }
 }
\ No newline at end of file
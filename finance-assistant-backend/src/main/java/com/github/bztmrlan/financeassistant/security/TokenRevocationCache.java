@@ -0,0 +1,57 @@
+package com.github.bztmrlan.financeassistant.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Current token version of recently seen users, so that authenticating a request needs no database
+ * round trip. Entries expire after a short TTL, which bounds how long a revocation made on another node
+ * takes to apply here, and are evicted beyond the configured size. The cache is a Caffeine cache, so
+ * concurrent requests look users up without contending on a shared lock.
+ */
+@Component
+public class TokenRevocationCache {
+
+    private static final int UNKNOWN_USER = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, Integer> tokenVersions;
+
+    public TokenRevocationCache(UserRepository userRepository,
+                                @Value("${app.auth.revocation-cache.ttl-seconds:30}") long ttlSeconds,
+                                @Value("${app.auth.revocation-cache.max-users:10000}") int maxUsers) {
+        this.userRepository = userRepository;
+        this.tokenVersions = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Whether a token carrying {@code tokenVersion} is still valid for the user, false once the user
+     * revoked their tokens or no longer exists.
+     */
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        int current = tokenVersions.get(userId,
+                id -> userRepository.findTokenVersionById(id).orElse(UNKNOWN_USER));
+        return current != UNKNOWN_USER && current == tokenVersion;
+    }
+
+    /**
+     * Invalidates every token issued to the user so far.
+     */
+    public void revokeAll(UUID userId) {
+        userRepository.incrementTokenVersion(userId);
+        invalidate(userId);
+    }
+
+    public void invalidate(UUID userId) {
+        tokenVersions.invalidate(userId);
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.bztmrlan.financeassistant.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Authorities of an authenticated user: {@code USER} for everyone, plus {@code ADMIN} for the accounts
+ * listed in {@code app.admin.emails}. They are resolved on every request rather than stored in the token,
+ * so removing an address from the list takes effect immediately.
+ */
+@Component
+public class UserAuthorities {
+
+    public static final String ADMIN = "ADMIN";
+
+    private static final GrantedAuthority USER_AUTHORITY = new SimpleGrantedAuthority("USER");
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(USER_AUTHORITY);
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+            List.of(USER_AUTHORITY, new SimpleGrantedAuthority(ADMIN));
+
+    private final Set<String> adminEmails;
+
+    public UserAuthorities(@Value("${app.admin.emails:}") List<String> adminEmails) {
+        this.adminEmails = adminEmails.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public List<GrantedAuthority> forEmail(String email) {
+        return email != null && adminEmails.contains(email.trim().toLowerCase(Locale.ROOT))
+                ? ADMIN_AUTHORITIES
+                : USER_AUTHORITIES;
+    }
+}
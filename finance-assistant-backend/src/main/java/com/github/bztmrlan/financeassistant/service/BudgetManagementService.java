@@ -15,7 +15,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,9 +28,9 @@ public class BudgetManagementService {
 
     private final BudgetRepository budgetRepository;
     private final BudgetCategoryRepository budgetCategoryRepository;
-    private final TransactionRepository transactionRepository;
     private final AlertRepository alertRepository;
     private final CategoryRepository categoryRepository;
+    private final SpendingRollupService spendingRollupService;
 
 
     @Transactional
@@ -106,17 +108,16 @@ public class BudgetManagementService {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new IllegalArgumentException("Budget not found"));
         
-        List<Transaction> transactions = transactionRepository
-                .findByUserIdAndCategoryIdAndDateBetween(
+        return calculateCategorySpending(budget, categoryId);
+    }
+
+    private BigDecimal calculateCategorySpending(Budget budget, UUID categoryId) {
+        return spendingRollupService.getTotals(
                     budget.getUser().getId(),
                     categoryId,
                     budget.getStartDate(),
                     budget.getEndDate()
-                );
-        
-        return transactions.stream()
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                ).getNet();
     }
 
 
@@ -235,19 +236,27 @@ public class BudgetManagementService {
     }
 
 
+    /**
+     * Current spending of the budget against its limits, computed from the spending rollups without
+     * writing the amounts back, so it can be served from a read replica.
+     */
+    @Transactional(readOnly = true)
     public BudgetSummary getBudgetSummary(UUID budgetId) {
 
-        Budget budget = updateBudgetSpending(budgetId);
+        Budget budget = budgetRepository.findById(budgetId)
+                .orElseThrow(() -> new IllegalArgumentException("Budget not found"));
         
         List<BudgetCategory> categories = budget.getCategories();
-        
+        Map<UUID, BigDecimal> spentByCategory = new HashMap<>();
+        categories.forEach(cat -> spentByCategory.put(cat.getId(),
+                calculateCategorySpending(budget, cat.getCategory().getId()).abs()));
 
         log.info("Budget {} has {} categories", budgetId, categories.size());
         categories.forEach(cat -> {
             log.info("Category {}: limitAmount={}, spentAmount={}", 
                 cat.getCategory() != null ? cat.getCategory().getName() : "null",
                 cat.getLimitAmount(),
-                cat.getSpentAmount());
+                spentByCategory.get(cat.getId()));
         });
         
         BigDecimal totalBudgeted = categories.stream()
@@ -255,7 +264,7 @@ public class BudgetManagementService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
         BigDecimal totalSpent = categories.stream()
-                .map(BudgetCategory::getSpentAmount)
+                .map(cat -> spentByCategory.get(cat.getId()))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
         log.info("Budget {} summary calculation: totalBudgeted={}, totalSpent={}", 
@@ -266,9 +275,9 @@ public class BudgetManagementService {
                         .categoryId(cat.getCategory().getId())
                         .categoryName(cat.getCategory().getName())
                         .limitAmount(cat.getLimitAmount())
-                        .spentAmount(cat.getSpentAmount())
+                        .spentAmount(spentByCategory.get(cat.getId()))
                         .progressPercentage(cat.getLimitAmount().compareTo(BigDecimal.ZERO) > 0 ? 
-                            cat.getSpentAmount().divide(cat.getLimitAmount(), 2, RoundingMode.HALF_UP).multiply(new BigDecimal("100")) : 
+                            spentByCategory.get(cat.getId()).divide(cat.getLimitAmount(), 2, RoundingMode.HALF_UP).multiply(new BigDecimal("100")) : 
                             BigDecimal.ZERO)
                         .build())
                 .toList();
@@ -0,0 +1,92 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool isolating one kind of expensive work from the request threads and from the other
+ * pools. Once its threads are busy and its queue is full, further work is rejected at once with a
+ * {@link ServiceBusyException} instead of waiting. Pool activity is published as the {@code executor.*}
+ * metrics tagged {@code name=<pool>}, rejections as {@code bulkhead.rejected}.
+ */
+@Slf4j
+public class Bulkhead {
+
+    @Getter
+    private final String name;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int threads, int queueCapacity, long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(meterRegistry);
+        this.rejected = Counter.builder("bulkhead.rejected")
+                .description("Work turned away because the pool and its queue were full")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code work} on the pool, completing the returned future with its result.
+     *
+     * @throws ServiceBusyException if the pool cannot take more work
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Bulkhead {} is full ({} active, {} queued), rejecting work", name,
+                    executor.getActiveCount(), executor.getQueue().size());
+            throw new ServiceBusyException("The server is busy, please retry shortly", retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Runs {@code work} on the pool and waits for it, for short work whose caller needs the result.
+     *
+     * @throws ServiceBusyException if the pool cannot take more work
+     */
+    public <T> T call(Supplier<T> work) {
+        try {
+            return submit(work).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
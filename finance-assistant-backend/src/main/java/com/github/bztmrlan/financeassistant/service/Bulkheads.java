@@ -0,0 +1,55 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The pools that keep slow work off the request threads: BCrypt password hashing, statement
+ * ingestion and calls to the AI providers. Everything else runs on the servlet container's workers,
+ * which therefore stay free for cheap reads however much of the slow work is in flight.
+ */
+@Component
+public class Bulkheads {
+
+    private final Bulkhead passwordHashing;
+    private final Bulkhead ingestion;
+    private final Bulkhead ai;
+
+    public Bulkheads(MeterRegistry meterRegistry,
+                     @Value("${app.bulkhead.password-hashing.threads:4}") int hashingThreads,
+                     @Value("${app.bulkhead.password-hashing.queue:64}") int hashingQueue,
+                     @Value("${app.bulkhead.password-hashing.retry-after-seconds:1}") long hashingRetryAfter,
+                     @Value("${app.bulkhead.ingestion.threads:2}") int ingestionThreads,
+                     @Value("${app.bulkhead.ingestion.queue:8}") int ingestionQueue,
+                     @Value("${app.bulkhead.ingestion.retry-after-seconds:30}") long ingestionRetryAfter,
+                     @Value("${app.bulkhead.ai.threads:4}") int aiThreads,
+                     @Value("${app.bulkhead.ai.queue:16}") int aiQueue,
+                     @Value("${app.bulkhead.ai.retry-after-seconds:10}") long aiRetryAfter) {
+        this.passwordHashing = new Bulkhead("password-hashing", hashingThreads, hashingQueue, hashingRetryAfter,
+                meterRegistry);
+        this.ingestion = new Bulkhead("ingestion", ingestionThreads, ingestionQueue, ingestionRetryAfter,
+                meterRegistry);
+        this.ai = new Bulkhead("ai", aiThreads, aiQueue, aiRetryAfter, meterRegistry);
+    }
+
+    public Bulkhead passwordHashing() {
+        return passwordHashing;
+    }
+
+    public Bulkhead ingestion() {
+        return ingestion;
+    }
+
+    public Bulkhead ai() {
+        return ai;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        passwordHashing.shutdown();
+        ingestion.shutdown();
+        ai.shutdown();
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.model.RateLimitBucket;
+import com.github.bztmrlan.financeassistant.repository.RateLimitBucketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Token buckets kept in the {@code rate_limit_buckets} table so that every node enforces the same
+ * allowance. A token is taken with an optimistic compare-and-set on the bucket row, so no lock is held
+ * across requests; node clocks are assumed to be in sync to well within a refill interval.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "database")
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseRateLimiter implements RateLimiter {
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    private final RateLimitBucketRepository bucketRepository;
+
+    @Override
+    public long acquire(RateLimit limit, UUID userId) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long now = System.currentTimeMillis();
+            Optional<Long> fullAt = bucketRepository.findFullAt(limit.name(), userId);
+            long next = limit.take(fullAt.orElse(0L), now);
+            if (next < 0) {
+                return -next;
+            }
+            if (fullAt.isEmpty()) {
+                try {
+                    bucketRepository.saveAndFlush(RateLimitBucket.builder()
+                            .limitName(limit.name())
+                            .userId(userId)
+                            .fullAtMillis(next)
+                            .build());
+                    return 0;
+                } catch (DataIntegrityViolationException e) {
+                    continue;
+                }
+            }
+            if (bucketRepository.compareAndSet(limit.name(), userId, fullAt.get(), next) == 1) {
+                return 0;
+            }
+        }
+        log.warn("Rate limit {} for user {} stayed contended over {} attempts", limit.name(), userId, MAX_ATTEMPTS);
+        return limit.refillMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        int deleted = bucketRepository.deleteFullBuckets(System.currentTimeMillis());
+        log.debug("Evicted {} idle rate limit buckets", deleted);
+    }
+}
@@ -0,0 +1,221 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.enums.EvaluationRunStatus;
+import com.github.bztmrlan.financeassistant.model.EvaluationFailure;
+import com.github.bztmrlan.financeassistant.model.EvaluationRun;
+import com.github.bztmrlan.financeassistant.repository.EvaluationFailureRepository;
+import com.github.bztmrlan.financeassistant.repository.EvaluationRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Runs a scheduled per-user job as a persisted, resumable {@link EvaluationRun}. Each shard
+ * checkpoints the last user of every completed page, so a run interrupted by a node restart continues
+ * where it stopped when it is started again for the same date. Users that fail are queued in
+ * {@code evaluation_failures} and retried at the end of the run, a bounded number of times.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EvaluationRunService {
+
+    private final EvaluationRunRepository evaluationRunRepository;
+    private final EvaluationFailureRepository evaluationFailureRepository;
+    private final ShardLeaseService shardLeaseService;
+    private final UserBatchRunner userBatchRunner;
+
+    @Value("${app.scheduler.max-retry-attempts:3}")
+    private int maxRetryAttempts;
+
+    @Value("${app.scheduler.retry-queue-size:1000}")
+    private int retryQueueSize;
+
+    /**
+     * Returns up to {@code size} user ids of {@code range} ordered by id, strictly after
+     * {@code after} or from the start of the range when it is null.
+     */
+    @FunctionalInterface
+    public interface RangePages {
+        List<UUID> next(UserIdRange range, UUID after, int size);
+    }
+
+    public EvaluationRun run(String job, LocalDate runDate, long expectedUsers, RangePages pages,
+                             UserBatchRunner.UserTask task) {
+        return run(job, runDate, shardLeaseService.getShardCount(), expectedUsers, pages, task);
+    }
+
+    public EvaluationRun run(String job, LocalDate runDate, int shards, long expectedUsers, RangePages pages,
+                             UserBatchRunner.UserTask task) {
+        return execute(job, runDate, shards, task, (run, shard) ->
+                userBatchRunner.run(job + " shard " + shard.shard(), expectedUsers / Math.max(shards, 1),
+                        shard.resumeAfter(), shardPages(shard, pages),
+                        userId -> runQueued(job, userId, task),
+                        checkpointer(run, shard)));
+    }
+
+    /**
+     * Like {@link #run}, but hands each page of user ids to {@code task} at once. When a page fails
+     * its users are queued and retried one by one.
+     */
+    public EvaluationRun runBatched(String job, LocalDate runDate, long expectedUsers, RangePages pages,
+                                    UserBatchRunner.PageTask task) {
+        int shards = shardLeaseService.getShardCount();
+        return execute(job, runDate, shards, userId -> task.run(List.of(userId)), (run, shard) ->
+                userBatchRunner.runPages(job + " shard " + shard.shard(), expectedUsers / Math.max(shards, 1),
+                        shard.resumeAfter(), shardPages(shard, pages),
+                        userIds -> {
+                            try {
+                                task.run(userIds);
+                            } catch (Exception e) {
+                                userIds.forEach(userId -> queueFailure(job, userId, e));
+                                throw e;
+                            }
+                        },
+                        checkpointer(run, shard)));
+    }
+
+    private interface ShardExecution {
+        void run(EvaluationRun run, ShardLeaseService.ShardRun shard);
+    }
+
+    private EvaluationRun execute(String job, LocalDate runDate, int shards, UserBatchRunner.UserTask retryTask,
+                                  ShardExecution execution) {
+        String runKey = job + ":" + runDate;
+        EvaluationRun run = startRun(job, runKey, runDate);
+        if (run.getStatus() == EvaluationRunStatus.COMPLETED) {
+            log.info("{} run {} already completed", job, runKey);
+            return run;
+        }
+
+        shardLeaseService.runSharded(job, runKey, shards, shard -> execution.run(run, shard));
+        shardLeaseService.runSharded(job + " retries", runKey, 1, shard -> retryFailures(job, retryTask));
+
+        EvaluationRunStatus status = shardLeaseService.isRunCompleted(job, runKey, shards)
+                ? EvaluationRunStatus.COMPLETED
+                : EvaluationRunStatus.INCOMPLETE;
+        evaluationRunRepository.finish(run.getId(), status, Instant.now());
+        return evaluationRunRepository.findById(run.getId()).orElse(run);
+    }
+
+    private static UserBatchRunner.UserIdPages shardPages(ShardLeaseService.ShardRun shard, RangePages pages) {
+        return (after, size) -> shard.leaseLost() ? List.of() : pages.next(shard.range(), after, size);
+    }
+
+    private UserBatchRunner.PageListener checkpointer(EvaluationRun run, ShardLeaseService.ShardRun shard) {
+        return (lastUserId, processed, failed) -> {
+            shard.checkpoint(lastUserId);
+            evaluationRunRepository.addProgress(run.getId(), processed, failed);
+        };
+    }
+
+    /**
+     * Whether a run of {@code job} for {@code runDate} was started and has not completed, for
+     * example because the node running it was restarted.
+     */
+    public boolean isUnfinished(String job, LocalDate runDate) {
+        return evaluationRunRepository.existsByJobNameAndRunDateAndStatusNot(job, runDate, EvaluationRunStatus.COMPLETED);
+    }
+
+    public List<EvaluationRun> recentRuns(int limit) {
+        return evaluationRunRepository.findByOrderByStartedAtDesc(PageRequest.of(0, limit));
+    }
+
+    private EvaluationRun startRun(String job, String runKey, LocalDate runDate) {
+        EvaluationRun existing = evaluationRunRepository.findByRunKey(runKey).orElse(null);
+        if (existing == null) {
+            try {
+                return evaluationRunRepository.save(EvaluationRun.builder()
+                        .jobName(job)
+                        .runKey(runKey)
+                        .runDate(runDate)
+                        .status(EvaluationRunStatus.RUNNING)
+                        .startedAt(Instant.now())
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                log.debug("{} run {} was started by another node", job, runKey);
+                existing = evaluationRunRepository.findByRunKey(runKey).orElseThrow(() -> e);
+            }
+        }
+        if (existing.getStatus() == EvaluationRunStatus.INCOMPLETE) {
+            log.info("Resuming {} run {}", job, runKey);
+            evaluationRunRepository.reopen(existing.getId(), EvaluationRunStatus.RUNNING);
+            existing.setStatus(EvaluationRunStatus.RUNNING);
+        }
+        return existing;
+    }
+
+    private void runQueued(String job, UUID userId, UserBatchRunner.UserTask task) throws Exception {
+        try {
+            task.run(userId);
+        } catch (Exception e) {
+            queueFailure(job, userId, e);
+            throw e;
+        }
+    }
+
+    private void queueFailure(String job, UUID userId, Exception cause) {
+        try {
+            Instant now = Instant.now();
+            EvaluationFailure failure = evaluationFailureRepository.findByJobNameAndUserId(job, userId).orElse(null);
+            if (failure == null) {
+                if (evaluationFailureRepository.countByJobName(job) >= retryQueueSize) {
+                    log.warn("{}: retry queue is full, not queueing user: {}", job, userId);
+                    return;
+                }
+                failure = EvaluationFailure.builder()
+                        .jobName(job)
+                        .userId(userId)
+                        .firstFailedAt(now)
+                        .build();
+            }
+            failure.setAttempts(failure.getAttempts() + 1);
+            failure.setLastFailedAt(now);
+            failure.setLastError(abbreviate(String.valueOf(cause.getMessage())));
+            evaluationFailureRepository.save(failure);
+        } catch (Exception e) {
+            log.warn("{}: could not queue failed user {} for retry", job, userId, e);
+        }
+    }
+
+    private void retryFailures(String job, UserBatchRunner.UserTask task) {
+        List<EvaluationFailure> failures = evaluationFailureRepository.findByJobNameOrderByFirstFailedAt(
+                job, PageRequest.of(0, retryQueueSize));
+        if (failures.isEmpty()) {
+            return;
+        }
+
+        int recovered = 0;
+        for (EvaluationFailure failure : failures) {
+            try {
+                task.run(failure.getUserId());
+                evaluationFailureRepository.delete(failure);
+                recovered++;
+            } catch (Exception e) {
+                failure.setAttempts(failure.getAttempts() + 1);
+                failure.setLastFailedAt(Instant.now());
+                failure.setLastError(abbreviate(String.valueOf(e.getMessage())));
+                if (failure.getAttempts() >= maxRetryAttempts) {
+                    log.error("{}: giving up on user {} after {} attempts", job, failure.getUserId(),
+                            failure.getAttempts(), e);
+                    evaluationFailureRepository.delete(failure);
+                } else {
+                    evaluationFailureRepository.save(failure);
+                }
+            }
+        }
+        log.info("{}: retried {} failed users, {} recovered", job, failures.size(), recovered);
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
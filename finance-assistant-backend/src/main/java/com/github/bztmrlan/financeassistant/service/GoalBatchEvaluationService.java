@@ -0,0 +1,169 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.dto.GoalProgressRow;
+import com.github.bztmrlan.financeassistant.enums.SourceType;
+import com.github.bztmrlan.financeassistant.model.Alert;
+import com.github.bztmrlan.financeassistant.repository.AlertRepository;
+import com.github.bztmrlan.financeassistant.repository.GoalRepository;
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Evaluates the open goals of a page of users as one set: a single aggregate query over the daily
+ * rollup yields every goal's progress, drifted running totals are corrected in one JDBC batch, reached
+ * goals are completed with one update and the completion and risk alerts are inserted together. Only
+ * the goals still open once locked are completed and alerted, so a concurrent run completing the same
+ * goal does not raise a second completion alert.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GoalBatchEvaluationService {
+
+    private static final String RECONCILE_SQL =
+            "UPDATE goals SET current_amount = ?, progress_from = ? WHERE goal_id = ? AND current_amount = ?";
+
+    private static final String LOCK_OPEN_GOALS_SQL =
+            "SELECT goal_id FROM goals WHERE goal_id IN (%s) AND completed = FALSE FOR UPDATE";
+
+    private static final long RISK_DAYS = 30;
+    private static final BigDecimal RISK_PROGRESS_PERCENTAGE = BigDecimal.valueOf(25);
+
+    private final GoalRepository goalRepository;
+    private final AlertRepository alertRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Result(int goals, int reconciled, int completed, int atRisk) {
+    }
+
+    @Transactional
+    public Result evaluate(Collection<UUID> userIds, LocalDate today) {
+        LocalDate progressFrom = today.minusYears(1);
+        List<GoalProgressRow> rows = goalRepository.aggregateOpenGoalProgress(userIds, progressFrom);
+
+        List<Object[]> reconciliations = new ArrayList<>();
+        List<GoalProgressRow> reached = new ArrayList<>();
+        List<GoalProgressRow> atRisk = new ArrayList<>();
+        for (GoalProgressRow row : rows) {
+            BigDecimal progress = row.getCreditSum();
+            if (row.getProgressFrom() == null || progress.compareTo(row.getCurrentAmount()) != 0) {
+                reconciliations.add(new Object[]{progress, Date.valueOf(progressFrom), row.getGoalId(), row.getCurrentAmount()});
+            }
+            row.setCurrentAmount(progress);
+
+            if (progress.compareTo(row.getTargetAmount()) >= 0) {
+                reached.add(row);
+            } else if (isAtRisk(row, today)) {
+                atRisk.add(row);
+            }
+        }
+
+        if (!reconciliations.isEmpty()) {
+            jdbcTemplate.batchUpdate(RECONCILE_SQL, reconciliations);
+        }
+        List<GoalProgressRow> completed = complete(reached);
+        saveAlerts(completed, atRisk, today);
+
+        Result result = new Result(rows.size(), reconciliations.size(), completed.size(), atRisk.size());
+        log.debug("Evaluated goals of {} users: {}", userIds.size(), result);
+        return result;
+    }
+
+    /**
+     * Locks the reached goals that are still open and completes those. A concurrent run waits for the
+     * locks and then no longer finds the goals open.
+     */
+    private List<GoalProgressRow> complete(List<GoalProgressRow> reached) {
+        if (reached.isEmpty()) {
+            return List.of();
+        }
+        Set<UUID> open = new HashSet<>(jdbcTemplate.query(
+                String.format(LOCK_OPEN_GOALS_SQL, String.join(", ", Collections.nCopies(reached.size(), "?"))),
+                (rs, rowNum) -> rs.getObject(1, UUID.class),
+                reached.stream().map(GoalProgressRow::getGoalId).toArray()));
+        List<GoalProgressRow> completed = reached.stream()
+                .filter(row -> open.contains(row.getGoalId()))
+                .toList();
+        if (!completed.isEmpty()) {
+            goalRepository.markCompleted(completed.stream().map(GoalProgressRow::getGoalId).toList());
+        }
+        return completed;
+    }
+
+    private boolean isAtRisk(GoalProgressRow row, LocalDate today) {
+        long daysRemaining = ChronoUnit.DAYS.between(today, row.getTargetDate());
+        return daysRemaining > 0 && daysRemaining <= RISK_DAYS
+                && row.getTargetAmount().signum() > 0
+                && progressPercentage(row).compareTo(RISK_PROGRESS_PERCENTAGE) < 0;
+    }
+
+    /**
+     * Completion alerts are raised once, by the run that completed the goal; risk alerts at most once per goal
+     * and day, so a rerun of the same day adds nothing.
+     */
+    private void saveAlerts(List<GoalProgressRow> reached, List<GoalProgressRow> atRisk, LocalDate today) {
+        Set<UUID> alreadyWarned = new HashSet<>();
+        if (!atRisk.isEmpty()) {
+            List<UUID> goalIds = atRisk.stream().map(GoalProgressRow::getGoalId).toList();
+            for (Alert alert : alertRepository.findBySourceTypeAndSourceIdInAndWindowStartGreaterThanEqual(
+                    SourceType.GOAL, goalIds, today)) {
+                alreadyWarned.add(alert.getSourceId());
+            }
+        }
+
+        Instant now = Instant.now();
+        List<Alert> alerts = new ArrayList<>();
+        for (GoalProgressRow row : reached) {
+            alerts.add(alert(row, GoalManagementService.goalCompletedMessage(row.getName()), null, now));
+        }
+        for (GoalProgressRow row : atRisk) {
+            if (alreadyWarned.contains(row.getGoalId())) {
+                continue;
+            }
+            String message = GoalManagementService.goalRiskMessage(row.getName(),
+                    ChronoUnit.DAYS.between(today, row.getTargetDate()), progressPercentage(row),
+                    row.getTargetAmount().subtract(row.getCurrentAmount()));
+            alerts.add(alert(row, message, today, now));
+        }
+        if (!alerts.isEmpty()) {
+            alertRepository.saveAll(alerts);
+        }
+    }
+
+    private Alert alert(GoalProgressRow row, String message, LocalDate windowStart, Instant now) {
+        return Alert.builder()
+                .user(userRepository.getReferenceById(row.getUserId()))
+                .sourceType(SourceType.GOAL)
+                .sourceId(row.getGoalId())
+                .windowStart(windowStart)
+                .message(message)
+                .read(false)
+                .createdAt(now)
+                .build();
+    }
+
+    private static BigDecimal progressPercentage(GoalProgressRow row) {
+        return row.getCurrentAmount()
+                .divide(row.getTargetAmount(), 2, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+    }
+}
@@ -6,24 +6,23 @@ import com.github.bztmrlan.financeassistant.enums.SourceType;
 import com.github.bztmrlan.financeassistant.model.Alert;
 import com.github.bztmrlan.financeassistant.model.Category;
 import com.github.bztmrlan.financeassistant.model.Goal;
-import com.github.bztmrlan.financeassistant.model.Transaction;
 import com.github.bztmrlan.financeassistant.model.User;
 import com.github.bztmrlan.financeassistant.repository.AlertRepository;
 import com.github.bztmrlan.financeassistant.repository.CategoryRepository;
 import com.github.bztmrlan.financeassistant.repository.GoalRepository;
-import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
 import com.github.bztmrlan.financeassistant.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -37,7 +36,7 @@ public class GoalManagementService {
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final AlertRepository alertRepository;
-    private final TransactionRepository transactionRepository;
+    private final SpendingRollupService spendingRollupService;
 
     @Transactional
     public GoalResponse createGoal(UUID userId, GoalRequest request) {
@@ -60,29 +59,15 @@ public class GoalManagementService {
                 .currency(request.getCurrency() != null ? request.getCurrency() : "USD")
                 .completed(false)
                 .build();
+        resetProgress(goal);
 
         Goal savedGoal = goalRepository.save(goal);
         return mapToGoalResponse(savedGoal);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<GoalResponse> getUserGoals(UUID userId) {
-        List<Goal> goals = goalRepository.findByUserId(userId);
-
-        
-
-        List<Goal> updatedGoals = new ArrayList<>();
-        for (Goal goal : goals) {
-            try {
-                Goal updatedGoal = updateGoalProgressFromTransactions(goal.getId());
-                updatedGoals.add(updatedGoal);
-            } catch (Exception e) {
-                log.warn("Failed to update progress for goal {}: {}", goal.getId(), e.getMessage());
-                updatedGoals.add(goal);
-            }
-        }
-
-        return updatedGoals.stream()
+        return goalRepository.findByUserId(userId).stream()
                 .map(this::mapToGoalResponse)
                 .collect(Collectors.toList());
     }
@@ -133,10 +118,16 @@ public class GoalManagementService {
                     .orElseThrow(() -> new RuntimeException("Category not found"));
         }
 
+        boolean scopeChanged = !Objects.equals(goal.getTargetDate(), request.getTargetDate())
+                || !Objects.equals(categoryId(goal.getCategory()), categoryId(category));
+
         goal.setName(request.getName());
         goal.setTargetAmount(request.getTargetAmount());
         goal.setTargetDate(request.getTargetDate());
         goal.setCategory(category);
+        if (scopeChanged) {
+            resetProgress(goal);
+        }
 
         Goal updatedGoal = goalRepository.save(goal);
 
@@ -148,7 +139,7 @@ public class GoalManagementService {
                 .user(goal.getUser())
                 .sourceType(SourceType.GOAL)
                 .sourceId(goal.getId())
-                .message("Congratulations! You've achieved your goal: " + goal.getName())
+                .message(goalCompletedMessage(goal.getName()))
                 .read(false)
                 .createdAt(java.time.Instant.now())
                 .build();
@@ -172,14 +163,8 @@ public class GoalManagementService {
     }
 
     private void createGoalRiskAlert(Goal goal, long daysRemaining, BigDecimal progressPercentage) {
-        String message = String.format(
-                "Warning: Your goal '%s' is at risk. You have %d days remaining and only %.1f%% progress. " +
-                "You need to save $%.2f more to reach your target.",
-                goal.getName(),
-                daysRemaining,
-                progressPercentage,
-                goal.getTargetAmount().subtract(goal.getCurrentAmount())
-        );
+        String message = goalRiskMessage(goal.getName(), daysRemaining, progressPercentage,
+                goal.getTargetAmount().subtract(goal.getCurrentAmount()));
 
         Alert alert = Alert.builder()
                 .user(goal.getUser())
@@ -193,6 +178,22 @@ public class GoalManagementService {
         alertRepository.save(alert);
     }
 
+    static String goalCompletedMessage(String goalName) {
+        return "Congratulations! You've achieved your goal: " + goalName;
+    }
+
+    static String goalRiskMessage(String goalName, long daysRemaining, BigDecimal progressPercentage,
+                                  BigDecimal remainingAmount) {
+        return String.format(
+                "Warning: Your goal '%s' is at risk. You have %d days remaining and only %.1f%% progress. " +
+                "You need to save $%.2f more to reach your target.",
+                goalName,
+                daysRemaining,
+                progressPercentage,
+                remainingAmount
+        );
+    }
+
     private GoalResponse mapToGoalResponse(Goal goal) {
         LocalDate now = LocalDate.now();
         long daysRemaining = ChronoUnit.DAYS.between(now, goal.getTargetDate());
@@ -225,88 +226,66 @@ public class GoalManagementService {
     }
     
 
+    /**
+     * Reconciles the running totals of the user's goals with the daily rollup, correcting any drift
+     * and moving each goal's counting window forward, then completes the goals that reached their
+     * target.
+     */
     @Transactional
     public void calculateGoalProgressFromTransactions(UUID userId) {
-        List<Goal> goals = goalRepository.findByUserId(userId);
-        
-        for (Goal goal : goals) {
+        LocalDate progressFrom = progressWindowStart();
+        for (Goal goal : goalRepository.findByUserId(userId)) {
             try {
-                updateGoalProgressFromTransactions(goal.getId());
+                BigDecimal calculated = calculateProgressFromTransactions(goal, progressFrom);
+                if (calculated.compareTo(goal.getCurrentAmount()) == 0 && progressFrom.equals(goal.getProgressFrom())) {
+                    continue;
+                }
+                if (goalRepository.reconcileProgress(goal.getId(), goal.getCurrentAmount(), calculated, progressFrom) == 0) {
+                    log.debug("Goal {} changed while reconciling, leaving it to the next run", goal.getId());
+                } else if (goal.getProgressFrom() != null && calculated.compareTo(goal.getCurrentAmount()) != 0) {
+                    log.debug("Reconciled goal {} from {} to {}", goal.getId(), goal.getCurrentAmount(), calculated);
+                }
             } catch (Exception e) {
                 log.error("Error calculating progress for goal {}: {}", goal.getId(), e.getMessage());
             }
         }
-
+        completeReachedGoals(userId);
     }
-    
-
-    @Transactional
-    public Goal updateGoalProgressFromTransactions(UUID goalId) {
-        Goal goal = goalRepository.findById(goalId)
-                .orElseThrow(() -> new IllegalArgumentException("Goal not found"));
-        
-        BigDecimal calculatedProgress = calculateProgressFromTransactions(goal);
-        
 
-        if (calculatedProgress.compareTo(goal.getCurrentAmount()) != 0) {
-            goal.setCurrentAmount(calculatedProgress);
+    /**
+     * Marks the user's goals whose running total reached the target as completed and raises their
+     * completion alerts. Runs in its own transaction so it can be called once an ingesting transaction
+     * has committed.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void completeReachedGoals(UUID userId) {
+        for (Goal goal : goalRepository.findReachedGoals(userId)) {
+            goal.setCompleted(true);
+            goalRepository.save(goal);
+            createGoalCompletedAlert(goal);
+            log.info("Goal {} reached its target of {}", goal.getId(), goal.getTargetAmount());
+        }
+    }
 
-            if (goal.getCurrentAmount().compareTo(goal.getTargetAmount()) >= 0) {
-                goal.setCompleted(true);
-                createGoalCompletedAlert(goal);
-            }
+    private void resetProgress(Goal goal) {
+        LocalDate progressFrom = progressWindowStart();
+        goal.setProgressFrom(progressFrom);
+        goal.setCurrentAmount(calculateProgressFromTransactions(goal, progressFrom));
+    }
 
-            goal = goalRepository.save(goal);
-            checkGoalRisk(goal);
+    private BigDecimal calculateProgressFromTransactions(Goal goal, LocalDate progressFrom) {
+        if (goal.getTargetDate().isBefore(progressFrom)) {
+            return BigDecimal.ZERO;
         }
-
-        return goal;
+        return spendingRollupService.getTotals(goal.getUser().getId(), categoryId(goal.getCategory()),
+                progressFrom, goal.getTargetDate()).getCreditSum();
     }
-    
 
-    private BigDecimal calculateProgressFromTransactions(Goal goal) {
+    private static LocalDate progressWindowStart() {
+        return LocalDate.now().minusYears(1);
+    }
 
-        LocalDate startDate = LocalDate.now().minusYears(1);
-        LocalDate endDate = goal.getTargetDate();
-        
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        
-        if (goal.getCategory() != null) {
-
-            List<Transaction> transactions = transactionRepository
-                .findByUserIdAndCategoryIdAndDateBetween(
-                    goal.getUser().getId(),
-                    goal.getCategory().getId(),
-                    startDate,
-                    endDate
-                );
-            
-
-            totalIncome = transactions.stream()
-                .map(Transaction::getAmount)
-                .filter(amount -> amount.compareTo(BigDecimal.ZERO) > 0)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-            log.debug("Goal {} with category {}: Found {} transactions, total income: ${}", 
-                goal.getName(), goal.getCategory().getName(), transactions.size(), totalIncome);
-        } else {
-
-            List<Transaction> allTransactions = transactionRepository
-                .findByUserIdAndDateBetween(
-                    goal.getUser().getId(),
-                    startDate,
-                    endDate
-                );
-
-            totalIncome = allTransactions.stream()
-                .map(Transaction::getAmount)
-                .filter(amount -> amount.compareTo(BigDecimal.ZERO) > 0)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-            log.debug("Goal {} without category: Found {} transactions, total income: ${}", 
-                goal.getName(), allTransactions.size(), totalIncome);
-        }
-        
-        return totalIncome;
+    private static UUID categoryId(Category category) {
+        return category != null ? category.getId() : null;
     }
-} 
\ No newline at end of file
+}
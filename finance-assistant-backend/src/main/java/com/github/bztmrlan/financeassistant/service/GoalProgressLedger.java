@@ -0,0 +1,92 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps each goal's {@code current_amount} as a running total of the positive transaction amounts
+ * counted towards it, so reading goals never sums transaction history. Goals that reached their target
+ * are completed once the transaction that got them there commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GoalProgressLedger {
+
+    private static final String UPDATE_CATEGORY_SQL =
+            "UPDATE goals SET current_amount = current_amount + ? " +
+            "WHERE user_id = ? AND (category_id = ? OR category_id IS NULL) " +
+            "AND progress_from <= ? AND target_date >= ?";
+
+    private static final String UPDATE_UNCATEGORIZED_SQL =
+            "UPDATE goals SET current_amount = current_amount + ? " +
+            "WHERE user_id = ? AND category_id IS NULL " +
+            "AND progress_from <= ? AND target_date >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GoalManagementService goalManagementService;
+
+    /**
+     * Adds ({@code direction = 1}) or removes ({@code direction = -1}) one transaction from the goals
+     * it counts towards. Runs on the caller's JDBC connection so it commits or rolls back with the
+     * transaction write.
+     */
+    public void recordChange(UUID userId, UUID categoryId, LocalDate day, BigDecimal amount, int direction) {
+        if (amount.signum() <= 0) {
+            return;
+        }
+
+        BigDecimal delta = direction < 0 ? amount.negate() : amount;
+        int updated = categoryId != null
+                ? jdbcTemplate.update(UPDATE_CATEGORY_SQL, delta, userId, categoryId, day, day)
+                : jdbcTemplate.update(UPDATE_UNCATEGORIZED_SQL, delta, userId, day, day);
+        if (updated > 0 && direction > 0) {
+            completeReachedGoalsAfterCommit(userId);
+        }
+    }
+
+    private void completeReachedGoalsAfterCommit(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            completeReachedGoals(userId);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<UUID> pending = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<UUID> users = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, users);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    users.forEach(GoalProgressLedger.this::completeReachedGoals);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(GoalProgressLedger.this);
+                }
+            });
+            pending = users;
+        }
+        pending.add(userId);
+    }
+
+    private void completeReachedGoals(UUID userId) {
+        try {
+            goalManagementService.completeReachedGoals(userId);
+        } catch (Exception e) {
+            log.warn("Could not complete reached goals for user {}, the next reconciliation will", userId, e);
+        }
+    }
+}
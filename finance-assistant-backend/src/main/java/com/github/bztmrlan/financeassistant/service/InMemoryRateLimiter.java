@@ -0,0 +1,67 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets held by this node. Each bucket is a single {@link AtomicLong} with the instant its
+ * tokens are all back, so taking a token is one map lookup and a compare-and-set. Buckets that have
+ * refilled carry no state and are dropped periodically.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final Map<String, Map<UUID, AtomicLong>> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    public InMemoryRateLimiter() {
+        this(System::currentTimeMillis);
+    }
+
+    InMemoryRateLimiter(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public long acquire(RateLimit limit, UUID userId) {
+        AtomicLong bucket = buckets.computeIfAbsent(limit.name(), name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(userId, id -> new AtomicLong());
+        while (true) {
+            long now = clock.getAsLong();
+            long fullAt = bucket.get();
+            long next = limit.take(fullAt, now);
+            if (next < 0) {
+                return -next;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that are full again. A request racing with the removal may lose its token,
+     * letting at most one extra request through.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = clock.getAsLong();
+        int before = size();
+        buckets.values().forEach(users -> users.values().removeIf(bucket -> bucket.get() <= now));
+        log.debug("Evicted {} idle rate limit buckets", before - size());
+    }
+
+    int size() {
+        return buckets.values().stream().mapToInt(Map::size).sum();
+    }
+}
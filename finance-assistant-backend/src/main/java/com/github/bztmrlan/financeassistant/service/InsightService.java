@@ -815,6 +815,7 @@ public class InsightService {
     }
 
 
+    @Transactional(readOnly = true)
     public List<InsightResponse> getUserInsights(UUID userId) {
         log.info("Getting insights for user: {}", userId);
         List<Insight> insights = insightRepository.findByUserIdOrderByGeneratedAtDesc(userId);
@@ -0,0 +1,53 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as a {@code long} count of minor units at a given scale, for aggregations that would otherwise
+ * allocate a {@link BigDecimal} per row. Amounts are converted on the way in and back to
+ * {@link BigDecimal} before they leave the service; the arithmetic in between throws
+ * {@link ArithmeticException} on overflow instead of wrapping.
+ */
+public final class MinorUnits {
+
+    /**
+     * Scale amounts are stored at, so converting a stored amount at this scale is exact.
+     */
+    public static final int DEFAULT_SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return toMinorUnits(amount, DEFAULT_SCALE);
+    }
+
+    /**
+     * Shifting to scale 0 keeps the value compact, so unlike {@link BigDecimal#unscaledValue()} this
+     * does not build a {@link java.math.BigInteger} per amount.
+     */
+    public static long toMinorUnits(BigDecimal amount, int scale) {
+        return amount.setScale(scale, RoundingMode.HALF_UP).scaleByPowerOfTen(scale).longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return fromMinorUnits(minorUnits, DEFAULT_SCALE);
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits, int scale) {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    public static long add(long augend, long addend) {
+        return Math.addExact(augend, addend);
+    }
+
+    public static long subtract(long minuend, long subtrahend) {
+        return Math.subtractExact(minuend, subtrahend);
+    }
+
+    public static long multiply(long minorUnits, long factor) {
+        return Math.multiplyExact(minorUnits, factor);
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded Caffeine cache of one value per user, built from the database by the caller on a miss. A value
+ * whose load overlapped an invalidation is handed to its caller but not kept, so a load cannot bring back
+ * rows a concurrent write just replaced.
+ */
+final class PerUserCache<V> {
+
+    private final Cache<UUID, V> values;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private PerUserCache(Cache<UUID, V> values) {
+        this.values = values;
+    }
+
+    static <V> PerUserCache<V> bySize(long maxUsers) {
+        return new PerUserCache<>(Caffeine.newBuilder().maximumSize(maxUsers).build());
+    }
+
+    static <V> PerUserCache<V> bySize(long maxUsers, Duration expireAfterWrite) {
+        return new PerUserCache<>(Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(expireAfterWrite)
+                .build());
+    }
+
+    /**
+     * A cache holding values up to a total weight, such as their estimated size in bytes. A single value
+     * heavier than that is still handed to its caller but evicted straight away.
+     */
+    static <V> PerUserCache<V> byWeight(long maxWeight, ToLongFunction<V> weigher) {
+        return new PerUserCache<>(Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .<UUID, V>weigher((userId, value) -> (int) Math.min(weigher.applyAsLong(value), Integer.MAX_VALUE))
+                .build());
+    }
+
+    V getIfPresent(UUID userId) {
+        return values.getIfPresent(userId);
+    }
+
+    V get(UUID userId, Function<UUID, V> loader) {
+        V value = values.getIfPresent(userId);
+        return value != null ? value : load(userId, loader);
+    }
+
+    /**
+     * Loads the user's value outside of any cache lock and keeps it unless the user, or any other user,
+     * was invalidated meanwhile.
+     */
+    V load(UUID userId, Function<UUID, V> loader) {
+        long generation = invalidations.get();
+        V value = loader.apply(userId);
+        values.asMap().compute(userId, (id, previous) -> invalidations.get() == generation ? value : previous);
+        return value;
+    }
+
+    void invalidate(UUID userId) {
+        invalidations.incrementAndGet();
+        values.invalidate(userId);
+    }
+
+    /**
+     * Drops the user's value now and again once the current database transaction completes, so that
+     * neither a value built from uncommitted rows nor one that missed the write outlives it.
+     */
+    void invalidateUntilCompletion(UUID userId) {
+        invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    void invalidateAll() {
+        invalidations.incrementAndGet();
+        values.invalidateAll();
+    }
+
+    boolean contains(UUID userId) {
+        values.cleanUp();
+        return values.asMap().containsKey(userId);
+    }
+
+    long weightedSize() {
+        values.cleanUp();
+        return values.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.bztmrlan.financeassistant.service;
+
+/**
+ * A token bucket holding up to {@code capacity} requests that regains one every
+ * {@code refillMillis}.
+ */
+public record RateLimit(String name, int capacity, long refillMillis) {
+
+    /**
+     * How far ahead of now a bucket's refill time may be while it still holds a token.
+     */
+    long burstMillis() {
+        return capacity * refillMillis;
+    }
+
+    /**
+     * Takes a token from a bucket whose tokens are all back at {@code fullAt}, the bucket being
+     * stored as that single instant. Returns the new {@code fullAt}, or a negative number of
+     * milliseconds to wait when the bucket is empty.
+     */
+    long take(long fullAt, long now) {
+        long next = Math.max(fullAt, now) + refillMillis;
+        long excess = next - now - burstMillis();
+        return excess > 0 ? -excess : next;
+    }
+}
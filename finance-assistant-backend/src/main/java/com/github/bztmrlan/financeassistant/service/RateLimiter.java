@@ -0,0 +1,16 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import java.util.UUID;
+
+/**
+ * Per-user token buckets for the expensive endpoints.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes a token from the user's bucket for {@code limit}.
+     *
+     * @return 0 when the request may proceed, otherwise the milliseconds until a token is available
+     */
+    long acquire(RateLimit limit, UUID userId);
+}
@@ -1,12 +1,11 @@
 package com.github.bztmrlan.financeassistant.service;
 
 import com.github.bztmrlan.financeassistant.enums.SourceType;
-import com.github.bztmrlan.financeassistant.model.Alert;
+import com.github.bztmrlan.financeassistant.enums.TimePeriod;
 import com.github.bztmrlan.financeassistant.model.Rule;
 import com.github.bztmrlan.financeassistant.model.Transaction;
 import com.github.bztmrlan.financeassistant.repository.AlertRepository;
 import com.github.bztmrlan.financeassistant.repository.RuleRepository;
-import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,7 +14,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -24,117 +27,154 @@ import java.util.UUID;
 public class RuleEngineService {
 
     private final RuleRepository ruleRepository;
-    private final TransactionRepository transactionRepository;
     private final AlertRepository alertRepository;
+    private final SpendingWindowCache spendingWindowCache;
 
+    /**
+     * Evaluates all active rules of a user against the in-memory spending windows. Rules sharing the
+     * same period and category share one window total; a user missing from the cache costs one
+     * rollup read.
+     */
     @Transactional
     public void evaluateRulesForUser(UUID userId) {
         log.info("Evaluating rules for user: {}", userId);
         
         List<Rule> activeRules = ruleRepository.findByUserIdAndActiveTrue(userId);
-        
-        for (Rule rule : activeRules) {
-            evaluateRule(rule);
+        if (activeRules.isEmpty()) {
+            return;
         }
+
+        evaluateRules(userId, activeRules);
     }
 
     @Transactional
     public void evaluateRule(Rule rule) {
         log.debug("Evaluating rule: {}", rule.getName());
         
-
-        List<Transaction> transactions = getTransactionsForRule(rule);
-        
-
-        BigDecimal totalAmount = transactions.stream()
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
+        RuleWindow window = new RuleWindow(rule.getPeriod(), rule.getCategory() != null ? rule.getCategory().getId() : null);
+        BigDecimal totalAmount = sumWindow(rule.getUser().getId(), window, LocalDate.now());
 
         if (isRuleViolated(rule, totalAmount)) {
-            createAlert(rule, totalAmount);
+            raiseAlerts(List.of(new Violation(rule, rule.getPeriod().windowStart(LocalDate.now()), totalAmount)));
         }
     }
 
+    /**
+     * Evaluates the user's active rules of {@code period} over the windows that closed since each rule
+     * was last evaluated, at most {@code maxWindows} per rule, and advances the rules' watermarks. A rule
+     * evaluated for the first time starts with the most recently closed window. Returns the number of
+     * rule windows evaluated, which is zero when no window boundary passed since the last run.
+     */
     @Transactional
-    public void evaluateRulesForTransaction(Transaction transaction) {
-        log.debug("Evaluating rules for new transaction: {}", transaction.getId());
+    public int evaluateClosedWindows(UUID userId, TimePeriod period, LocalDate today, int maxWindows) {
+        List<Rule> rules = ruleRepository.findActiveRulesByPeriod(userId, period);
+        LocalDate currentStart = period.windowStart(today);
+        LocalDate lastClosedStart = period.previousWindowStart(currentStart);
+        LocalDate earliestStart = lastClosedStart;
+        for (int i = 1; i < maxWindows; i++) {
+            earliestStart = period.previousWindowStart(earliestStart);
+        }
 
-        List<Rule> relevantRules = ruleRepository.findByUserIdAndActiveTrue(transaction.getUser().getId());
-        
-        for (Rule rule : relevantRules) {
-            if (rule.getCategory() == null || 
-                (transaction.getCategory() != null && rule.getCategory().getId().equals(transaction.getCategory().getId()))) {
+        Map<ClosedWindow, BigDecimal> windowTotals = new HashMap<>();
+        List<Violation> violations = new ArrayList<>();
+        int evaluated = 0;
+        for (Rule rule : rules) {
+            LocalDate from = rule.getLastEvaluatedWindow() == null
+                    ? lastClosedStart
+                    : period.nextWindowStart(rule.getLastEvaluatedWindow());
+            if (from.isBefore(earliestStart)) {
+                from = earliestStart;
+            }
 
-                if (evaluateRuleConditions(rule, transaction)) {
-                    log.info("Rule '{}' conditions met for transaction: {}", rule.getName(), transaction.getId());
-                    executeRuleActions(rule, transaction);
+            UUID categoryId = rule.getCategory() != null ? rule.getCategory().getId() : null;
+            for (LocalDate start = from; start.isBefore(currentStart); start = period.nextWindowStart(start)) {
+                LocalDate windowStart = start;
+                BigDecimal totalAmount = windowTotals.computeIfAbsent(new ClosedWindow(categoryId, windowStart),
+                        w -> MinorUnits.fromMinorUnits(spendingWindowCache.windowSum(
+                                userId, categoryId, windowStart, period.nextWindowStart(windowStart).minusDays(1))));
+                if (isRuleViolated(rule, totalAmount)) {
+                    violations.add(new Violation(rule, windowStart, totalAmount));
                 }
+                rule.setLastEvaluatedWindow(windowStart);
+                evaluated++;
             }
         }
-    }
 
+        raiseAlerts(violations);
+        log.debug("Evaluated {} closed {} windows of {} rules for user: {}", evaluated, period, rules.size(), userId);
+        return evaluated;
+    }
 
-    private boolean evaluateRuleConditions(Rule rule, Transaction transaction) {
-        return switch (rule.getConditionType()) {
-            case GREATER_THAN -> transaction.getAmount().compareTo(rule.getThreshold()) > 0;
-            case LESS_THAN -> transaction.getAmount().compareTo(rule.getThreshold()) < 0;
-            case EQUAL_TO -> transaction.getAmount().compareTo(rule.getThreshold()) == 0;
-        };
+    @Transactional
+    public void evaluateRulesForTransaction(Transaction transaction) {
+        evaluateRulesForTransactions(transaction.getUser().getId(), List.of(transaction));
     }
 
+    /**
+     * Streaming rule stage for newly stored transactions of one user. Only the active rules on the
+     * transactions' categories, plus the rules spanning all categories, are evaluated, and only when
+     * at least one of the transactions falls inside the rule's current window. The active rules come
+     * from the query cache, which Hibernate invalidates whenever a rule is written.
+     */
+    @Transactional
+    public void evaluateRulesForTransactions(UUID userId, Collection<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        List<Rule> activeRules = ruleRepository.findByUserIdAndActiveTrue(userId);
+        if (activeRules.isEmpty()) {
+            return;
+        }
 
-    private void executeRuleActions(Rule rule, Transaction transaction) {
-        String message = String.format(
-            "Rule '%s' triggered for transaction: %s (Amount: %s)",
-            rule.getName(),
-            transaction.getDescription(),
-            transaction.getAmount()
-        );
-        
-        Alert alert = Alert.builder()
-                .user(rule.getUser())
-                .sourceType(SourceType.RULE)
-                .sourceId(rule.getId())
-                .message(message)
-                .read(false)
-                .createdAt(Instant.now())
-                .build();
-        
-        alertRepository.save(alert);
-        log.info("Alert created for rule trigger: {}", rule.getName());
+        Map<UUID, LocalDate> latestByCategory = new HashMap<>();
+        LocalDate latest = LocalDate.MIN;
+        for (Transaction transaction : transactions) {
+            if (transaction.getCategory() != null) {
+                latestByCategory.merge(transaction.getCategory().getId(), transaction.getDate(), this::later);
+            }
+            latest = later(latest, transaction.getDate());
+        }
+
+        List<Rule> affectedRules = new ArrayList<>();
+        for (Rule rule : activeRules) {
+            LocalDate latestInScope = rule.getCategory() == null ? latest : latestByCategory.get(rule.getCategory().getId());
+            if (latestInScope != null && !latestInScope.isBefore(getStartDateForPeriod(rule.getPeriod()))) {
+                affectedRules.add(rule);
+            }
+        }
+
+        log.debug("{} new transactions matched {} of {} rules for user: {}",
+                transactions.size(), affectedRules.size(), activeRules.size(), userId);
+        evaluateRules(userId, affectedRules);
     }
 
-    private List<Transaction> getTransactionsForRule(Rule rule) {
-        LocalDate startDate = getStartDateForPeriod(rule.getPeriod());
-        LocalDate endDate = LocalDate.now();
-        
-        if (rule.getCategory() != null) {
-            return transactionRepository.findByUserIdAndCategoryIdAndDateBetween(
-                    rule.getUser().getId(),
-                    rule.getCategory().getId(),
-                    startDate,
-                    endDate
-            );
-        } else {
-            return transactionRepository.findByUserIdAndDateBetween(
-                    rule.getUser().getId(),
-                    startDate,
-                    endDate
-            );
+    private void evaluateRules(UUID userId, List<Rule> rules) {
+        LocalDate today = LocalDate.now();
+        Map<RuleWindow, BigDecimal> windowTotals = new HashMap<>();
+        List<Violation> violations = new ArrayList<>();
+        for (Rule rule : rules) {
+            RuleWindow window = new RuleWindow(rule.getPeriod(), rule.getCategory() != null ? rule.getCategory().getId() : null);
+            BigDecimal totalAmount = windowTotals.computeIfAbsent(window, w -> sumWindow(userId, w, today));
+
+            if (isRuleViolated(rule, totalAmount)) {
+                violations.add(new Violation(rule, rule.getPeriod().windowStart(today), totalAmount));
+            }
         }
+        raiseAlerts(violations);
+        log.debug("Evaluated {} rules over {} distinct windows for user: {}", rules.size(), windowTotals.size(), userId);
     }
 
-    private LocalDate getStartDateForPeriod(com.github.bztmrlan.financeassistant.enums.TimePeriod period) {
-        LocalDate now = LocalDate.now();
-        
-        return switch (period) {
-            case DAILY -> now;
-            case WEEKLY -> now.minusWeeks(1);
-            case MONTHLY -> now.minusMonths(1);
-            case QUARTERLY -> now.minusMonths(3);
-            case YEARLY -> now.minusYears(1);
-        };
+    private LocalDate later(LocalDate first, LocalDate second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private BigDecimal sumWindow(UUID userId, RuleWindow window, LocalDate today) {
+        return MinorUnits.fromMinorUnits(spendingWindowCache.windowSum(
+                userId, window.categoryId(), getStartDateForPeriod(window.period()), today));
+    }
+
+    private LocalDate getStartDateForPeriod(TimePeriod period) {
+        return period.windowStart(LocalDate.now());
     }
 
     private boolean isRuleViolated(Rule rule, BigDecimal totalAmount) {
@@ -145,20 +185,21 @@ public class RuleEngineService {
         };
     }
 
-    private void createAlert(Rule rule, BigDecimal totalAmount) {
-        String message = generateAlertMessage(rule, totalAmount);
-        
-        Alert alert = Alert.builder()
-                .user(rule.getUser())
-                .sourceType(SourceType.RULE)
-                .sourceId(rule.getId())
-                .message(message)
-                .read(false)
-                .createdAt(Instant.now())
-                .build();
-        
-        alertRepository.save(alert);
-        log.info("Alert created for rule violation: {}", rule.getName());
+    /**
+     * Keeps one alert per rule and window. Each violation is upserted on the window's unique key, so
+     * upload-time, category-change and scheduled evaluations of the same window converge on one alert
+     * whose message is only rewritten when the total changed.
+     */
+    private void raiseAlerts(List<Violation> violations) {
+        Instant now = Instant.now();
+        for (Violation violation : violations) {
+            Rule rule = violation.rule();
+            int written = alertRepository.upsertWindowAlert(rule.getUser().getId(), SourceType.RULE, rule.getId(),
+                    violation.windowStart(), generateAlertMessage(rule, violation.totalAmount()), now);
+            if (written > 0) {
+                log.info("Alert raised for rule violation: {}", rule.getName());
+            }
+        }
     }
 
     private String generateAlertMessage(Rule rule, BigDecimal totalAmount) {
@@ -183,4 +224,14 @@ public class RuleEngineService {
     public void evaluateRulesWithEasyRules(UUID userId) {
         evaluateRulesForUser(userId);
     }
+
+    private record RuleWindow(TimePeriod period, UUID categoryId) {
+    }
+
+    private record ClosedWindow(UUID categoryId, LocalDate windowStart) {
+    }
+
+    private record Violation(Rule rule, LocalDate windowStart, BigDecimal totalAmount) {
+    }
+
 } 
\ No newline at end of file
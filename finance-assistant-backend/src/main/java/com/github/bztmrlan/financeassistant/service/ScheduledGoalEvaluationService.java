@@ -3,9 +3,15 @@ package com.github.bztmrlan.financeassistant.service;
 import com.github.bztmrlan.financeassistant.repository.GoalRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,34 +20,18 @@ import java.util.UUID;
 @Slf4j
 public class ScheduledGoalEvaluationService {
 
+    private static final String DAILY_JOB = "daily goal evaluation";
+    private static final String WEEKLY_JOB = "weekly goal progress report";
+
     private final GoalRepository goalRepository;
-    private final GoalManagementService goalManagementService;
+    private final GoalBatchEvaluationService goalBatchEvaluationService;
+    private final EvaluationRunService evaluationRunService;
+    private final TaskScheduler taskScheduler;
 
 
     @Scheduled(cron = "0 0 9 * * ?")
     public void evaluateAllGoalsDaily() {
-        log.info("Starting daily goal evaluation...");
-        
-
-        List<UUID> userIds = goalRepository.findAll().stream()
-                .map(goal -> goal.getUser().getId())
-                .distinct()
-                .toList();
-
-        for (UUID userId : userIds) {
-            try {
-
-                goalManagementService.calculateGoalProgressFromTransactions(userId);
-                log.debug("Calculated goal progress from transactions for user: {}", userId);
-
-                goalManagementService.evaluateGoalsForUser(userId);
-                log.debug("Evaluated goals for user: {}", userId);
-            } catch (Exception e) {
-                log.error("Failed to evaluate goals for user: {}", userId, e);
-            }
-        }
-
-        log.info("Completed daily goal evaluation for {} users", userIds.size());
+        evaluateAllGoals(DAILY_JOB, LocalDate.now());
     }
 
 
@@ -50,8 +40,34 @@ public class ScheduledGoalEvaluationService {
         log.info("Starting weekly goal progress report...");
         
 
-        evaluateAllGoalsDaily();
+        evaluateAllGoals(WEEKLY_JOB, LocalDate.now());
         
         log.info("Completed weekly goal progress report");
     }
-} 
\ No newline at end of file
+
+    /**
+     * Continues today's goal runs in the background when they were interrupted, for example by a
+     * restart of this node.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        LocalDate today = LocalDate.now();
+        for (String job : List.of(DAILY_JOB, WEEKLY_JOB)) {
+            if (evaluationRunService.isUnfinished(job, today)) {
+                log.info("Resuming interrupted {} for {}", job, today);
+                taskScheduler.schedule(() -> evaluateAllGoals(job, today), Instant.now());
+            }
+        }
+    }
+
+    private void evaluateAllGoals(String job, LocalDate runDate) {
+        evaluationRunService.runBatched(job, runDate, goalRepository.countDistinctUsers(), this::goalUserIdPage,
+                userIds -> goalBatchEvaluationService.evaluate(userIds, runDate));
+    }
+
+    private List<UUID> goalUserIdPage(UserIdRange range, UUID after, int size) {
+        return after == null
+                ? goalRepository.findUserIdsInRange(range.first(), range.last(), PageRequest.of(0, size))
+                : goalRepository.findUserIdsInRangeAfter(after, range.last(), PageRequest.of(0, size));
+    }
+}
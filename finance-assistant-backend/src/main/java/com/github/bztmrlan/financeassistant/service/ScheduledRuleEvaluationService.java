@@ -1,108 +1,111 @@
 package com.github.bztmrlan.financeassistant.service;
 
-import com.github.bztmrlan.financeassistant.model.User;
+import com.github.bztmrlan.financeassistant.enums.TimePeriod;
 import com.github.bztmrlan.financeassistant.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ScheduledRuleEvaluationService {
 
+    private static final String DAILY_JOB = "daily rule and budget evaluation";
+
     private final RuleEngineService ruleEngineService;
     private final BudgetEvaluationService budgetEvaluationService;
     private final UserRepository userRepository;
+    private final EvaluationRunService evaluationRunService;
+    private final ShardLeaseService shardLeaseService;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${app.rules.catch-up-days:3}")
+    private int catchUpDays;
 
+    @Value("${app.rules.max-catch-up-windows:3}")
+    private int maxCatchUpWindows;
 
+
+    /**
+     * Evaluates the rules of every period whose window boundary passed within the last
+     * {@code app.rules.catch-up-days} days, so a missed run is caught up by the next one. Windows a
+     * rule was already evaluated for are skipped.
+     */
     @Scheduled(cron = "0 0 6 * * ?")
     public void evaluateRulesAndBudgetsDaily() {
-        log.info("Starting daily rule and budget evaluation for all users");
-        
-        List<User> users = userRepository.findAll();
-        
-        for (User user : users) {
-            try {
-
-                ruleEngineService.evaluateRulesForUser(user.getId());
-                log.debug("Daily rule evaluation completed for user: {}", user.getId());
-                
+        evaluateRulesAndBudgets(LocalDate.now());
+    }
 
-                budgetEvaluationService.evaluateUserBudgets(user.getId());
-                log.debug("Daily budget evaluation completed for user: {}", user.getId());
-                
-            } catch (Exception e) {
-                log.error("Error during daily evaluation for user: {}", user.getId(), e);
-            }
+    /**
+     * Continues today's daily run in the background when it was interrupted, for example by a
+     * restart of this node.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        LocalDate today = LocalDate.now();
+        if (evaluationRunService.isUnfinished(DAILY_JOB, today)) {
+            log.info("Resuming interrupted {} for {}", DAILY_JOB, today);
+            taskScheduler.schedule(() -> evaluateRulesAndBudgets(today), Instant.now());
         }
-        
-        log.info("Daily rule and budget evaluation completed for {} users", users.size());
     }
 
-
-    @Scheduled(cron = "0 0 8 ? * SUN")
-    public void evaluateRulesAndBudgetsWeekly() {
-        log.info("Starting weekly rule and budget evaluation for all users");
-        
-        List<User> users = userRepository.findAll();
-        
-        for (User user : users) {
-            try {
-
-                ruleEngineService.evaluateRulesForUser(user.getId());
-                log.debug("Weekly rule evaluation completed for user: {}", user.getId());
-                
-
-                budgetEvaluationService.evaluateUserBudgets(user.getId());
-                log.debug("Weekly budget evaluation completed for user: {}", user.getId());
-                
-            } catch (Exception e) {
-                log.error("Error during weekly evaluation for user: {}", user.getId(), e);
-            }
-        }
-        
-        log.info("Weekly rule and budget evaluation completed for {} users", users.size());
+    private void evaluateRulesAndBudgets(LocalDate today) {
+        List<TimePeriod> periods = tickedPeriods(today);
+        log.info("Evaluating closed {} rule windows", periods);
+        evaluationRunService.run(DAILY_JOB, today, userRepository.count(), this::userIdPage,
+                userId -> evaluateUser(userId, periods, today));
     }
 
+    List<TimePeriod> tickedPeriods(LocalDate today) {
+        LocalDate since = today.minusDays(Math.max(catchUpDays, 1));
+        return Arrays.stream(TimePeriod.values())
+                .filter(period -> period.windowStart(today).isAfter(since))
+                .toList();
+    }
 
-    @Scheduled(cron = "0 0 9 1 * ?")
-    public void evaluateRulesAndBudgetsMonthly() {
-        log.info("Starting monthly rule and budget evaluation for all users");
-        
-        List<User> users = userRepository.findAll();
-        
-        for (User user : users) {
-            try {
 
-                ruleEngineService.evaluateRulesForUser(user.getId());
-                log.debug("Monthly rule evaluation completed for user: {}", user.getId());
-                
+    @Scheduled(cron = "0 0 14 * * ?")
+    public void evaluateBudgetsApproachingEnd() {
+        String job = "budgets approaching end evaluation";
+        shardLeaseService.runSharded(job, job + ":" + LocalDate.now(), 1, shard -> {
+            log.info("Starting evaluation of budgets approaching end date");
 
-                budgetEvaluationService.evaluateUserBudgets(user.getId());
-                log.debug("Monthly budget evaluation completed for user: {}", user.getId());
-                
+            try {
+                budgetEvaluationService.evaluateBudgetsApproachingEnd(7);
+                log.info("Evaluation of budgets approaching end date completed");
             } catch (Exception e) {
-                log.error("Error during monthly evaluation for user: {}", user.getId(), e);
+                log.error("Error during evaluation of budgets approaching end date", e);
             }
-        }
-        
-        log.info("Monthly rule and budget evaluation completed for {} users", users.size());
+        });
     }
 
+    private List<UUID> userIdPage(UserIdRange range, UUID after, int size) {
+        return after == null
+                ? userRepository.findIdsInRange(range.first(), range.last(), PageRequest.of(0, size))
+                : userRepository.findIdsInRangeAfter(after, range.last(), PageRequest.of(0, size));
+    }
 
-    @Scheduled(cron = "0 0 14 * * ?")
-    public void evaluateBudgetsApproachingEnd() {
-        log.info("Starting evaluation of budgets approaching end date");
-        
-        try {
-            budgetEvaluationService.evaluateBudgetsApproachingEnd(7);
-            log.info("Evaluation of budgets approaching end date completed");
-        } catch (Exception e) {
-            log.error("Error during evaluation of budgets approaching end date", e);
+    private void evaluateUser(UUID userId, List<TimePeriod> periods, LocalDate today) {
+        int evaluated = 0;
+        for (TimePeriod period : periods) {
+            evaluated += ruleEngineService.evaluateClosedWindows(userId, period, today, maxCatchUpWindows);
         }
+        log.debug("Rule evaluation completed for user: {} ({} rule windows)", userId, evaluated);
+
+        budgetEvaluationService.evaluateUserBudgets(userId);
+        log.debug("Budget evaluation completed for user: {}", userId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,252 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.model.JobLease;
+import com.github.bztmrlan.financeassistant.repository.JobLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Splits a scheduled job into shards of the user-id space and coordinates them across backend nodes
+ * through the {@code job_leases} table. A node claims a free shard with a conditional update, renews
+ * its lease while working and marks the shard completed for the run; shards whose lease expired, for
+ * example because their node died, are taken over by the nodes still running the job.
+ */
+@Service
+@Slf4j
+public class ShardLeaseService {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    @Getter
+    private final String nodeId;
+    @Getter
+    private final int shardCount;
+    private final Duration leaseDuration;
+    private final ScheduledExecutorService heartbeats;
+
+    public ShardLeaseService(JobLeaseRepository jobLeaseRepository,
+                             @Value("${app.scheduler.node-id:}") String nodeId,
+                             @Value("${app.scheduler.shards:16}") int shardCount,
+                             @Value("${app.scheduler.lease-seconds:60}") long leaseSeconds) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.shardCount = shardCount;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @FunctionalInterface
+    public interface ShardWork {
+        void run(ShardRun shard);
+    }
+
+    /**
+     * One claimed shard of a run. Work on it should resume after {@link #resumeAfter()}, record its
+     * progress with {@link #checkpoint(UUID)} and stop once {@link #leaseLost()} turns true, which
+     * happens when another node took the shard over.
+     */
+    public final class ShardRun {
+
+        private final String jobName;
+        private final String runKey;
+        private final int shard;
+        private final UserIdRange range;
+        private final UUID resumeAfter;
+        private final AtomicBoolean leaseLost = new AtomicBoolean();
+
+        private ShardRun(String jobName, String runKey, int shard, UserIdRange range, UUID resumeAfter) {
+            this.jobName = jobName;
+            this.runKey = runKey;
+            this.shard = shard;
+            this.range = range;
+            this.resumeAfter = resumeAfter;
+        }
+
+        public int shard() {
+            return shard;
+        }
+
+        public UserIdRange range() {
+            return range;
+        }
+
+        /**
+         * Last user id checkpointed for this shard by an earlier, interrupted attempt of the same
+         * run, or null when the shard starts from the beginning of its range.
+         */
+        public UUID resumeAfter() {
+            return resumeAfter;
+        }
+
+        public boolean leaseLost() {
+            return leaseLost.get();
+        }
+
+        /**
+         * Records that every user of the shard up to and including {@code lastUserId} is done.
+         */
+        public void checkpoint(UUID lastUserId) {
+            if (jobLeaseRepository.checkpoint(jobName, shard, runKey, nodeId, lastUserId) == 0) {
+                leaseLost.set(true);
+            }
+        }
+    }
+
+    public int runSharded(String jobName, String runKey, ShardWork work) {
+        return runSharded(jobName, runKey, shardCount, work);
+    }
+
+    /**
+     * Runs every shard of {@code runKey} that no node has completed yet, on whichever nodes take part,
+     * and returns once no shard is left that this node could still claim. Returns the number of shards
+     * this node completed.
+     */
+    public int runSharded(String jobName, String runKey, int shards, ShardWork work) {
+        ensureShards(jobName, shards);
+
+        Set<Integer> failedHere = new HashSet<>();
+        int completedHere = 0;
+        int offset = Math.floorMod(nodeId.hashCode(), shards);
+        while (true) {
+            boolean claimedAny = false;
+            for (int i = 0; i < shards; i++) {
+                int shard = (offset + i) % shards;
+                if (failedHere.contains(shard) || !claim(jobName, shard, runKey)) {
+                    continue;
+                }
+                claimedAny = true;
+                UUID resumeAfter = jobLeaseRepository.findByJobNameAndShard(jobName, shard)
+                        .map(JobLease::getCheckpoint)
+                        .orElse(null);
+                if (resumeAfter != null) {
+                    log.info("{}: resuming shard {} after user {}", jobName, shard, resumeAfter);
+                }
+                ShardRun shardRun = new ShardRun(jobName, runKey, shard, UserIdRange.shard(shard, shards), resumeAfter);
+                if (process(shardRun, work)) {
+                    completedHere++;
+                } else {
+                    failedHere.add(shard);
+                }
+            }
+
+            if (!claimedAny) {
+                long heldElsewhere = jobLeaseRepository.countHeldByOthers(jobName, runKey, shards, nodeId, Instant.now());
+                if (heldElsewhere == 0) {
+                    break;
+                }
+                log.debug("{}: waiting for {} shards leased by other nodes", jobName, heldElsewhere);
+                if (!pause(leaseDuration.dividedBy(2))) {
+                    break;
+                }
+            }
+        }
+
+        log.info("{} run {}: node {} completed {} of {} shards", jobName, runKey, nodeId, completedHere, shards);
+        return completedHere;
+    }
+
+    private boolean claim(String jobName, int shard, String runKey) {
+        Instant now = Instant.now();
+        return jobLeaseRepository.claim(jobName, shard, runKey, nodeId, now, now.plus(leaseDuration)) == 1;
+    }
+
+    /**
+     * Whether every one of the {@code shards} shards of the run has been completed by some node.
+     */
+    public boolean isRunCompleted(String jobName, String runKey, int shards) {
+        return jobLeaseRepository.countByJobNameAndRunKeyAndCompletedTrueAndShardLessThan(jobName, runKey, shards) >= shards;
+    }
+
+    private boolean process(ShardRun shardRun, ShardWork work) {
+        String jobName = shardRun.jobName;
+        String runKey = shardRun.runKey;
+        int shard = shardRun.shard;
+        AtomicBoolean leaseLost = shardRun.leaseLost;
+        long renewEveryMillis = Math.max(leaseDuration.toMillis() / 3, 1);
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(() -> {
+            try {
+                if (jobLeaseRepository.renew(jobName, shard, runKey, nodeId, Instant.now().plus(leaseDuration)) == 0) {
+                    leaseLost.set(true);
+                }
+            } catch (Exception e) {
+                log.warn("{}: could not renew lease on shard {}", jobName, shard, e);
+            }
+        }, renewEveryMillis, renewEveryMillis, TimeUnit.MILLISECONDS);
+
+        try {
+            work.run(shardRun);
+            if (leaseLost.get() || jobLeaseRepository.complete(jobName, shard, runKey, nodeId) == 0) {
+                log.warn("{}: lost lease on shard {} before completing it", jobName, shard);
+                return false;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.error("{}: shard {} failed on node {}", jobName, shard, nodeId, e);
+            jobLeaseRepository.release(jobName, shard, runKey, nodeId);
+            return false;
+        } finally {
+            heartbeat.cancel(false);
+        }
+    }
+
+    private void ensureShards(String jobName, int shards) {
+        Set<Integer> existing = new HashSet<>();
+        for (JobLease lease : jobLeaseRepository.findByJobNameOrderByShard(jobName)) {
+            existing.add(lease.getShard());
+        }
+        for (int shard = 0; shard < shards; shard++) {
+            if (existing.contains(shard)) {
+                continue;
+            }
+            try {
+                jobLeaseRepository.save(JobLease.builder().jobName(jobName).shard(shard).build());
+            } catch (DataIntegrityViolationException e) {
+                log.debug("{}: shard {} was created by another node", jobName, shard);
+            }
+        }
+    }
+
+    private boolean pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.dto.SpendingTotals;
+import com.github.bztmrlan.financeassistant.model.DailyCategoryTotal;
+import com.github.bztmrlan.financeassistant.repository.DailyCategoryTotalRepository;
+import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maintains and queries the {@code daily_category_totals} rollup. Range totals are answered from
+ * one row per day and category instead of scanning the raw transactions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SpendingRollupService {
+
+    private static final String UPSERT_COLUMNS =
+            "INSERT INTO daily_category_totals " +
+            "(id, user_id, category_id, spend_day, debit_sum, credit_sum, transaction_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ";
+
+    private static final String UPSERT_INCREMENT =
+            "DO UPDATE SET debit_sum = daily_category_totals.debit_sum + EXCLUDED.debit_sum, " +
+            "credit_sum = daily_category_totals.credit_sum + EXCLUDED.credit_sum, " +
+            "transaction_count = daily_category_totals.transaction_count + EXCLUDED.transaction_count";
+
+    static final String POSTGRES_UPSERT_CATEGORY_SQL = UPSERT_COLUMNS +
+            "ON CONFLICT (user_id, category_id, spend_day) WHERE category_id IS NOT NULL " + UPSERT_INCREMENT;
+
+    static final String POSTGRES_UPSERT_UNCATEGORIZED_SQL = UPSERT_COLUMNS +
+            "ON CONFLICT (user_id, spend_day) WHERE category_id IS NULL " + UPSERT_INCREMENT;
+
+    static final String MERGE_SQL =
+            "MERGE INTO daily_category_totals d USING (VALUES (CAST(? AS UUID), CAST(? AS UUID), CAST(? AS UUID), " +
+            "CAST(? AS DATE), CAST(? AS NUMERIC(38, 2)), CAST(? AS NUMERIC(38, 2)), CAST(? AS BIGINT))) " +
+            "s (id, user_id, category_id, spend_day, debit_sum, credit_sum, transaction_count) " +
+            "ON d.user_id = s.user_id AND d.category_id IS NOT DISTINCT FROM s.category_id " +
+            "AND d.spend_day = s.spend_day " +
+            "WHEN MATCHED THEN UPDATE SET debit_sum = d.debit_sum + s.debit_sum, " +
+            "credit_sum = d.credit_sum + s.credit_sum, transaction_count = d.transaction_count + s.transaction_count " +
+            "WHEN NOT MATCHED THEN INSERT (id, user_id, category_id, spend_day, debit_sum, credit_sum, " +
+            "transaction_count) VALUES (s.id, s.user_id, s.category_id, s.spend_day, s.debit_sum, s.credit_sum, " +
+            "s.transaction_count)";
+
+    private static final String LOCK_USER_SQL = "SELECT user_id FROM users WHERE user_id = ? FOR UPDATE";
+
+    private final DailyCategoryTotalRepository dailyCategoryTotalRepository;
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionColumnStore transactionColumnStore;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Adds ({@code direction = 1}) or removes ({@code direction = -1}) one transaction from the rollup.
+     * Runs on the caller's JDBC connection so it commits or rolls back with the transaction write, as a
+     * single upsert on the unique (user, category, day) key so concurrent writers cannot both insert.
+     */
+    public void applyTransaction(UUID userId, UUID categoryId, LocalDate day, BigDecimal amount, int direction) {
+        BigDecimal debit = amount.signum() < 0 ? amount.negate() : BigDecimal.ZERO;
+        BigDecimal credit = amount.signum() > 0 ? amount : BigDecimal.ZERO;
+        if (direction < 0) {
+            debit = debit.negate();
+            credit = credit.negate();
+        }
+
+        String sql = upsertSql(categoryId);
+        try {
+            jdbcTemplate.update(sql, UUID.randomUUID(), userId, categoryId, day, debit, credit, direction);
+        } catch (DuplicateKeyException e) {
+            // Only MERGE gets here: a concurrent writer inserted the row after the MERGE looked for it, so
+            // running it again takes the matched branch.
+            jdbcTemplate.update(sql, UUID.randomUUID(), userId, categoryId, day, debit, credit, direction);
+        }
+    }
+
+    private String upsertSql(UUID categoryId) {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equals(product);
+        }
+        if (!postgres) {
+            return MERGE_SQL;
+        }
+        return categoryId != null ? POSTGRES_UPSERT_CATEGORY_SQL : POSTGRES_UPSERT_UNCATEGORIZED_SQL;
+    }
+
+    /**
+     * Replaces the user's rollup rows with totals recomputed from their transactions. The user's row is
+     * locked until commit, so concurrent rebuilds of the same user, on any node, run one after another.
+     */
+    @Transactional
+    public int rebuildForUser(UUID userId) {
+        jdbcTemplate.queryForList(LOCK_USER_SQL, UUID.class, userId);
+        dailyCategoryTotalRepository.deleteByUserId(userId);
+
+        List<DailyCategoryTotal> rows = new ArrayList<>();
+        for (Object[] row : transactionRepository.aggregateDailyTotals(userId)) {
+            rows.add(DailyCategoryTotal.builder()
+                    .userId(userId)
+                    .categoryId((UUID) row[0])
+                    .day((LocalDate) row[1])
+                    .debitSum((BigDecimal) row[2])
+                    .creditSum((BigDecimal) row[3])
+                    .count(((Number) row[4]).longValue())
+                    .build());
+        }
+        dailyCategoryTotalRepository.saveAll(rows);
+
+        log.info("Rebuilt {} daily category totals for user {}", rows.size(), userId);
+        return rows.size();
+    }
+
+    /**
+     * Totals for one category, or for all of the user's transactions when {@code categoryId} is null.
+     * Served from the {@link TransactionColumnStore} when it is enabled.
+     */
+    public SpendingTotals getTotals(UUID userId, UUID categoryId, LocalDate startDate, LocalDate endDate) {
+        Optional<SpendingTotals> columnTotals = transactionColumnStore.totals(userId, categoryId, startDate, endDate);
+        if (columnTotals.isPresent()) {
+            return columnTotals.get();
+        }
+        SpendingTotals totals = categoryId != null
+                ? dailyCategoryTotalRepository.sumForCategory(userId, categoryId, startDate, endDate)
+                : dailyCategoryTotalRepository.sumForUser(userId, startDate, endDate);
+        if (totals == null) {
+            return SpendingTotals.empty(categoryId);
+        }
+        totals.setCategoryId(categoryId);
+        return totals;
+    }
+
+    public List<DailyCategoryTotal> getDailyTotals(UUID userId, LocalDate startDate, LocalDate endDate) {
+        return dailyCategoryTotalRepository.findByUserIdAndDayBetween(userId, startDate, endDate);
+    }
+
+    public List<SpendingTotals> getTotalsByCategory(UUID userId, LocalDate startDate, LocalDate endDate) {
+        return dailyCategoryTotalRepository.sumByCategory(userId, startDate, endDate);
+    }
+}
@@ -0,0 +1,286 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.model.DailyCategoryTotal;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory daily spending buckets per user and category, covering the last {@value #WINDOW_DAYS} days
+ * in {@code long} minor units. Users are loaded from the daily rollup on first use, kept current by
+ * transaction writes after they commit and evicted beyond the configured number of users.
+ * Writes committed on other nodes are not seen here, so a user's buckets are reloaded once they are
+ * older than the configured TTL, which bounds how stale they can get.
+ * A window total is a loop over at most {@value #WINDOW_DAYS} primitive buckets, independent of how
+ * many transactions the user has.
+ */
+@Component
+@Slf4j
+public class SpendingWindowCache {
+
+    static final int WINDOW_DAYS = 366;
+    private static final int LOCK_STRIPES = 64;
+
+    private final SpendingRollupService spendingRollupService;
+    private final EntityManager entityManager;
+    private final PerUserCache<UserWindows> entries;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public SpendingWindowCache(SpendingRollupService spendingRollupService, EntityManager entityManager,
+                               @Value("${app.rules.window-cache.ttl-seconds:60}") long ttlSeconds,
+                               @Value("${app.rules.window-cache.max-users:10000}") int maxUsers) {
+        this.spendingRollupService = spendingRollupService;
+        this.entityManager = entityManager;
+        this.entries = PerUserCache.bySize(maxUsers, Duration.ofSeconds(ttlSeconds));
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Signed total in minor units of the user's transactions in [startDate, endDate], for one category
+     * or for all categories when {@code categoryId} is null. Writes made earlier in the caller's own
+     * database transaction are included.
+     */
+    public long windowSum(UUID userId, UUID categoryId, LocalDate startDate, LocalDate endDate) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            UserWindows windows = entries.get(userId, this::load);
+            if (!windows.covers(startDate.toEpochDay())) {
+                return MinorUnits.toMinorUnits(
+                        spendingRollupService.getTotals(userId, categoryId, startDate, endDate).getNet());
+            }
+            long sum = windows.sum(categoryId, startDate.toEpochDay(), endDate.toEpochDay());
+            PendingChanges pending = currentPending();
+            if (pending != null) {
+                sum = MinorUnits.add(sum, pending.unloadedSum(windows, userId, categoryId,
+                        startDate.toEpochDay(), endDate.toEpochDay()));
+            }
+            return sum;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a transaction write against the current database transaction. The buckets are updated
+     * once it commits; outside a transaction the user's buckets are dropped and reloaded on next use.
+     */
+    public void recordChange(UUID userId, UUID categoryId, LocalDate day, BigDecimal amount, int direction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+
+        PendingChanges pending = currentPending();
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(new Change(userId, categoryId, day.toEpochDay(),
+                MinorUnits.multiply(MinorUnits.toMinorUnits(amount), direction), System.nanoTime()));
+    }
+
+    public void invalidate(UUID userId) {
+        entries.invalidate(userId);
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * A committed write happened somewhere in [writtenAt, committedAt]. Buckets another transaction
+     * loaded entirely before that cannot contain it and buckets loaded entirely after it already do;
+     * a load overlapping the commit is ambiguous, so those buckets are dropped. Buckets loaded inside
+     * the writing transaction itself contain exactly the writes made before the load.
+     */
+    private void complete(PendingChanges pending, boolean committed, long committedAt) {
+        for (Map.Entry<UUID, List<Change>> userChanges : pending.byUser.entrySet()) {
+            UUID userId = userChanges.getKey();
+            ReentrantLock lock = lockFor(userId);
+            lock.lock();
+            try {
+                UserWindows windows = entries.getIfPresent(userId);
+                if (windows == null) {
+                    continue;
+                }
+                boolean ownLoad = windows.loadedBy == pending;
+                if (!committed) {
+                    if (ownLoad) {
+                        invalidate(userId);
+                    }
+                    continue;
+                }
+                for (Change change : userChanges.getValue()) {
+                    if (ownLoad ? change.writtenAt() > windows.loadFinishedAt : windows.loadFinishedAt < change.writtenAt()) {
+                        windows.add(change.categoryId(), change.day(), change.minorUnits());
+                    } else if (!ownLoad && windows.loadStartedAt <= committedAt) {
+                        invalidate(userId);
+                        break;
+                    }
+                }
+                if (ownLoad) {
+                    windows.loadedBy = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private UserWindows load(UUID userId) {
+        long loadStartedAt = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        List<DailyCategoryTotal> dailyTotals = spendingRollupService.getDailyTotals(
+                userId, today.minusDays(WINDOW_DAYS - 1), today.plusYears(1));
+
+        long headDay = today.toEpochDay();
+        for (DailyCategoryTotal daily : dailyTotals) {
+            headDay = Math.max(headDay, daily.getDay().toEpochDay());
+        }
+        UserWindows windows = new UserWindows(headDay);
+        for (DailyCategoryTotal daily : dailyTotals) {
+            windows.add(daily.getCategoryId(), daily.getDay().toEpochDay(),
+                    MinorUnits.subtract(MinorUnits.toMinorUnits(daily.getCreditSum()),
+                            MinorUnits.toMinorUnits(daily.getDebitSum())));
+        }
+        windows.loadStartedAt = loadStartedAt;
+        windows.loadFinishedAt = System.nanoTime();
+        windows.loadedBy = currentPending();
+        log.debug("Loaded {} daily totals into the spending window cache for user {}", dailyTotals.size(), userId);
+        return windows;
+    }
+
+    private PendingChanges currentPending() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                ? (PendingChanges) TransactionSynchronizationManager.getResource(this)
+                : null;
+    }
+
+    private ReentrantLock lockFor(UUID userId) {
+        return locks[Math.floorMod(userId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private record Change(UUID userId, UUID categoryId, long day, long minorUnits, long writtenAt) {
+    }
+
+    /**
+     * Writes of one database transaction, grouped by user, applied to the buckets when it completes.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+        private final Map<UUID, List<Change>> byUser = new HashMap<>();
+
+        void add(Change change) {
+            byUser.computeIfAbsent(change.userId(), id -> new ArrayList<>()).add(change);
+        }
+
+        long unloadedSum(UserWindows windows, UUID userId, UUID categoryId, long fromDay, long toDay) {
+            long sum = 0L;
+            for (Change change : byUser.getOrDefault(userId, List.of())) {
+                boolean inLoad = windows.loadedBy == this && change.writtenAt() < windows.loadStartedAt;
+                if (!inLoad && change.day() >= fromDay && change.day() <= toDay
+                        && (categoryId == null || categoryId.equals(change.categoryId()))) {
+                    sum = MinorUnits.add(sum, change.minorUnits());
+                }
+            }
+            return sum;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SpendingWindowCache.this);
+            complete(this, status == STATUS_COMMITTED, System.nanoTime());
+        }
+    }
+
+    /**
+     * Ring buffers sharing one head day: slot {@code day mod WINDOW_DAYS} holds the total of that day
+     * for every day in (headDay - WINDOW_DAYS, headDay].
+     */
+    static final class UserWindows {
+        private final Map<UUID, long[]> byCategory = new HashMap<>();
+        private final long[] total = new long[WINDOW_DAYS];
+        private long headDay;
+        private long loadStartedAt;
+        private long loadFinishedAt;
+        private Object loadedBy;
+
+        UserWindows(long headDay) {
+            this.headDay = headDay;
+        }
+
+        boolean covers(long fromDay) {
+            return fromDay > headDay - WINDOW_DAYS;
+        }
+
+        void add(UUID categoryId, long day, long minorUnits) {
+            if (day > headDay) {
+                advance(day);
+            }
+            if (headDay - day >= WINDOW_DAYS) {
+                return;
+            }
+            int slot = slot(day);
+            long[] buckets = byCategory.computeIfAbsent(categoryId, id -> new long[WINDOW_DAYS]);
+            buckets[slot] = MinorUnits.add(buckets[slot], minorUnits);
+            total[slot] = MinorUnits.add(total[slot], minorUnits);
+        }
+
+        long sum(UUID categoryId, long fromDay, long toDay) {
+            if (toDay > headDay) {
+                advance(toDay);
+            }
+            long[] buckets = categoryId == null ? total : byCategory.get(categoryId);
+            if (buckets == null) {
+                return 0L;
+            }
+            long from = Math.max(fromDay, headDay - WINDOW_DAYS + 1);
+            long sum = 0L;
+            for (long day = from; day <= toDay; day++) {
+                sum = MinorUnits.add(sum, buckets[slot(day)]);
+            }
+            return sum;
+        }
+
+        private void advance(long newHeadDay) {
+            long shift = newHeadDay - headDay;
+            if (shift >= WINDOW_DAYS) {
+                Arrays.fill(total, 0L);
+                byCategory.values().forEach(buckets -> Arrays.fill(buckets, 0L));
+            } else {
+                for (long day = headDay + 1; day <= newHeadDay; day++) {
+                    int slot = slot(day);
+                    total[slot] = 0L;
+                    for (long[] buckets : byCategory.values()) {
+                        buckets[slot] = 0L;
+                    }
+                }
+            }
+            headDay = newHeadDay;
+        }
+
+        private static int slot(long day) {
+            return (int) Math.floorMod(day, (long) WINDOW_DAYS);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.dto.SpendingTotals;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Optional per-user copy of the transactions in primitive columns sorted by day: the epoch day, the
+ * amount in minor units and an index into the user's categories. A range total is a binary search for
+ * the day range and one loop over the columns, with no per-row objects. Users are loaded on first use,
+ * dropped when one of their transactions is written and evicted once the estimated size of all loaded
+ * users exceeds {@code app.analytics.column-store.max-bytes}. Users are only loaded
+ * outside read-only transactions, which may be routed to a lagging read replica.
+ */
+@Component
+@Slf4j
+public class TransactionColumnStore {
+
+    static final int UNCATEGORIZED = -1;
+    private static final int ALL_CATEGORIES = -2;
+    private static final long BYTES_PER_ROW = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final long BYTES_PER_CATEGORY = 96;
+    private static final long BYTES_PER_USER = 256;
+
+    private final EntityManager entityManager;
+    private final boolean enabled;
+    private final PerUserCache<UserColumns> entries;
+
+    public TransactionColumnStore(EntityManager entityManager,
+                                  @Value("${app.analytics.column-store.enabled:false}") boolean enabled,
+                                  @Value("${app.analytics.column-store.max-bytes:67108864}") long maxBytes) {
+        this.entityManager = entityManager;
+        this.enabled = enabled;
+        this.entries = PerUserCache.byWeight(maxBytes, columns -> columns.bytes);
+    }
+
+    /**
+     * Totals of the user's transactions in [startDate, endDate], for one category or for all categories
+     * when {@code categoryId} is null. Empty when the store is disabled, when the caller's database
+     * transaction has written the user's transactions, which only the database sees until it commits, or
+     * when the user is not loaded and the caller's transaction is read-only, as a snapshot read from a
+     * replica could be behind writes already committed on the primary and would be kept until the next one.
+     */
+    public Optional<SpendingTotals> totals(UUID userId, UUID categoryId, LocalDate startDate, LocalDate endDate) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+        Set<UUID> written = writtenInCurrentTransaction();
+        if (written != null && written.contains(userId)) {
+            return Optional.empty();
+        }
+
+        UserColumns columns = entries.getIfPresent(userId);
+        if (columns == null) {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return Optional.empty();
+            }
+            columns = entries.load(userId, this::load);
+        }
+        return Optional.of(columns.totals(categoryId, startDate.toEpochDay(), endDate.toEpochDay()));
+    }
+
+    /**
+     * Drops the user's columns now and again once the current database transaction completes, and keeps
+     * the transaction itself reading from the database until then.
+     */
+    public void recordChange(UUID userId) {
+        if (!enabled) {
+            return;
+        }
+        invalidate(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        Set<UUID> written = writtenInCurrentTransaction();
+        if (written == null) {
+            Set<UUID> users = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, users);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionColumnStore.this);
+                    users.forEach(TransactionColumnStore.this::invalidate);
+                }
+            });
+            written = users;
+        }
+        written.add(userId);
+    }
+
+    public void invalidate(UUID userId) {
+        entries.invalidate(userId);
+    }
+
+    long usedBytes() {
+        return entries.weightedSize();
+    }
+
+    boolean isLoaded(UUID userId) {
+        return entries.contains(userId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<UUID> writtenInCurrentTransaction() {
+        return (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private UserColumns load(UUID userId) {
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT t.date, t.amount, c.id FROM Transaction t LEFT JOIN t.category c " +
+                        "WHERE t.user.id = :userId ORDER BY t.date", Object[].class)
+                .setParameter("userId", userId)
+                .getResultList();
+        UserColumns columns = new UserColumns(rows);
+        log.debug("Loaded {} transactions ({} bytes) into the column store for user {}",
+                rows.size(), columns.bytes, userId);
+        return columns;
+    }
+
+    private static int toDay(long epochDay) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, epochDay));
+    }
+
+    private static final class UserColumns {
+
+        private final int[] days;
+        private final long[] amounts;
+        private final int[] categories;
+        private final Map<UUID, Integer> categoryIndex = new HashMap<>();
+        private final boolean overflowSafe;
+        private final long bytes;
+
+        UserColumns(List<Object[]> rows) {
+            int size = rows.size();
+            days = new int[size];
+            amounts = new long[size];
+            categories = new int[size];
+            long maxAbs = 0;
+            for (int i = 0; i < size; i++) {
+                Object[] row = rows.get(i);
+                days[i] = toDay(((LocalDate) row[0]).toEpochDay());
+                amounts[i] = MinorUnits.toMinorUnits((BigDecimal) row[1]);
+                categories[i] = row[2] == null ? UNCATEGORIZED
+                        : categoryIndex.computeIfAbsent((UUID) row[2], id -> categoryIndex.size());
+                maxAbs = Math.max(maxAbs, amounts[i] == Long.MIN_VALUE ? Long.MAX_VALUE : Math.abs(amounts[i]));
+            }
+            overflowSafe = maxAbs == 0 || size <= Long.MAX_VALUE / maxAbs;
+            bytes = BYTES_PER_USER + size * BYTES_PER_ROW + categoryIndex.size() * BYTES_PER_CATEGORY;
+        }
+
+        /**
+         * Debits and credits of the rows in the day range. When no sum over all the rows can overflow,
+         * they are accumulated with plain branch-free additions the JIT can vectorise, otherwise with
+         * checked ones.
+         */
+        SpendingTotals totals(UUID categoryId, long startDay, long endDay) {
+            Integer index = categoryId == null ? Integer.valueOf(ALL_CATEGORIES) : categoryIndex.get(categoryId);
+            if (index == null) {
+                return SpendingTotals.empty(categoryId);
+            }
+            int category = index;
+            int from = lowerBound(toDay(startDay));
+            int to = endDay < startDay ? from : lowerBound(toDay(endDay) + 1L);
+
+            long debit = 0;
+            long credit = 0;
+            long count = 0;
+            if (!overflowSafe) {
+                for (int i = from; i < to; i++) {
+                    if (category == ALL_CATEGORIES || categories[i] == category) {
+                        debit = MinorUnits.subtract(debit, Math.min(amounts[i], 0));
+                        credit = MinorUnits.add(credit, Math.max(amounts[i], 0));
+                        count++;
+                    }
+                }
+            } else if (category == ALL_CATEGORIES) {
+                long net = 0;
+                for (int i = from; i < to; i++) {
+                    net += amounts[i];
+                    credit += Math.max(amounts[i], 0);
+                }
+                debit = credit - net;
+                count = to - from;
+            } else {
+                long net = 0;
+                for (int i = from; i < to; i++) {
+                    long amount = categories[i] == category ? amounts[i] : 0;
+                    net += amount;
+                    credit += Math.max(amount, 0);
+                    count += categories[i] == category ? 1 : 0;
+                }
+                debit = credit - net;
+            }
+            return new SpendingTotals(categoryId, MinorUnits.fromMinorUnits(debit),
+                    MinorUnits.fromMinorUnits(credit), count);
+        }
+
+        private int lowerBound(long day) {
+            int low = 0;
+            int high = days.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
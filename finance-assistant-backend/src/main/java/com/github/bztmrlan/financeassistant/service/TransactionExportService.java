@@ -0,0 +1,110 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.bztmrlan.financeassistant.dto.TransactionResponse;
+import com.github.bztmrlan.financeassistant.enums.ExportFormat;
+import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
+import com.opencsv.CSVWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's transactions as CSV or NDJSON while they are read from a database cursor. Rows
+ * are projected straight into responses, so nothing accumulates in the persistence context, and the
+ * output is flushed every few hundred rows; memory stays flat however long the history is and the
+ * client receives data from the first batch on.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportService {
+
+    static final String[] CSV_HEADER = {"Date", "Amount", "Type", "Description", "Category", "Currency"};
+
+    private static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+    private static final int FLUSH_EVERY = 500;
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams the transactions of the user dated within [from, to] to {@code out}, oldest first; open
+     * bounds are unrestricted. The CSV layout is the one accepted by the upload endpoint.
+     *
+     * @return the number of transactions written
+     */
+    @Transactional(readOnly = true)
+    public long export(UUID userId, ExportFormat format, LocalDate from, LocalDate to, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<TransactionResponse> transactions = transactionRepository.streamForExport(
+                userId, from != null ? from : EARLIEST, to != null ? to : LATEST)) {
+            long rows = format == ExportFormat.NDJSON
+                    ? writeNdjson(transactions.iterator(), writer)
+                    : writeCsv(transactions.iterator(), writer);
+            writer.flush();
+            log.info("Exported {} transactions of user {} as {}", rows, userId, format);
+            return rows;
+        }
+    }
+
+    private long writeCsv(Iterator<TransactionResponse> transactions, Writer writer) throws IOException {
+        CSVWriter csv = new CSVWriter(writer);
+        csv.writeNext(CSV_HEADER, false);
+        long rows = 0;
+        while (transactions.hasNext()) {
+            TransactionResponse transaction = transactions.next();
+            csv.writeNext(new String[]{
+                    transaction.getDate().toString(),
+                    transaction.getAmount().toPlainString(),
+                    nullToEmpty(transaction.getType()),
+                    nullToEmpty(transaction.getDescription()),
+                    nullToEmpty(transaction.getCategoryName()),
+                    transaction.getCurrency()
+            }, false);
+            if (++rows % FLUSH_EVERY == 0) {
+                csv.flush();
+            }
+        }
+        csv.flush();
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<TransactionResponse> transactions, Writer writer) throws IOException {
+        ObjectWriter rowWriter = objectMapper.writerFor(TransactionResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long rows = 0;
+        while (transactions.hasNext()) {
+            rowWriter.writeValue(generator, transactions.next());
+            generator.writeRaw('\n');
+            if (++rows % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        }
+        generator.flush();
+        return rows;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
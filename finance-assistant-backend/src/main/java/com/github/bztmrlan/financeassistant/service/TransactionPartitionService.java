@@ -0,0 +1,102 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} ahead of the calendar. On PostgreSQL the
+ * migrations partition the table by range of {@code date}; each day the partitions of the current month
+ * and the next {@code app.partitions.transactions.months-ahead} months are created, and with
+ * {@code app.partitions.transactions.retain-months} set, older months are detached into the
+ * {@code transactions_archive} schema to be dumped and dropped from there. Other databases keep an
+ * unpartitioned table and nothing is done.
+ */
+@Service
+@Slf4j
+public class TransactionPartitionService {
+
+    static final String JOB_NAME = "transaction partition maintenance";
+
+    static final String IS_PARTITIONED_SQL =
+            "SELECT COUNT(*) FROM pg_partitioned_table WHERE partrelid = to_regclass('transactions')";
+    static final String CREATE_PARTITION_SQL = "SELECT create_transactions_partition(?)";
+    static final String ARCHIVE_PARTITIONS_SQL = "SELECT archive_transactions_partitions(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardLeaseService shardLeaseService;
+    private final int monthsAhead;
+    private final int retainMonths;
+
+    private volatile boolean partitioned;
+
+    public TransactionPartitionService(JdbcTemplate jdbcTemplate,
+                                       ShardLeaseService shardLeaseService,
+                                       @Value("${app.partitions.transactions.months-ahead:3}") int monthsAhead,
+                                       @Value("${app.partitions.transactions.retain-months:0}") int retainMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardLeaseService = shardLeaseService;
+        this.monthsAhead = monthsAhead;
+        this.retainMonths = retainMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectPartitioning() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            log.info("Transactions are not partitioned on {}", product);
+            return;
+        }
+        Integer count = jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Integer.class);
+        partitioned = count != null && count > 0;
+        if (partitioned) {
+            maintainPartitions(LocalDate.now());
+        } else {
+            log.warn("The transactions table is not partitioned, partition maintenance is disabled");
+        }
+    }
+
+    @Scheduled(cron = "0 30 2 * * ?")
+    public void maintainPartitionsDaily() {
+        if (!partitioned) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        shardLeaseService.runSharded(JOB_NAME, JOB_NAME + ":" + today, 1, shard -> maintainPartitions(today));
+    }
+
+    /**
+     * Creates the missing partitions from the month of {@code today} on and archives the ones that fell
+     * out of retention. Safe to run concurrently, the database functions serialize on an advisory lock.
+     */
+    public void maintainPartitions(LocalDate today) {
+        LocalDate month = today.withDayOfMonth(1);
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            Boolean wasCreated = jdbcTemplate.queryForObject(CREATE_PARTITION_SQL, Boolean.class, month.plusMonths(i));
+            if (Boolean.TRUE.equals(wasCreated)) {
+                created++;
+            }
+        }
+
+        int archived = 0;
+        if (retainMonths > 0) {
+            Integer count = jdbcTemplate.queryForObject(ARCHIVE_PARTITIONS_SQL, Integer.class,
+                    month.minusMonths(retainMonths));
+            archived = count == null ? 0 : count;
+        }
+        log.info("Transaction partitions maintained: {} created, {} archived", created, archived);
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+}
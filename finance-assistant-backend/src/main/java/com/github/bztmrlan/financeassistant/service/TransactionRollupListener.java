@@ -0,0 +1,136 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.model.Category;
+import com.github.bztmrlan.financeassistant.model.Transaction;
+import com.github.bztmrlan.financeassistant.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keeps the daily rollup, the in-memory spending windows and the goal progress totals in step with every insert, update
+ * and delete of a {@link Transaction}, whichever repository or service performs the write, and drops the writer's
+ * in-process search index and analytics columns.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionRollupListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final SpendingRollupService spendingRollupService;
+    private final SpendingWindowCache spendingWindowCache;
+    private final GoalProgressLedger goalProgressLedger;
+    private final TrigramSearchIndex trigramSearchIndex;
+    private final TransactionColumnStore transactionColumnStore;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Transaction) {
+            RollupKey key = RollupKey.of(event.getPersister(), event.getState());
+            apply(key, 1);
+            recordSearchChange(key);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Transaction) || event.getOldState() == null) {
+            return;
+        }
+        RollupKey before = RollupKey.of(event.getPersister(), event.getOldState());
+        RollupKey after = RollupKey.of(event.getPersister(), event.getState());
+        if (!before.equals(after)) {
+            apply(before, -1);
+            apply(after, 1);
+        }
+        recordSearchChange(before);
+        if (!Objects.equals(before.userId(), after.userId())) {
+            recordSearchChange(after);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Transaction) {
+            RollupKey key = RollupKey.of(event.getPersister(), event.getDeletedState());
+            apply(key, -1);
+            recordSearchChange(key);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void apply(RollupKey key, int direction) {
+        if (key.userId() != null && key.day() != null && key.amount() != null) {
+            spendingRollupService.applyTransaction(key.userId(), key.categoryId(), key.day(), key.amount(), direction);
+            spendingWindowCache.recordChange(key.userId(), key.categoryId(), key.day(), key.amount(), direction);
+            goalProgressLedger.recordChange(key.userId(), key.categoryId(), key.day(), key.amount(), direction);
+            transactionColumnStore.recordChange(key.userId());
+        }
+    }
+
+    private void recordSearchChange(RollupKey key) {
+        if (key.userId() != null) {
+            trigramSearchIndex.recordChange(key.userId());
+        }
+    }
+
+    private record RollupKey(UUID userId, UUID categoryId, LocalDate day, BigDecimal amount) {
+
+        static RollupKey of(EntityPersister persister, Object[] state) {
+            User user = (User) state[persister.getPropertyIndex("user")];
+            Category category = (Category) state[persister.getPropertyIndex("category")];
+            return new RollupKey(
+                    user != null ? user.getId() : null,
+                    category != null ? category.getId() : null,
+                    (LocalDate) state[persister.getPropertyIndex("date")],
+                    (BigDecimal) state[persister.getPropertyIndex("amount")]);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof RollupKey other)) {
+                return false;
+            }
+            return Objects.equals(userId, other.userId)
+                    && Objects.equals(categoryId, other.categoryId)
+                    && Objects.equals(day, other.day)
+                    && (amount == null ? other.amount == null
+                        : other.amount != null && amount.compareTo(other.amount) == 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, categoryId, day);
+        }
+    }
+}
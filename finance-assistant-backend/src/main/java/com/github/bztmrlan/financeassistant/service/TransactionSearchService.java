@@ -0,0 +1,110 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.dto.TransactionResponse;
+import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ranked search over transaction descriptions. On PostgreSQL it runs in the database against GIN
+ * indexes on the description's {@code tsvector} and trigrams, ranking full-text matches together with
+ * {@code word_similarity} so misspelled merchants are still found. Other databases use the in-process
+ * {@link TrigramSearchIndex}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSearchService {
+
+    private static final String PG_TRGM_INSTALLED_SQL =
+            "SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'";
+
+    private static final String POSTGRES_SEARCH_SQL =
+            "SELECT t.transaction_id, t.user_id, c.category_id, c.name AS category_name, c.type AS category_type, " +
+            "t.date, t.amount, t.currency, t.description, t.type " +
+            "FROM transactions t LEFT JOIN categories c ON c.category_id = t.category_id " +
+            "WHERE t.user_id = ? " +
+            "AND (to_tsvector('simple', coalesce(t.description, '')) @@ plainto_tsquery('simple', ?) " +
+            "OR ? <% t.description) " +
+            "ORDER BY ts_rank(to_tsvector('simple', coalesce(t.description, '')), plainto_tsquery('simple', ?)) " +
+            "+ word_similarity(?, t.description) DESC, t.date DESC, t.transaction_id DESC " +
+            "LIMIT ? OFFSET ?";
+
+    private static final RowMapper<TransactionResponse> RESPONSE_MAPPER = (rs, rowNum) -> TransactionResponse.builder()
+            .id(rs.getObject("transaction_id", UUID.class))
+            .userId(rs.getObject("user_id", UUID.class))
+            .categoryId(rs.getObject("category_id", UUID.class))
+            .categoryName(rs.getString("category_name"))
+            .categoryType(rs.getString("category_type"))
+            .date(rs.getObject("date", LocalDate.class))
+            .amount(rs.getBigDecimal("amount"))
+            .currency(rs.getString("currency"))
+            .description(rs.getString("description"))
+            .type(rs.getString("type"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionRepository transactionRepository;
+    private final TrigramSearchIndex trigramSearchIndex;
+
+    private volatile boolean databaseSearch;
+
+    /**
+     * The search indexes and {@code pg_trgm} are created by the PostgreSQL migrations.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectDatabaseSearch() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            log.info("Transaction search uses the in-process trigram index on {}", product);
+            return;
+        }
+        Integer installed = jdbcTemplate.queryForObject(PG_TRGM_INSTALLED_SQL, Integer.class);
+        databaseSearch = installed != null && installed > 0;
+        if (databaseSearch) {
+            log.info("Transaction search uses the PostgreSQL full-text and trigram indexes");
+        } else {
+            log.warn("pg_trgm is not installed, transaction search uses the in-process trigram index");
+        }
+    }
+
+    /**
+     * The user's transactions whose description matches {@code query}, best match first, then
+     * newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> search(UUID userId, String query, int page, int size) {
+        int offset = page * size;
+        if (databaseSearch) {
+            return jdbcTemplate.query(POSTGRES_SEARCH_SQL, RESPONSE_MAPPER,
+                    userId, query, query, query, query, size, offset);
+        }
+
+        List<TrigramSearchIndex.Hit> hits = trigramSearchIndex.search(userId, query, offset, size);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Integer> rank = new HashMap<>();
+        for (int i = 0; i < hits.size(); i++) {
+            rank.put(hits.get(i).transactionId(), i);
+        }
+        return transactionRepository.findResponsesByIdIn(rank.keySet()).stream()
+                .sorted(Comparator.comparing(response -> rank.get(response.getId())))
+                .toList();
+    }
+}
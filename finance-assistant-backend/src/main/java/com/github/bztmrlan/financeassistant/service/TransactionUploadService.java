@@ -19,9 +19,6 @@ import org.springframework.web.multipart.MultipartFile;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,9 +34,6 @@ public class TransactionUploadService {
     private final BudgetManagementService budgetManagementService;
     private final GoalManagementService goalManagementService;
 
-    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
-
-
     public TransactionUploadResponse uploadTransactions(MultipartFile file, User user, String currency,
                                                      boolean autoCategorize, boolean skipDuplicates, String dateFormat) {
         long startTime = System.currentTimeMillis();
@@ -283,16 +277,10 @@ public class TransactionUploadService {
 
     private void applyBusinessRules(List<Transaction> transactions, User user) {
         try {
-            CompletableFuture.runAsync(() -> {
-                try {
-                    ruleEngineService.evaluateRulesForUser(user.getId());
-                    log.info("Applied business rules for {} transactions", transactions.size());
-                } catch (Exception e) {
-                    log.error("Error applying business rules", e);
-                }
-            }, executorService);
+            ruleEngineService.evaluateRulesForTransactions(user.getId(), transactions);
+            log.info("Applied business rules for {} transactions", transactions.size());
         } catch (Exception e) {
-            log.warn("Could not schedule business rules evaluation", e);
+            log.error("Error applying business rules", e);
         }
     }
 
@@ -307,10 +295,6 @@ public class TransactionUploadService {
     }
 
 
-    public void shutdown() {
-        executorService.shutdown();
-    }
-
     @Getter
     @AllArgsConstructor
     private static class TransactionProcessingResult {
@@ -0,0 +1,162 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-user trigram inverted index over transaction descriptions, used for search on databases
+ * without {@code pg_trgm}. Trigrams are extracted the way {@code pg_trgm} does and a description
+ * matches when it contains at least {@value #WORD_SIMILARITY_THRESHOLD} of the query's trigrams, an
+ * approximation of {@code word_similarity}; descriptions containing the whole query rank first. A user's
+ * index is built on first search, dropped when one of their transactions is written and evicted beyond
+ * the configured number of users.
+ */
+@Component
+@Slf4j
+public class TrigramSearchIndex {
+
+    static final double WORD_SIMILARITY_THRESHOLD = 0.6;
+
+    private final EntityManager entityManager;
+    private final PerUserCache<UserIndex> entries;
+
+    public TrigramSearchIndex(EntityManager entityManager,
+                              @Value("${app.search.index-cache.max-users:1000}") int maxUsers) {
+        this.entityManager = entityManager;
+        this.entries = PerUserCache.bySize(maxUsers);
+    }
+
+    public record Hit(UUID transactionId, double score) {
+    }
+
+    /**
+     * The user's transactions matching {@code query}, best first and then newest first, skipping
+     * {@code offset} hits and returning at most {@code limit}.
+     */
+    public List<Hit> search(UUID userId, String query, int offset, int limit) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+        return entries.get(userId, this::load).search(normalize(query), offset, limit);
+    }
+
+    public void recordChange(UUID userId) {
+        entries.invalidateUntilCompletion(userId);
+    }
+
+    public void invalidate(UUID userId) {
+        entries.invalidate(userId);
+    }
+
+    private UserIndex load(UUID userId) {
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT t.id, t.description, t.date FROM Transaction t " +
+                        "WHERE t.user.id = :userId AND t.description IS NOT NULL", Object[].class)
+                .setParameter("userId", userId)
+                .getResultList();
+        log.debug("Built trigram search index of {} descriptions for user {}", rows.size(), userId);
+        return new UserIndex(rows);
+    }
+
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * The trigrams of each word padded with two leading blanks and one trailing blank, as
+     * {@code pg_trgm} extracts them.
+     */
+    static Set<String> trigrams(String normalized) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static final class UserIndex {
+
+        private final UUID[] ids;
+        private final String[] texts;
+        private final long[] days;
+        private final Map<String, int[]> postings;
+
+        UserIndex(List<Object[]> rows) {
+            int size = rows.size();
+            ids = new UUID[size];
+            texts = new String[size];
+            days = new long[size];
+            Map<String, List<Integer>> building = new HashMap<>();
+            for (int doc = 0; doc < size; doc++) {
+                Object[] row = rows.get(doc);
+                ids[doc] = (UUID) row[0];
+                texts[doc] = normalize((String) row[1]);
+                days[doc] = ((LocalDate) row[2]).toEpochDay();
+                for (String trigram : trigrams(texts[doc])) {
+                    building.computeIfAbsent(trigram, key -> new ArrayList<>()).add(doc);
+                }
+            }
+            postings = new HashMap<>(building.size() * 2);
+            building.forEach((trigram, docs) ->
+                    postings.put(trigram, docs.stream().mapToInt(Integer::intValue).toArray()));
+        }
+
+        List<Hit> search(String query, int offset, int limit) {
+            Set<String> queryTrigrams = trigrams(query);
+            if (queryTrigrams.isEmpty()) {
+                return List.of();
+            }
+            int[] shared = new int[ids.length];
+            for (String trigram : queryTrigrams) {
+                int[] docs = postings.get(trigram);
+                if (docs != null) {
+                    for (int doc : docs) {
+                        shared[doc]++;
+                    }
+                }
+            }
+
+            List<Integer> matches = new ArrayList<>();
+            double[] scores = new double[ids.length];
+            for (int doc = 0; doc < ids.length; doc++) {
+                if (shared[doc] == 0) {
+                    continue;
+                }
+                double similarity = (double) shared[doc] / queryTrigrams.size();
+                boolean contains = texts[doc].contains(query);
+                if (contains || similarity >= WORD_SIMILARITY_THRESHOLD) {
+                    scores[doc] = (contains ? 1.0 : 0.0) + similarity;
+                    matches.add(doc);
+                }
+            }
+            return matches.stream()
+                    .sorted(Comparator.<Integer>comparingDouble(doc -> scores[doc]).reversed()
+                            .thenComparing(Comparator.<Integer>comparingLong(doc -> days[doc]).reversed())
+                            .thenComparing(doc -> ids[doc], Comparator.reverseOrder()))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(doc -> new Hit(ids[doc], scores[doc]))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a per-user task for every user of a scheduled job on a bounded worker pool. User ids are read
+ * page by page with keyset pagination, the next page being fetched while the current one is processed.
+ * A failing user is logged and counted without affecting the others.
+ */
+@Component
+@Slf4j
+public class UserBatchRunner {
+
+    private final ThreadPoolExecutor executor;
+    private final int pageSize;
+
+    public UserBatchRunner(@Value("${app.scheduler.worker-threads:8}") int workerThreads,
+                           @Value("${app.scheduler.page-size:500}") int pageSize) {
+        this.pageSize = pageSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(pageSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-batch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Returns up to {@code size} user ids ordered by id, strictly after {@code after} or from the
+     * start when it is null.
+     */
+    @FunctionalInterface
+    public interface UserIdPages {
+        List<UUID> next(UUID after, int size);
+    }
+
+    @FunctionalInterface
+    public interface UserTask {
+        void run(UUID userId) throws Exception;
+    }
+
+    /**
+     * Processes a whole page of users at once, for jobs that work on sets of users.
+     */
+    @FunctionalInterface
+    public interface PageTask {
+        void run(List<UUID> userIds) throws Exception;
+    }
+
+    /**
+     * Called once every user of a page has been processed, with the page's last user id and the
+     * number of users processed and failed in it.
+     */
+    @FunctionalInterface
+    public interface PageListener {
+        void pageCompleted(UUID lastUserId, long processed, long failed);
+    }
+
+    public record RunSummary(String job, long processed, long failed, Duration duration) {
+
+        public double usersPerSecond() {
+            long millis = Math.max(duration.toMillis(), 1);
+            return processed * 1000.0 / millis;
+        }
+    }
+
+    public RunSummary run(String job, long expectedUsers, UserIdPages pages, UserTask task) {
+        return run(job, expectedUsers, null, pages, task, (lastUserId, processed, failed) -> { });
+    }
+
+    /**
+     * Processes the users after {@code startAfter}, or all of them when it is null, reporting each
+     * completed page to {@code listener}.
+     */
+    public RunSummary run(String job, long expectedUsers, UUID startAfter, UserIdPages pages, UserTask task,
+                          PageListener listener) {
+        long startedAt = System.nanoTime();
+        AtomicLong processed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        log.info("Starting {} for about {} users", job, expectedUsers);
+
+        List<UUID> page = pages.next(startAfter, pageSize);
+        while (!page.isEmpty()) {
+            long processedBefore = processed.get();
+            long failedBefore = failed.get();
+            List<CompletableFuture<Void>> inFlight = new ArrayList<>(page.size());
+            for (UUID userId : page) {
+                inFlight.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        task.run(userId);
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        log.error("{} failed for user: {}", job, userId, e);
+                    } finally {
+                        processed.incrementAndGet();
+                    }
+                }, executor));
+            }
+
+            List<UUID> nextPage = page.size() < pageSize ? List.of() : pages.next(page.get(page.size() - 1), pageSize);
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+            listener.pageCompleted(page.get(page.size() - 1), processed.get() - processedBefore,
+                    failed.get() - failedBefore);
+            logProgress(job, processed.get(), failed.get(), expectedUsers, startedAt);
+            page = nextPage;
+        }
+
+        RunSummary summary = new RunSummary(job, processed.get(), failed.get(),
+                Duration.ofNanos(System.nanoTime() - startedAt));
+        log.info("Completed {} for {} users ({} failed) in {} ms, {} users/s", job, summary.processed(),
+                summary.failed(), summary.duration().toMillis(), String.format("%.1f", summary.usersPerSecond()));
+        return summary;
+    }
+
+    /**
+     * Runs {@code task} once per page of users on the worker pool, fetching the next page meanwhile.
+     * A failing page counts all of its users as failed.
+     */
+    public RunSummary runPages(String job, long expectedUsers, UUID startAfter, UserIdPages pages, PageTask task,
+                               PageListener listener) {
+        long startedAt = System.nanoTime();
+        long processed = 0;
+        long failed = 0;
+        log.info("Starting {} for about {} users", job, expectedUsers);
+
+        List<UUID> page = pages.next(startAfter, pageSize);
+        while (!page.isEmpty()) {
+            List<UUID> current = page;
+            CompletableFuture<Boolean> result = CompletableFuture.supplyAsync(() -> {
+                try {
+                    task.run(current);
+                    return true;
+                } catch (Exception e) {
+                    log.error("{} failed for a page of {} users starting at {}", job, current.size(), current.get(0), e);
+                    return false;
+                }
+            }, executor);
+
+            List<UUID> nextPage = page.size() < pageSize ? List.of() : pages.next(page.get(page.size() - 1), pageSize);
+            long pageFailed = result.join() ? 0 : page.size();
+            processed += page.size();
+            failed += pageFailed;
+            listener.pageCompleted(page.get(page.size() - 1), page.size(), pageFailed);
+            logProgress(job, processed, failed, expectedUsers, startedAt);
+            page = nextPage;
+        }
+
+        RunSummary summary = new RunSummary(job, processed, failed, Duration.ofNanos(System.nanoTime() - startedAt));
+        log.info("Completed {} for {} users ({} failed) in {} ms, {} users/s", job, summary.processed(),
+                summary.failed(), summary.duration().toMillis(), String.format("%.1f", summary.usersPerSecond()));
+        return summary;
+    }
+
+    private void logProgress(String job, long processed, long failed, long expectedUsers, long startedAt) {
+        long elapsedMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), 1);
+        double usersPerSecond = processed * 1000.0 / elapsedMillis;
+        long remaining = Math.max(expectedUsers - processed, 0);
+        long etaSeconds = usersPerSecond > 0 ? (long) (remaining / usersPerSecond) : -1;
+        log.info("{}: {}/{} users processed ({} failed), {} users/s, ETA {}s", job, processed, expectedUsers,
+                failed, String.format("%.1f", usersPerSecond), etaSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import java.util.UUID;
+
+/**
+ * Inclusive range of user ids in database order, which compares UUIDs as unsigned 128-bit values.
+ * Shards split the id space into equal slices of the most significant 64 bits.
+ */
+public record UserIdRange(UUID first, UUID last) {
+
+    public static UserIdRange shard(int shard, int shardCount) {
+        if (shardCount < 1 || shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("Invalid shard " + shard + " of " + shardCount);
+        }
+        long step = Long.divideUnsigned(-1L, shardCount);
+        UUID first = new UUID(step * shard, 0L);
+        UUID last = shard == shardCount - 1
+                ? new UUID(-1L, -1L)
+                : new UUID(step * (shard + 1) - 1, -1L);
+        return new UserIdRange(first, last);
+    }
+
+    public boolean contains(UUID userId) {
+        return compareUnsigned(first, userId) <= 0 && compareUnsigned(userId, last) <= 0;
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,27 @@
+-- Composite indexes for the access paths of the repositories. Lookups by transactions(user_id, date)
+-- and alerts(source_type, source_id) are served by the leading columns of
+-- idx_transactions_user_date_id and uk_alerts_source_window.
+
+-- Listing and rollups of one category's transactions in a date range
+CREATE INDEX IF NOT EXISTS idx_transactions_user_category_date ON transactions (user_id, category_id, date);
+
+-- A user's alerts and their unread count
+CREATE INDEX IF NOT EXISTS idx_alerts_user_read ON alerts (user_id, read);
+
+-- A user's budgets, active ones first of all
+CREATE INDEX IF NOT EXISTS idx_budgets_user_status ON budgets (user_id, status);
+
+-- Category lookup by name during uploads and categorization
+CREATE INDEX IF NOT EXISTS idx_categories_user_name ON categories (user_id, name);
+
+-- A user's goals and the open goals of a page of users
+CREATE INDEX IF NOT EXISTS idx_goals_user_completed ON goals (user_id, completed);
+
+-- Limits of a budget
+CREATE INDEX IF NOT EXISTS idx_budget_categories_budget ON budget_categories (budget_id);
+
+-- Active rules of a user
+CREATE INDEX IF NOT EXISTS idx_rules_user_active ON rules (user_id, active);
+
+-- A user's insights, newest first
+CREATE INDEX IF NOT EXISTS idx_insights_user_generated ON insights (user_id, generated_at);
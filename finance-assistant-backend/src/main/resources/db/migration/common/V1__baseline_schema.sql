@@ -0,0 +1,129 @@
+-- Schema as previously created by Hibernate's ddl-auto. Databases that already have it are
+-- baselined at this version and start from V2. Later additions each have their own migration.
+
+CREATE TABLE users (
+    user_id    UUID         NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255),
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_users PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE user_settings (
+    user_id  UUID         NOT NULL,
+    currency VARCHAR(255) NOT NULL,
+    language VARCHAR(255) NOT NULL,
+    timezone VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_user_settings PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_settings_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE categories (
+    category_id UUID         NOT NULL,
+    user_id     UUID         NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    type        VARCHAR(255) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE', 'TRANSFER')),
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_categories PRIMARY KEY (category_id),
+    CONSTRAINT fk_categories_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE transactions (
+    transaction_id UUID           NOT NULL,
+    user_id        UUID           NOT NULL,
+    category_id    UUID,
+    date           DATE           NOT NULL,
+    amount         NUMERIC(38, 2) NOT NULL,
+    currency       VARCHAR(3)     NOT NULL,
+    description    VARCHAR(255),
+    type           VARCHAR(255),
+    created_at     TIMESTAMP(6),
+    CONSTRAINT pk_transactions PRIMARY KEY (transaction_id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+    CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (category_id)
+);
+
+CREATE TABLE budgets (
+    budget_id   UUID         NOT NULL,
+    user_id     UUID         NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    period      VARCHAR(255),
+    start_date  DATE         NOT NULL,
+    end_date    DATE         NOT NULL,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('ACTIVE', 'COMPLETED', 'UPCOMING')),
+    CONSTRAINT pk_budgets PRIMARY KEY (budget_id),
+    CONSTRAINT fk_budgets_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE budget_categories (
+    id           UUID           NOT NULL,
+    budget_id    UUID           NOT NULL,
+    category_id  UUID           NOT NULL,
+    limit_amount NUMERIC(38, 2) NOT NULL,
+    spent_amount NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_budget_categories PRIMARY KEY (id),
+    CONSTRAINT fk_budget_categories_budget FOREIGN KEY (budget_id) REFERENCES budgets (budget_id),
+    CONSTRAINT fk_budget_categories_category FOREIGN KEY (category_id) REFERENCES categories (category_id)
+);
+
+CREATE TABLE goals (
+    goal_id        UUID           NOT NULL,
+    user_id        UUID           NOT NULL,
+    category_id    UUID,
+    name           VARCHAR(255)   NOT NULL,
+    target_amount  NUMERIC(38, 2) NOT NULL,
+    current_amount NUMERIC(38, 2) NOT NULL,
+    currency       VARCHAR(3)     NOT NULL,
+    target_date    DATE           NOT NULL,
+    completed      BOOLEAN        NOT NULL,
+    CONSTRAINT pk_goals PRIMARY KEY (goal_id),
+    CONSTRAINT fk_goals_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+    CONSTRAINT fk_goals_category FOREIGN KEY (category_id) REFERENCES categories (category_id)
+);
+
+CREATE TABLE rules (
+    rule_id        UUID           NOT NULL,
+    user_id        UUID           NOT NULL,
+    category_id    UUID,
+    name           VARCHAR(255)   NOT NULL,
+    condition_type VARCHAR(255)   NOT NULL CHECK (condition_type IN ('LESS_THAN', 'GREATER_THAN', 'EQUAL_TO')),
+    threshold      NUMERIC(38, 2) NOT NULL,
+    period         VARCHAR(255)   NOT NULL CHECK (period IN ('DAILY', 'WEEKLY', 'MONTHLY', 'QUARTERLY', 'YEARLY')),
+    active         BOOLEAN        NOT NULL,
+    CONSTRAINT pk_rules PRIMARY KEY (rule_id),
+    CONSTRAINT fk_rules_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+    CONSTRAINT fk_rules_category FOREIGN KEY (category_id) REFERENCES categories (category_id)
+);
+
+CREATE TABLE alerts (
+    alert_id    UUID         NOT NULL,
+    user_id     UUID         NOT NULL,
+    source_type VARCHAR(255) NOT NULL CHECK (source_type IN ('RULE', 'BUDGET', 'GOAL')),
+    source_id   UUID         NOT NULL,
+    message     VARCHAR(255) NOT NULL,
+    read        BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_alerts PRIMARY KEY (alert_id),
+    CONSTRAINT fk_alerts_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE insights (
+    insight_id       UUID                        NOT NULL,
+    user_id          UUID                        NOT NULL,
+    type             VARCHAR(255)                NOT NULL CHECK (type IN ('SPENDING_TREND', 'SAVINGS_OPPORTUNITY',
+        'UNUSUAL_ACTIVITY', 'BUDGET_REVIEW', 'SPENDING_ANALYSIS', 'INCOME_ANALYSIS', 'GOAL_PROGRESS',
+        'BUDGET_PERFORMANCE', 'CUSTOM_QUERY')),
+    message          TEXT                        NOT NULL,
+    user_question    TEXT,
+    insight_data     TEXT,
+    category_tags    TEXT,
+    time_period      TEXT,
+    confidence_score FLOAT(53),
+    viewed           BOOLEAN                     NOT NULL,
+    generated_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_insights PRIMARY KEY (insight_id),
+    CONSTRAINT fk_insights_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
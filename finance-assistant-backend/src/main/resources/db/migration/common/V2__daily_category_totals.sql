@@ -0,0 +1,14 @@
+-- Daily per-user, per-category rollup of transaction amounts.
+
+CREATE TABLE IF NOT EXISTS daily_category_totals (
+    id                UUID           NOT NULL,
+    user_id           UUID           NOT NULL,
+    category_id       UUID,
+    spend_day         DATE           NOT NULL,
+    debit_sum         NUMERIC(38, 2) NOT NULL,
+    credit_sum        NUMERIC(38, 2) NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    CONSTRAINT pk_daily_category_totals PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_daily_totals_user_day ON daily_category_totals (user_id, spend_day, category_id);
@@ -0,0 +1,7 @@
+-- Rule alerts are kept one per rule and evaluation window, and the scheduler remembers the last
+-- closed window it evaluated each rule for.
+
+ALTER TABLE alerts ADD COLUMN IF NOT EXISTS window_start DATE;
+ALTER TABLE alerts ADD CONSTRAINT uk_alerts_source_window UNIQUE (source_type, source_id, window_start);
+
+ALTER TABLE rules ADD COLUMN IF NOT EXISTS last_evaluated_window DATE;
@@ -0,0 +1,14 @@
+-- Leases on the user-id shards of the scheduled jobs, shared by all nodes.
+
+CREATE TABLE IF NOT EXISTS job_leases (
+    lease_id           UUID         NOT NULL,
+    job_name           VARCHAR(255) NOT NULL,
+    shard              INTEGER      NOT NULL,
+    run_key            VARCHAR(255),
+    lease_owner        VARCHAR(255),
+    lease_until        TIMESTAMP(6) WITH TIME ZONE,
+    completed          BOOLEAN      NOT NULL,
+    checkpoint_user_id UUID,
+    CONSTRAINT pk_job_leases PRIMARY KEY (lease_id),
+    CONSTRAINT uk_job_leases_job_shard UNIQUE (job_name, shard)
+);
@@ -0,0 +1,27 @@
+-- Records of scheduled evaluation runs and of the users that failed in them.
+
+CREATE TABLE IF NOT EXISTS evaluation_runs (
+    run_id          UUID                        NOT NULL,
+    job_name        VARCHAR(255)                NOT NULL,
+    run_key         VARCHAR(255)                NOT NULL,
+    run_date        DATE                        NOT NULL,
+    status          VARCHAR(255)                NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'INCOMPLETE')),
+    started_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    finished_at     TIMESTAMP(6) WITH TIME ZONE,
+    users_processed BIGINT                      NOT NULL,
+    users_failed    BIGINT                      NOT NULL,
+    CONSTRAINT pk_evaluation_runs PRIMARY KEY (run_id),
+    CONSTRAINT uk_evaluation_runs_run_key UNIQUE (run_key)
+);
+
+CREATE TABLE IF NOT EXISTS evaluation_failures (
+    failure_id      UUID                        NOT NULL,
+    job_name        VARCHAR(255)                NOT NULL,
+    user_id         UUID                        NOT NULL,
+    attempts        INTEGER                     NOT NULL,
+    last_error      VARCHAR(1000),
+    first_failed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_failed_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_evaluation_failures PRIMARY KEY (failure_id),
+    CONSTRAINT uk_evaluation_failures_job_user UNIQUE (job_name, user_id)
+);
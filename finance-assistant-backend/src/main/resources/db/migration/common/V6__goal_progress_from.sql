@@ -0,0 +1,3 @@
+-- First transaction date counted in a goal's running progress total.
+
+ALTER TABLE goals ADD COLUMN IF NOT EXISTS progress_from DATE;
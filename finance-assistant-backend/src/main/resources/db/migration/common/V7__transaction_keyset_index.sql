@@ -0,0 +1,3 @@
+-- Keyset pagination of a user's transactions by date and id.
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_id ON transactions (user_id, date, transaction_id);
@@ -0,0 +1,3 @@
+-- Embedded in issued tokens; incrementing it revokes every token issued before.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER DEFAULT 0 NOT NULL;
@@ -0,0 +1,10 @@
+-- Per-user token buckets of the rate limits, shared by all nodes.
+
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_id      UUID         NOT NULL,
+    limit_name     VARCHAR(255) NOT NULL,
+    user_id        UUID         NOT NULL,
+    full_at_millis BIGINT       NOT NULL,
+    CONSTRAINT pk_rate_limit_buckets PRIMARY KEY (bucket_id),
+    CONSTRAINT uk_rate_limit_buckets_limit_user UNIQUE (limit_name, user_id)
+);
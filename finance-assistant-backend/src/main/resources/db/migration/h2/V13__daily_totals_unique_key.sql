@@ -0,0 +1,3 @@
+-- One rollup row per user, day and category, with uncategorized rows sharing a single NULL key.
+ALTER TABLE daily_category_totals ADD CONSTRAINT IF NOT EXISTS uk_daily_totals_user_category_day
+    UNIQUE NULLS NOT DISTINCT (user_id, category_id, spend_day);
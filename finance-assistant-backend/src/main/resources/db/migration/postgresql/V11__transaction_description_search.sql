@@ -0,0 +1,9 @@
+-- Full-text and trigram indexes behind transaction search. pg_trgm is a trusted extension, so the
+-- database owner can create it without superuser rights.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_description_tsv ON transactions
+    USING GIN (to_tsvector('simple', coalesce(description, '')));
+
+CREATE INDEX IF NOT EXISTS idx_transactions_description_trgm ON transactions
+    USING GIN (description gin_trgm_ops);
@@ -0,0 +1,122 @@
+-- Monthly range partitions of transactions on date. The primary key has to include the partition key,
+-- so it becomes (transaction_id, date); ids are random UUIDs and stay unique in practice. Rows outside
+-- every monthly partition land in transactions_default. The rows are copied into the new table, so on
+-- large installations run this migration in a maintenance window.
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+-- Frees the index name pk_transactions for the new table. The old key is named by V1 on new databases
+-- but by Hibernate (transactions_pkey) on baselined ones, so it is looked up.
+DO $$
+DECLARE
+    pk_name TEXT;
+BEGIN
+    SELECT conname INTO pk_name
+    FROM pg_constraint
+    WHERE conrelid = 'transactions_unpartitioned'::REGCLASS AND contype = 'p';
+    IF pk_name IS NOT NULL THEN
+        EXECUTE format('ALTER TABLE transactions_unpartitioned RENAME CONSTRAINT %I TO pk_transactions_unpartitioned',
+                       pk_name);
+    END IF;
+END
+$$;
+DROP INDEX IF EXISTS idx_transactions_user_date_id;
+DROP INDEX IF EXISTS idx_transactions_user_category_date;
+DROP INDEX IF EXISTS idx_transactions_description_tsv;
+DROP INDEX IF EXISTS idx_transactions_description_trgm;
+
+CREATE TABLE transactions (
+    transaction_id UUID           NOT NULL,
+    user_id        UUID           NOT NULL,
+    category_id    UUID,
+    date           DATE           NOT NULL,
+    amount         NUMERIC(38, 2) NOT NULL,
+    currency       VARCHAR(3)     NOT NULL,
+    description    VARCHAR(255),
+    type           VARCHAR(255),
+    created_at     TIMESTAMP(6),
+    CONSTRAINT pk_transactions PRIMARY KEY (transaction_id, date),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+    CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (category_id)
+) PARTITION BY RANGE (date);
+
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+CREATE INDEX idx_transactions_user_date_id ON transactions (user_id, date, transaction_id);
+CREATE INDEX idx_transactions_user_category_date ON transactions (user_id, category_id, date);
+CREATE INDEX idx_transactions_description_tsv ON transactions
+    USING GIN (to_tsvector('simple', coalesce(description, '')));
+CREATE INDEX idx_transactions_description_trgm ON transactions
+    USING GIN (description gin_trgm_ops);
+
+-- Detached partitions are kept here until they are dumped and dropped
+CREATE SCHEMA IF NOT EXISTS transactions_archive;
+
+-- Creates the partition transactions_pYYYY_MM for the month of the given day unless it exists, moving
+-- that month's rows out of the default partition. Returns whether it was created.
+CREATE OR REPLACE FUNCTION create_transactions_partition(month DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    first_day DATE := date_trunc('month', month)::DATE;
+    next_first_day DATE := (date_trunc('month', month) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'transactions_p' || to_char(month, 'YYYY_MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('transactions partitions'));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM transactions_default WHERE date >= %L AND date < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', first_day, next_first_day, partition_name);
+    -- Lets the attach skip its validation scan of the new partition
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (date >= %L AND date < %L)',
+                   partition_name, partition_name || '_range', first_day, next_first_day);
+    EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, first_day, next_first_day);
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', partition_name, partition_name || '_range');
+    RETURN TRUE;
+END
+$$;
+
+-- Detaches the monthly partitions of months before the given day into transactions_archive. Returns
+-- how many were archived.
+CREATE OR REPLACE FUNCTION archive_transactions_partitions(before DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT;
+    archived INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('transactions partitions'));
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'transactions'::REGCLASS
+          AND c.relname ~ '^transactions_p[0-9]{4}_[0-9]{2}$'
+          AND to_date(substring(c.relname FROM 15), 'YYYY_MM') < date_trunc('month', before)
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE transactions DETACH PARTITION %I', partition_name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA transactions_archive', partition_name);
+        archived := archived + 1;
+    END LOOP;
+    RETURN archived;
+END
+$$;
+
+-- A partition for every month that holds transactions, the current month and the next three
+SELECT create_transactions_partition(month)
+FROM (
+    SELECT DISTINCT date_trunc('month', date)::DATE AS month FROM transactions_unpartitioned
+    UNION
+    SELECT generate_series(date_trunc('month', CURRENT_DATE), date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+                           INTERVAL '1 month')::DATE
+) months
+ORDER BY month;
+
+INSERT INTO transactions (transaction_id, user_id, category_id, date, amount, currency, description, type, created_at)
+SELECT transaction_id, user_id, category_id, date, amount, currency, description, type, created_at
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+ANALYZE transactions;
@@ -0,0 +1,24 @@
+-- One rollup row per user, day and category so concurrent writers can upsert it with ON CONFLICT.
+-- Rows duplicated by earlier update-then-insert races are folded into the lowest id first. Two partial
+-- indexes cover the key because a NULL category would otherwise never conflict.
+UPDATE daily_category_totals d
+SET debit_sum = s.debit_sum, credit_sum = s.credit_sum, transaction_count = s.transaction_count
+FROM (SELECT MIN(id::text)::uuid AS keep_id, SUM(debit_sum) AS debit_sum, SUM(credit_sum) AS credit_sum,
+             SUM(transaction_count) AS transaction_count
+      FROM daily_category_totals
+      GROUP BY user_id, category_id, spend_day
+      HAVING COUNT(*) > 1) s
+WHERE d.id = s.keep_id;
+
+DELETE FROM daily_category_totals d
+USING daily_category_totals k
+WHERE d.user_id = k.user_id
+  AND d.category_id IS NOT DISTINCT FROM k.category_id
+  AND d.spend_day = k.spend_day
+  AND d.id::text > k.id::text;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_daily_totals_user_category_day
+    ON daily_category_totals (user_id, category_id, spend_day) WHERE category_id IS NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_daily_totals_user_uncategorized_day
+    ON daily_category_totals (user_id, spend_day) WHERE category_id IS NULL;
@@ -0,0 +1,105 @@
+package com.github.bztmrlan.financeassistant.benchmark;
+
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import com.github.bztmrlan.financeassistant.security.CustomUserDetailsService;
+import com.github.bztmrlan.financeassistant.security.JwtRequestFilter;
+import com.github.bztmrlan.financeassistant.security.JwtUtil;
+import com.github.bztmrlan.financeassistant.security.TokenRevocationCache;
+import com.github.bztmrlan.financeassistant.security.UserAuthorities;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of authenticating a bearer token in {@link JwtRequestFilter}, with and without the verified-token
+ * cache. Run after {@code mvn test-compile} with the test classpath, e.g.
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main JwtFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "dGhpc2lzYXRlc3RzZWNyZXRrZXl0aGF0aXNsb25nZW5vdWdoZm9yaG1hY3NoYTI1Ng==";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"true", "false"})
+    public boolean cacheVerifiedTokens;
+
+    private JwtUtil jwtUtil;
+    private JwtRequestFilter filter;
+    private String token;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenTtlSeconds", cacheVerifiedTokens ? 60L : 0L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenMaxEntries", 10_000);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findTokenVersionById(any())).thenReturn(Optional.of(0));
+
+        filter = new JwtRequestFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "tokenRevocationCache", new TokenRevocationCache(userRepository, 30, 10_000));
+        ReflectionTestUtils.setField(filter, "userAuthorities", new UserAuthorities(List.of()));
+
+        token = jwtUtil.generateToken(new CustomUserDetailsService.CustomUserDetails(
+                UUID.randomUUID(), "bench@example.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("USER")), 0));
+        request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public int filter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.bztmrlan.financeassistant.benchmark;
+
+import com.github.bztmrlan.financeassistant.service.MinorUnits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing transaction amounts as {@link BigDecimal}, as {@link MinorUnits} already held as {@code long}
+ * (the spending window buckets), and converting each {@link BigDecimal} to minor units on the way in
+ * (the insight aggregations). Run after {@code mvn test-compile} with the test classpath, e.g.
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main MoneyAggregationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAggregationBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private BigDecimal[] amounts;
+    private long[] minorUnits;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        amounts = new BigDecimal[rows];
+        minorUnits = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            long cents = random.nextLong(-500_000, 500_000);
+            amounts[i] = BigDecimal.valueOf(cents, MinorUnits.DEFAULT_SCALE);
+            minorUnits[i] = cents;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalReduce() {
+        return Arrays.stream(amounts).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal minorUnitsSum() {
+        long sum = 0;
+        for (long amount : minorUnits) {
+            sum = MinorUnits.add(sum, amount);
+        }
+        return MinorUnits.fromMinorUnits(sum);
+    }
+
+    @Benchmark
+    public BigDecimal minorUnitsConvertAndSum() {
+        long sum = 0;
+        for (BigDecimal amount : amounts) {
+            sum = MinorUnits.add(sum, MinorUnits.toMinorUnits(amount));
+        }
+        return MinorUnits.fromMinorUnits(sum);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MoneyAggregationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
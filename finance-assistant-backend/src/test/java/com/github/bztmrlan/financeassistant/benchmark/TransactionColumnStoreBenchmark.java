@@ -0,0 +1,107 @@
+package com.github.bztmrlan.financeassistant.benchmark;
+
+import com.github.bztmrlan.financeassistant.dto.SpendingTotals;
+import com.github.bztmrlan.financeassistant.service.TransactionColumnStore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Range totals answered by {@link TransactionColumnStore} for a user already loaded, over a month and
+ * over the whole ten-year history, for all categories and for one of twenty. Run after
+ * {@code mvn test-compile} with the test classpath, e.g.
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main TransactionColumnStoreBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionColumnStoreBenchmark {
+
+    private static final int CATEGORIES = 20;
+    private static final LocalDate LAST_DAY = LocalDate.of(2024, 12, 31);
+    private static final LocalDate FIRST_DAY = LAST_DAY.minusYears(10);
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private TransactionColumnStore store;
+    private final UUID userId = UUID.randomUUID();
+    private UUID categoryId;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        UUID[] categories = new UUID[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories[i] = UUID.randomUUID();
+        }
+        categoryId = categories[0];
+        int days = (int) (LAST_DAY.toEpochDay() - FIRST_DAY.toEpochDay());
+        List<Object[]> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            result.add(new Object[]{
+                    FIRST_DAY.plusDays((long) i * days / rows),
+                    BigDecimal.valueOf(random.nextLong(-50_000, 10_000), 2),
+                    categories[random.nextInt(CATEGORIES)]});
+        }
+
+        EntityManager entityManager = mock(EntityManager.class);
+        TypedQuery<Object[]> query = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenReturn(query);
+        when(query.setParameter(eq("userId"), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(result);
+
+        store = new TransactionColumnStore(entityManager, true, Long.MAX_VALUE);
+        store.totals(userId, null, LAST_DAY, LAST_DAY);
+    }
+
+    @Benchmark
+    public SpendingTotals monthAllCategories() {
+        return store.totals(userId, null, LAST_DAY.withDayOfMonth(1), LAST_DAY).orElseThrow();
+    }
+
+    @Benchmark
+    public SpendingTotals historyAllCategories() {
+        return store.totals(userId, null, FIRST_DAY, LAST_DAY).orElseThrow();
+    }
+
+    @Benchmark
+    public SpendingTotals historyOneCategory() {
+        return store.totals(userId, categoryId, FIRST_DAY, LAST_DAY).orElseThrow();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TransactionColumnStoreBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.bztmrlan.financeassistant.controller;
+
+import com.github.bztmrlan.financeassistant.dto.SpendingTotals;
+import com.github.bztmrlan.financeassistant.security.CustomUserDetailsService;
+import com.github.bztmrlan.financeassistant.service.SpendingRollupService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionControllerTest {
+
+    @Mock
+    private SpendingRollupService spendingRollupService;
+
+    @Mock
+    private Authentication authentication;
+
+    @Mock
+    private CustomUserDetailsService.CustomUserDetails customUserDetails;
+
+    @InjectMocks
+    private TransactionController transactionController;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void testGetTransactionTotals_SumsTheRollupsOfTheRange() {
+        UUID categoryId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        SpendingTotals totals = new SpendingTotals(categoryId, new BigDecimal("120.00"), new BigDecimal("20.00"), 4L);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(customUserDetails);
+        when(customUserDetails.getUserId()).thenReturn(userId);
+        when(spendingRollupService.getTotals(userId, categoryId, from, to)).thenReturn(totals);
+
+        ResponseEntity<SpendingTotals> response =
+                transactionController.getTransactionTotals(authentication, from, to, categoryId);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(totals, response.getBody());
+    }
+
+    @Test
+    void testGetTransactionTotals_OpenRangeCoversAllDates() {
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(customUserDetails);
+        when(customUserDetails.getUserId()).thenReturn(userId);
+        when(spendingRollupService.getTotals(eq(userId), eq(null), any(), any())).thenReturn(SpendingTotals.empty(null));
+
+        transactionController.getTransactionTotals(authentication, null, null, null);
+
+        verify(spendingRollupService).getTotals(userId, null, LocalDate.of(1900, 1, 1), LocalDate.of(9999, 12, 31));
+    }
+
+    @Test
+    void testGetTransactionTotals_Unauthenticated() {
+        when(authentication.isAuthenticated()).thenReturn(false);
+
+        ResponseEntity<SpendingTotals> response =
+                transactionController.getTransactionTotals(authentication, null, null, null);
+
+        assertEquals(401, response.getStatusCode().value());
+        verifyNoInteractions(spendingRollupService);
+    }
+}
@@ -4,6 +4,7 @@ import com.github.bztmrlan.financeassistant.dto.ErrorResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -53,6 +54,18 @@ class GlobalExceptionHandlerTest {
         assertNotNull(errorResponse.getTraceId());
     }
 
+    @Test
+    void testHandleServiceBusyException() {
+        ServiceBusyException exception = new ServiceBusyException("The server is busy", 30);
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleServiceBusyException(exception, mockRequest);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("30", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNotNull(response.getBody());
+        assertEquals("SERVICE_BUSY", response.getBody().getErrorCode());
+    }
+
     @Test
     void testHandleResourceNotFoundException() {
         ResourceNotFoundException exception = new ResourceNotFoundException("Category", "123");
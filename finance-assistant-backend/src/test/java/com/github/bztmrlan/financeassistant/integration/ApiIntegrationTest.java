@@ -6,6 +6,7 @@ import com.github.bztmrlan.financeassistant.enums.BudgetStatus;
 import com.github.bztmrlan.financeassistant.enums.CategoryType;
 import com.github.bztmrlan.financeassistant.model.*;
 import com.github.bztmrlan.financeassistant.repository.*;
+import com.github.bztmrlan.financeassistant.security.CustomUserDetailsService;
 import com.github.bztmrlan.financeassistant.security.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,8 +16,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebM
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
@@ -24,6 +29,7 @@ import org.springframework.web.context.WebApplicationContext;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -90,6 +96,18 @@ class ApiIntegrationTest {
                 .content(objectMapper.writeValueAsString(authRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").exists());
+
+        authRequest.setPassword("wrong-password");
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(authRequest)))
+                .andExpect(status().isUnauthorized());
+
+        authRequest.setEmail("nobody@example.com");
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(authRequest)))
+                .andExpect(status().isUnauthorized());
     }
 
     @Test
@@ -107,12 +125,15 @@ class ApiIntegrationTest {
                 "Date,Amount,Type,Description,Category\n2024-01-15,150.00,purchase,API Test Transaction,Test Category".getBytes()
         );
 
-        mockMvc.perform(multipart("/api/transactions/upload")
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/transactions/upload")
                 .file(csvFile)
                 .param("currency", "USD")
                 .param("autoCategorize", "false")
                 .param("skipDuplicates", "false")
                 .param("dateFormat", "yyyy-MM-dd"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(uploadResult))
                 .andExpect(status().isUnauthorized()); // Expect 401 due to missing authentication
 
         // Test get all transactions - expect unauthorized
@@ -138,9 +159,12 @@ class ApiIntegrationTest {
         insightRequest.setQuestion("What are my spending patterns this month?");
         insightRequest.setTimePeriod("MONTHLY");
 
-        mockMvc.perform(post("/api/insights")
+        MvcResult insightResult = mockMvc.perform(post("/api/insights")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(insightRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(insightResult))
                 .andExpect(status().isInternalServerError());
 
         // Test get all insights - expect internal server error due to authentication not available
@@ -162,12 +186,15 @@ class ApiIntegrationTest {
                 "Invalid,Data,Format\nInvalid,Amount,Date".getBytes()
         );
 
-        mockMvc.perform(multipart("/api/transactions/upload")
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/transactions/upload")
                 .file(invalidFile)
                 .param("currency", "USD")
                 .param("autoCategorize", "false")
                 .param("skipDuplicates", "false")
                 .param("dateFormat", "yyyy-MM-dd"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(uploadResult))
                 .andExpect(status().isUnauthorized());
 
         // Test unauthorized access
@@ -209,6 +236,62 @@ class ApiIntegrationTest {
     }
 
     // Helper methods
+    @Test
+    @DisplayName("API Integration: Transaction listing is paged with a cursor and filtered")
+    void testTransactionListingPages() throws Exception {
+        User testUser = createTestUser();
+        Category testCategory = createTestCategory(testUser);
+        for (int day = 1; day <= 5; day++) {
+            transactionRepository.save(Transaction.builder()
+                    .user(testUser)
+                    .category(testCategory)
+                    .amount(new BigDecimal(day * 10))
+                    .description("Listed Transaction " + day)
+                    .date(LocalDate.of(2024, 3, day))
+                    .currency("USD")
+                    .createdAt(java.time.LocalDateTime.now())
+                    .build());
+        }
+        CustomUserDetailsService.CustomUserDetails userDetails = new CustomUserDetailsService.CustomUserDetails(
+                testUser.getId(), testUser.getEmail(), testUser.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority("USER")));
+        Authentication authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+
+        String cursor = mockMvc.perform(get("/api/transactions").param("limit", "3").principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].description").value("Listed Transaction 5"))
+                .andExpect(jsonPath("$[0].categoryName").value("Test Category"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/transactions").param("limit", "3").param("cursor", cursor).principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].description").value("Listed Transaction 2"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("minAmount", "20")
+                        .param("maxAmount", "40")
+                        .param("to", "2024-03-02")
+                        .param("q", "listed")
+                        .principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].description").value("Listed Transaction 2"));
+
+        mockMvc.perform(get("/api/transactions").param("cursor", "not-a-cursor").principal(authentication))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/transactions/export").param("format", "xml").principal(authentication))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/transactions/export").param("format", "ndjson").principal(authentication))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"));
+    }
+
     private User createTestUser() {
         User user = User.builder()
                 .name("API Test User")
@@ -0,0 +1,145 @@
+package com.github.bztmrlan.financeassistant.integration;
+
+import com.github.bztmrlan.financeassistant.model.User;
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import com.github.bztmrlan.financeassistant.security.CustomUserDetailsService;
+import com.github.bztmrlan.financeassistant.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.admin.emails=" + AuthenticationIntegrationTest.ADMIN_EMAIL)
+@ActiveProfiles("test")
+@Transactional
+class AuthenticationIntegrationTest {
+
+    static final String ADMIN_EMAIL = "admin-auth@example.com";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc mockMvc;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+        user = userRepository.save(User.builder()
+                .name("Auth User")
+                .email("auth-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @Test
+    @DisplayName("Auth: a token carrying the user id authenticates until the user signs out everywhere")
+    void testLogoutAllRevokesTokens() throws Exception {
+        String token = "Bearer " + jwtUtil.generateToken(new CustomUserDetailsService.CustomUserDetails(
+                user.getId(), user.getEmail(), user.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority("USER")), user.getTokenVersion()));
+
+        mockMvc.perform(get("/api/transactions").header("Authorization", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/auth/verify").header("Authorization", token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout-all").header("Authorization", token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/transactions").header("Authorization", token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/auth/verify").header("Authorization", token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Auth: tokens issued without the user id claim still authenticate by user lookup")
+    void testLegacyTokenStillAccepted() throws Exception {
+        UserDetails legacy = org.springframework.security.core.userdetails.User
+                .withUsername(user.getEmail())
+                .password(user.getPassword())
+                .authorities("USER")
+                .build();
+        String token = "Bearer " + jwtUtil.generateToken(legacy);
+
+        mockMvc.perform(get("/api/transactions").header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Auth: tokens issued without the user id claim are rejected once the user signs out everywhere")
+    void testLegacyTokenRevokedByLogoutAll() throws Exception {
+        UserDetails legacy = org.springframework.security.core.userdetails.User
+                .withUsername(user.getEmail())
+                .password(user.getPassword())
+                .authorities("USER")
+                .build();
+        String legacyToken = "Bearer " + jwtUtil.generateToken(legacy);
+
+        mockMvc.perform(post("/auth/logout-all").header("Authorization", bearerToken(user)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/transactions").header("Authorization", legacyToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Auth: a token of a user that no longer exists is rejected")
+    void testTokenOfUnknownUserRejected() throws Exception {
+        String token = "Bearer " + jwtUtil.generateToken(new CustomUserDetailsService.CustomUserDetails(
+                UUID.randomUUID(), "gone@example.com", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("USER")), 0));
+
+        mockMvc.perform(get("/api/transactions").header("Authorization", token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Auth: admin endpoints need an account listed in app.admin.emails")
+    void testAdminEndpointsRequireAdmin() throws Exception {
+        User admin = userRepository.save(User.builder()
+                .name("Admin User")
+                .email(ADMIN_EMAIL)
+                .password("password")
+                .createdAt(Instant.now())
+                .build());
+
+        mockMvc.perform(get("/api/admin/evaluation-runs").header("Authorization", bearerToken(user)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/evaluation-runs").header("Authorization", bearerToken(admin)))
+                .andExpect(status().isOk());
+    }
+
+    private String bearerToken(User tokenUser) {
+        return "Bearer " + jwtUtil.generateToken(new CustomUserDetailsService.CustomUserDetails(
+                tokenUser.getId(), tokenUser.getEmail(), tokenUser.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority("USER")), tokenUser.getTokenVersion()));
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.bztmrlan.financeassistant.integration;
+
+import com.github.bztmrlan.financeassistant.enums.EvaluationRunStatus;
+import com.github.bztmrlan.financeassistant.model.EvaluationFailure;
+import com.github.bztmrlan.financeassistant.model.EvaluationRun;
+import com.github.bztmrlan.financeassistant.model.JobLease;
+import com.github.bztmrlan.financeassistant.repository.EvaluationFailureRepository;
+import com.github.bztmrlan.financeassistant.repository.EvaluationRunRepository;
+import com.github.bztmrlan.financeassistant.repository.JobLeaseRepository;
+import com.github.bztmrlan.financeassistant.service.EvaluationRunService;
+import com.github.bztmrlan.financeassistant.service.UserIdRange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EvaluationRunIntegrationTest {
+
+    @Autowired
+    private EvaluationRunService evaluationRunService;
+
+    @Autowired
+    private EvaluationRunRepository evaluationRunRepository;
+
+    @Autowired
+    private EvaluationFailureRepository evaluationFailureRepository;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @AfterEach
+    void tearDown() {
+        jobLeaseRepository.deleteAll();
+        evaluationFailureRepository.deleteAll();
+        evaluationRunRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Evaluation runs: an interrupted run resumes after its checkpoint")
+    void testInterruptedRunResumesFromCheckpoint() {
+        String job = "test-resume-" + UUID.randomUUID();
+        LocalDate runDate = LocalDate.now();
+        List<UUID> userIds = userIds(10);
+        evaluationRunRepository.save(EvaluationRun.builder()
+                .jobName(job)
+                .runKey(job + ":" + runDate)
+                .runDate(runDate)
+                .status(EvaluationRunStatus.RUNNING)
+                .startedAt(Instant.now().minusSeconds(60))
+                .usersProcessed(5)
+                .build());
+        jobLeaseRepository.save(JobLease.builder()
+                .jobName(job)
+                .shard(0)
+                .runKey(job + ":" + runDate)
+                .owner("restarted-node")
+                .leaseUntil(Instant.now().minusSeconds(1))
+                .checkpoint(userIds.get(4))
+                .build());
+        Set<UUID> evaluated = ConcurrentHashMap.newKeySet();
+
+        assertThat(evaluationRunService.isUnfinished(job, runDate)).isTrue();
+        EvaluationRun run = evaluationRunService.run(job, runDate, 1, userIds.size(), pagesOf(userIds), evaluated::add);
+
+        assertThat(evaluated).containsExactlyInAnyOrderElementsOf(userIds.subList(5, 10));
+        assertThat(run.getStatus()).isEqualTo(EvaluationRunStatus.COMPLETED);
+        assertThat(run.getUsersProcessed()).isEqualTo(10);
+        assertThat(run.getFinishedAt()).isNotNull();
+        assertThat(evaluationRunService.isUnfinished(job, runDate)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Evaluation runs: failed users are retried and kept queued while they keep failing")
+    void testFailedUsersAreRetried() {
+        String job = "test-retry-" + UUID.randomUUID();
+        LocalDate runDate = LocalDate.now();
+        List<UUID> userIds = userIds(6);
+        UUID flakyUser = userIds.get(2);
+        UUID brokenUser = userIds.get(3);
+        Set<UUID> failedOnce = ConcurrentHashMap.newKeySet();
+
+        EvaluationRun run = evaluationRunService.run(job, runDate, 1, userIds.size(), pagesOf(userIds), userId -> {
+            if (userId.equals(brokenUser) || (userId.equals(flakyUser) && failedOnce.add(userId))) {
+                throw new IllegalStateException("evaluation failed");
+            }
+        });
+
+        assertThat(run.getStatus()).isEqualTo(EvaluationRunStatus.COMPLETED);
+        assertThat(run.getUsersProcessed()).isEqualTo(6);
+        assertThat(run.getUsersFailed()).isEqualTo(2);
+        List<EvaluationFailure> queued = evaluationFailureRepository.findAll();
+        assertThat(queued).hasSize(1);
+        assertThat(queued.get(0).getUserId()).isEqualTo(brokenUser);
+        assertThat(queued.get(0).getAttempts()).isEqualTo(2);
+        assertThat(queued.get(0).getLastError()).isEqualTo("evaluation failed");
+        assertThat(evaluationRunService.recentRuns(10)).extracting(EvaluationRun::getJobName).contains(job);
+    }
+
+    private static List<UUID> userIds(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(i -> new UUID(0L, i)).toList();
+    }
+
+    private static EvaluationRunService.RangePages pagesOf(List<UUID> userIds) {
+        return (UserIdRange range, UUID after, int size) -> userIds.stream()
+                .filter(range::contains)
+                .filter(userId -> after == null || userId.compareTo(after) > 0)
+                .limit(size)
+                .toList();
+    }
+}
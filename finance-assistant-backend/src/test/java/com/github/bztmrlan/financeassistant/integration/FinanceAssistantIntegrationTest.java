@@ -21,6 +21,7 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
@@ -345,12 +346,15 @@ class FinanceAssistantIntegrationTest {
                 "Invalid,Data,Format\nInvalid,Amount,Date".getBytes()
         );
 
-        mockMvc.perform(multipart("/api/transactions/upload")
+        MvcResult uploadResult = mockMvc.perform(multipart("/api/transactions/upload")
                 .file(invalidFile)
                 .param("currency", "USD")
                 .param("autoCategorize", "false")
                 .param("skipDuplicates", "false")
                 .param("dateFormat", "yyyy-MM-dd"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(uploadResult))
                 .andExpect(status().isUnauthorized()); // Expect 401 due to missing authentication
 
         // Test invalid budget creation
@@ -0,0 +1,91 @@
+package com.github.bztmrlan.financeassistant.integration;
+
+import com.github.bztmrlan.financeassistant.model.User;
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import com.github.bztmrlan.financeassistant.security.CustomUserDetailsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.goal-progress.capacity=2",
+        "app.rate-limit.goal-progress.refill-seconds=60"
+})
+@ActiveProfiles("test")
+@Transactional
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private MockMvc mockMvc;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        User user = userRepository.save(User.builder()
+                .name("Limited User")
+                .email("limited-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(Instant.now())
+                .build());
+        CustomUserDetailsService.CustomUserDetails userDetails = new CustomUserDetailsService.CustomUserDetails(
+                user.getId(), user.getEmail(), user.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority("USER")));
+        authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Rate limit: requests beyond the bucket get 429 with Retry-After, other endpoints are unaffected")
+    void testGoalProgressIsRateLimited() throws Exception {
+        mockMvc.perform(post("/api/goals/calculate-progress").principal(authentication))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/goals/evaluate").principal(authentication))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/goals/calculate-progress").principal(authentication))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "60"))
+                .andExpect(jsonPath("$.errorCode").value("RATE_LIMITED"));
+
+        mockMvc.perform(get("/api/goals").principal(authentication))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Rate limit: a second rollup rebuild within the refill window gets 429")
+    void testRollupRebuildIsRateLimited() throws Exception {
+        mockMvc.perform(post("/api/transactions/rollups/rebuild").principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rebuiltRows").value(0));
+
+        mockMvc.perform(post("/api/transactions/rollups/rebuild").principal(authentication))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "300"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.bztmrlan.financeassistant.integration;
+
+import com.github.bztmrlan.financeassistant.config.ReplicaRoutingDataSource;
+import com.github.bztmrlan.financeassistant.dto.TransactionFilter;
+import com.github.bztmrlan.financeassistant.repository.GoalRepository;
+import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
+import com.github.bztmrlan.financeassistant.service.GoalManagementService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against two in-memory databases, the test profile's primary and a replica that only this test
+ * writes to, so a row's presence shows which database a read went to.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.read-replicas.enabled=true",
+        "app.datasource.read-replicas.urls=jdbc:h2:mem:replica-${random.uuid};DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.datasource.read-replicas.max-lag-seconds=5",
+        "app.datasource.read-replicas.lag-check-interval-ms=3600000",
+        "app.datasource.read-replicas.lag-query=SELECT COALESCE(MAX(lag_seconds), 0) FROM replica_lag"
+})
+@ActiveProfiles("test")
+class ReadReplicaIntegrationTest {
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private GoalManagementService goalManagementService;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replica;
+    private UUID userId;
+    private UUID goalId;
+
+    @BeforeEach
+    void setUp() {
+        DataSource replicaDataSource = (DataSource) routingDataSource.getResolvedDataSources().get("replica-0");
+        Flyway.configure().dataSource(replicaDataSource).locations("classpath:db/migration/common").load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds DOUBLE PRECISION)");
+        replica.update("DELETE FROM replica_lag");
+
+        userId = UUID.randomUUID();
+        goalId = UUID.randomUUID();
+        replica.update("INSERT INTO users (user_id, name, email, password) VALUES (?, 'Replica', ?, 'x')",
+                userId, userId + "@example.com");
+        replica.update("INSERT INTO goals (goal_id, user_id, name, target_amount, current_amount, currency, " +
+                "target_date, completed) VALUES (?, ?, 'Holiday', 1000, 0, 'USD', ?, FALSE)",
+                goalId, userId, LocalDate.now().plusMonths(6));
+        replica.update("INSERT INTO transactions (transaction_id, user_id, date, amount, currency, description) " +
+                "VALUES (?, ?, ?, -12.50, 'USD', 'Coffee')", UUID.randomUUID(), userId, LocalDate.now());
+
+        routingDataSource.checkReplicaLag();
+    }
+
+    @Test
+    @DisplayName("Read-only service transactions are served by a replica")
+    void testReadOnlyServiceReadsReplica() {
+        double before = routeCount("replica-0");
+
+        assertTrue(goalManagementService.getGoalById(goalId, userId).isPresent());
+        assertEquals(1, transactionRepository.findPage(userId, new TransactionFilter(), null, 10).size());
+
+        assertEquals(before + 2, routeCount("replica-0"));
+    }
+
+    @Test
+    @DisplayName("Writes and single repository calls go to the primary")
+    void testReadWriteAndRepositoryCallsUsePrimary() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        assertTrue(goalRepository.findById(goalId).isEmpty());
+        assertEquals(Boolean.FALSE, readWrite.execute(status -> goalRepository.existsById(goalId)));
+    }
+
+    @Test
+    @DisplayName("Reads fall back to the primary while the replica lags")
+    void testLaggingReplicaFallsBackToPrimary() {
+        replica.update("INSERT INTO replica_lag (lag_seconds) VALUES (60)");
+        routingDataSource.checkReplicaLag();
+        double fallbacks = meterRegistry.counter("datasource.replica.fallback").count();
+
+        assertFalse(routingDataSource.isAvailable("replica-0"));
+        assertTrue(goalManagementService.getGoalById(goalId, userId).isEmpty());
+        assertEquals(fallbacks + 1, meterRegistry.counter("datasource.replica.fallback").count());
+
+        replica.update("DELETE FROM replica_lag");
+        routingDataSource.checkReplicaLag();
+
+        assertTrue(routingDataSource.isAvailable("replica-0"));
+        assertTrue(goalManagementService.getGoalById(goalId, userId).isPresent());
+    }
+
+    private double routeCount(String route) {
+        return meterRegistry.counter("datasource.route", "route", route).count();
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.bztmrlan.financeassistant.integration;
+
+import com.github.bztmrlan.financeassistant.enums.BudgetStatus;
+import com.github.bztmrlan.financeassistant.enums.CategoryType;
+import com.github.bztmrlan.financeassistant.model.Budget;
+import com.github.bztmrlan.financeassistant.model.BudgetCategory;
+import com.github.bztmrlan.financeassistant.model.Category;
+import com.github.bztmrlan.financeassistant.model.User;
+import com.github.bztmrlan.financeassistant.repository.BudgetRepository;
+import com.github.bztmrlan.financeassistant.repository.CategoryRepository;
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import com.github.bztmrlan.financeassistant.service.BudgetManagementService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each step in its own committed transaction, as the second-level cache is only filled and
+ * invalidated on commit.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetManagementService budgetManagementService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(User.builder()
+                .name("Cache User")
+                .email("cache-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @Test
+    @DisplayName("Category lookups by name are answered from the cache without querying the database")
+    void testCategoryLookupIsCached() {
+        createCategory("Groceries");
+        findCategory("Groceries");
+        long queryHits = statistics.getQueryCacheHitCount();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(findCategory("Groceries")).isNotNull();
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(queryHits + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", "categories", "result", "hit").functionCounter()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Renaming a category invalidates the cached lookups")
+    void testCategoryUpdateInvalidatesLookups() {
+        Category category = createCategory("Dining");
+        findCategory("Dining");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Category existing = categoryRepository.findByIdAndUserId(category.getId(), user.getId()).orElseThrow();
+            existing.setName("Restaurants");
+            categoryRepository.save(existing);
+        });
+
+        assertThat(findCategory("Dining")).isNull();
+        assertThat(findCategory("Restaurants").getId()).isEqualTo(category.getId());
+    }
+
+    @Test
+    @DisplayName("Removing a budget limit evicts it from the budget's cached limits")
+    void testBudgetLimitDeletionInvalidatesCollection() {
+        Category groceries = createCategory("Groceries");
+        Category transport = createCategory("Transport");
+        Budget budget = transactionTemplate.execute(status -> budgetManagementService.createBudget(
+                Budget.builder()
+                        .user(user)
+                        .name("Monthly")
+                        .startDate(LocalDate.now().withDayOfMonth(1))
+                        .endDate(LocalDate.now().withDayOfMonth(1).plusMonths(1).minusDays(1))
+                        .status(BudgetStatus.ACTIVE)
+                        .build(),
+                List.of(limit(groceries), limit(transport))));
+        assertThat(limitCategories(budget.getId())).containsExactlyInAnyOrder("Groceries", "Transport");
+
+        budgetManagementService.deleteCategoryLimit(budget.getId(), transport.getId());
+
+        assertThat(limitCategories(budget.getId())).containsExactly("Groceries");
+    }
+
+    private Category createCategory(String name) {
+        return categoryRepository.save(Category.builder()
+                .name(name)
+                .type(CategoryType.EXPENSE)
+                .user(user)
+                .build());
+    }
+
+    private Category findCategory(String name) {
+        return transactionTemplate.execute(status ->
+                categoryRepository.findByNameAndUserId(name, user.getId()).orElse(null));
+    }
+
+    private List<String> limitCategories(UUID budgetId) {
+        return transactionTemplate.execute(status -> budgetRepository.findById(budgetId).orElseThrow()
+                .getCategories().stream()
+                .map(limit -> limit.getCategory().getName())
+                .toList());
+    }
+
+    private BudgetCategory limit(Category category) {
+        return BudgetCategory.builder()
+                .category(category)
+                .limitAmount(new BigDecimal("300.00"))
+                .spentAmount(BigDecimal.ZERO)
+                .build();
+    }
+}
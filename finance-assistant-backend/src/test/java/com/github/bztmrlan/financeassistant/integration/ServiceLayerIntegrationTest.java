@@ -1,11 +1,14 @@
 package com.github.bztmrlan.financeassistant.integration;
 
+import com.github.bztmrlan.financeassistant.dto.GoalRequest;
+import com.github.bztmrlan.financeassistant.dto.GoalResponse;
 import com.github.bztmrlan.financeassistant.enums.BudgetStatus;
 import com.github.bztmrlan.financeassistant.enums.CategoryType;
 import com.github.bztmrlan.financeassistant.enums.CondititonType;
 import com.github.bztmrlan.financeassistant.model.*;
 import com.github.bztmrlan.financeassistant.repository.*;
 import com.github.bztmrlan.financeassistant.service.*;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -43,6 +46,12 @@ class ServiceLayerIntegrationTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private GoalBatchEvaluationService goalBatchEvaluationService;
+
     @Autowired
     private GoalRepository goalRepository;
 
@@ -191,6 +200,84 @@ class ServiceLayerIntegrationTest {
         assertThat(updatedGoal.isCompleted()).isFalse(); // Not yet completed
     }
 
+    @Test
+    @DisplayName("Service Integration: Stored transactions update goal progress without recalculation")
+    void testGoalProgressFollowsStoredTransactions() throws Exception {
+        User testUser = createTestUser();
+        Category savingsCategory = createCategory("Savings", CategoryType.EXPENSE, testUser);
+        Category otherCategory = createCategory("Other", CategoryType.EXPENSE, testUser);
+        createTransactionWithDate(savingsCategory, new BigDecimal("200.00"), "Earlier savings", LocalDate.now().minusDays(10), testUser);
+
+        GoalRequest request = new GoalRequest();
+        request.setName("Emergency Fund");
+        request.setTargetAmount(new BigDecimal("1000.00"));
+        request.setTargetDate(LocalDate.now().plusMonths(6));
+        request.setCategoryId(savingsCategory.getId());
+        GoalResponse created = goalManagementService.createGoal(testUser.getId(), request);
+        assertThat(created.getCurrentAmount()).isEqualByComparingTo("200.00");
+
+        createTransactionWithDate(savingsCategory, new BigDecimal("300.00"), "Savings contribution", LocalDate.now(), testUser);
+        createTransactionWithDate(savingsCategory, new BigDecimal("-50.00"), "Withdrawal", LocalDate.now(), testUser);
+        createTransactionWithDate(otherCategory, new BigDecimal("400.00"), "Unrelated income", LocalDate.now(), testUser);
+        transactionRepository.flush();
+        entityManager.clear();
+
+        List<GoalResponse> goals = goalManagementService.getUserGoals(testUser.getId());
+        assertThat(goals).hasSize(1);
+        assertThat(goals.get(0).getCurrentAmount()).isEqualByComparingTo("500.00");
+
+        goalManagementService.calculateGoalProgressFromTransactions(testUser.getId());
+        assertThat(goalRepository.findById(created.getId()).orElseThrow().getCurrentAmount()).isEqualByComparingTo("500.00");
+    }
+
+    @Test
+    @DisplayName("Service Integration: Batch goal evaluation completes, warns and reconciles goals once")
+    void testBatchGoalEvaluation() throws Exception {
+        User testUser = createTestUser();
+        Category savingsCategory = createCategory("Savings", CategoryType.EXPENSE, testUser);
+        LocalDate today = LocalDate.now();
+        createTransactionWithDate(savingsCategory, new BigDecimal("600.00"), "Savings", today, testUser);
+        createTransactionWithDate(savingsCategory, new BigDecimal("-100.00"), "Withdrawal", today, testUser);
+
+        Goal reachedGoal = goalRepository.save(Goal.builder()
+                .user(testUser)
+                .category(savingsCategory)
+                .name("Reached Goal")
+                .targetAmount(new BigDecimal("500.00"))
+                .currentAmount(BigDecimal.ZERO)
+                .targetDate(today.plusMonths(3))
+                .currency("USD")
+                .build());
+        Goal riskyGoal = goalRepository.save(Goal.builder()
+                .user(testUser)
+                .name("Risky Goal")
+                .targetAmount(new BigDecimal("10000.00"))
+                .currentAmount(BigDecimal.ZERO)
+                .targetDate(today.plusDays(10))
+                .currency("USD")
+                .build());
+
+        GoalBatchEvaluationService.Result first = goalBatchEvaluationService.evaluate(List.of(testUser.getId()), today);
+        entityManager.flush();
+        entityManager.clear();
+        GoalBatchEvaluationService.Result second = goalBatchEvaluationService.evaluate(List.of(testUser.getId()), today);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(first).isEqualTo(new GoalBatchEvaluationService.Result(2, 2, 1, 1));
+        assertThat(second).isEqualTo(new GoalBatchEvaluationService.Result(1, 0, 0, 1));
+        Goal reached = goalRepository.findById(reachedGoal.getId()).orElseThrow();
+        assertThat(reached.isCompleted()).isTrue();
+        assertThat(reached.getCurrentAmount()).isEqualByComparingTo("600.00");
+        Goal risky = goalRepository.findById(riskyGoal.getId()).orElseThrow();
+        assertThat(risky.getCurrentAmount()).isEqualByComparingTo("600.00");
+        assertThat(risky.getProgressFrom()).isEqualTo(today.minusYears(1));
+        List<Alert> alerts = alertRepository.findByUserId(testUser.getId());
+        assertThat(alerts).hasSize(2);
+        assertThat(alerts).extracting(Alert::getSourceId)
+                .containsExactlyInAnyOrder(reachedGoal.getId(), riskyGoal.getId());
+    }
+
     @Test
     @DisplayName("Service Integration: Rule engine evaluation and alert generation")
     void testRuleEngineEvaluationAndAlertGeneration() throws Exception {
@@ -223,6 +310,97 @@ class ServiceLayerIntegrationTest {
         assertThat(alerts.get(0).getSourceId()).isEqualTo(savedRule.getId());
     }
 
+    @Test
+    @DisplayName("Service Integration: Re-evaluating rules keeps one alert per rule window")
+    void testRuleReEvaluationDoesNotDuplicateAlerts() throws Exception {
+        User testUser = createTestUser();
+        Category testCategory = createTestCategory(testUser);
+
+        ruleRepository.save(Rule.builder()
+                .user(testUser)
+                .name("High Spending Alert")
+                .conditionType(CondititonType.GREATER_THAN)
+                .threshold(new BigDecimal("100.00"))
+                .period(com.github.bztmrlan.financeassistant.enums.TimePeriod.DAILY)
+                .category(testCategory)
+                .active(true)
+                .build());
+        createTransactionWithDate(testCategory, new BigDecimal("150.00"), "High spending transaction", LocalDate.now(), testUser);
+
+        ruleEngineService.evaluateRulesForUser(testUser.getId());
+        ruleEngineService.evaluateRulesForUser(testUser.getId());
+
+        List<Alert> alerts = alertRepository.findByUserId(testUser.getId());
+        assertThat(alerts).hasSize(1);
+        assertThat(alerts.get(0).getWindowStart()).isEqualTo(LocalDate.now());
+        assertThat(alerts.get(0).getMessage()).contains("150.00");
+
+        createTransactionWithDate(testCategory, new BigDecimal("20.00"), "Another transaction", LocalDate.now(), testUser);
+        ruleEngineService.evaluateRulesForUser(testUser.getId());
+
+        alerts = alertRepository.findByUserId(testUser.getId());
+        assertThat(alerts).hasSize(1);
+        assertThat(alerts.get(0).getMessage()).contains("170.00");
+    }
+
+    @Test
+    @DisplayName("Service Integration: Closed rule windows are evaluated once")
+    void testClosedWindowEvaluationIsIdempotent() throws Exception {
+        User testUser = createTestUser();
+        Category testCategory = createTestCategory(testUser);
+        LocalDate today = LocalDate.now();
+
+        Rule dailyRule = ruleRepository.save(Rule.builder()
+                .user(testUser)
+                .name("Daily Spending Alert")
+                .conditionType(CondititonType.GREATER_THAN)
+                .threshold(new BigDecimal("100.00"))
+                .period(com.github.bztmrlan.financeassistant.enums.TimePeriod.DAILY)
+                .category(testCategory)
+                .active(true)
+                .build());
+        createTransactionWithDate(testCategory, new BigDecimal("150.00"), "Yesterday's spending", today.minusDays(1), testUser);
+
+        int evaluated = ruleEngineService.evaluateClosedWindows(testUser.getId(),
+                com.github.bztmrlan.financeassistant.enums.TimePeriod.DAILY, today, 3);
+        int reEvaluated = ruleEngineService.evaluateClosedWindows(testUser.getId(),
+                com.github.bztmrlan.financeassistant.enums.TimePeriod.DAILY, today, 3);
+
+        assertThat(evaluated).isEqualTo(1);
+        assertThat(reEvaluated).isZero();
+        assertThat(ruleRepository.findById(dailyRule.getId()).orElseThrow().getLastEvaluatedWindow())
+                .isEqualTo(today.minusDays(1));
+        List<Alert> alerts = alertRepository.findByUserId(testUser.getId());
+        assertThat(alerts).hasSize(1);
+        assertThat(alerts.get(0).getWindowStart()).isEqualTo(today.minusDays(1));
+    }
+
+    @Test
+    @DisplayName("Service Integration: Uploaded transactions raise rule alerts on ingest")
+    void testUploadRaisesRuleAlertsOnIngest() throws Exception {
+        User testUser = createTestUser();
+        Category groceriesCategory = createCategory("Groceries", CategoryType.EXPENSE, testUser);
+
+        Rule groceryRule = ruleRepository.save(Rule.builder()
+                .user(testUser)
+                .name("Grocery Spending Alert")
+                .conditionType(CondititonType.GREATER_THAN)
+                .threshold(new BigDecimal("100.00"))
+                .period(com.github.bztmrlan.financeassistant.enums.TimePeriod.DAILY)
+                .category(groceriesCategory)
+                .active(true)
+                .build());
+
+        String csvContent = "Date,Amount,Type,Description,Category\n" + LocalDate.now() + ",150.00,purchase,Grocery Shopping,Groceries";
+        MockMultipartFile csvFile = new MockMultipartFile("file", "transactions.csv", "text/csv", csvContent.getBytes());
+
+        transactionUploadService.uploadTransactions(csvFile, testUser, "USD", false, false, "yyyy-MM-dd");
+
+        List<Alert> alerts = alertRepository.findByUserId(testUser.getId());
+        assertThat(alerts).hasSize(1);
+        assertThat(alerts.get(0).getSourceId()).isEqualTo(groceryRule.getId());
+    }
+
     @Test
     @DisplayName("Service Integration: Insight generation from transaction data")
     void testInsightGenerationFromTransactionData() throws Exception {
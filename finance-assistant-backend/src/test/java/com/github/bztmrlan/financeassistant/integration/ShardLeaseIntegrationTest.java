@@ -0,0 +1,200 @@
+package com.github.bztmrlan.financeassistant.integration;
+
+import com.github.bztmrlan.financeassistant.model.JobLease;
+import com.github.bztmrlan.financeassistant.model.User;
+import com.github.bztmrlan.financeassistant.repository.JobLeaseRepository;
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import com.github.bztmrlan.financeassistant.service.ShardLeaseService;
+import com.github.bztmrlan.financeassistant.service.UserIdRange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several scheduler nodes in one JVM sharing the job_leases table.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ShardLeaseIntegrationTest {
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<ShardLeaseService> nodes = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ShardLeaseService::shutdown);
+        jobLeaseRepository.deleteAll();
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    @DisplayName("Leases: concurrent nodes process every shard exactly once")
+    void testNodesSplitShards() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            users.add(userRepository.save(User.builder()
+                    .name("Shard User " + i)
+                    .email("shard-" + UUID.randomUUID() + "@example.com")
+                    .password("password")
+                    .createdAt(Instant.now())
+                    .build()));
+        }
+        String job = "test-split-" + UUID.randomUUID();
+        Map<Integer, String> processedBy = new ConcurrentHashMap<>();
+        Map<UUID, Integer> userShards = new ConcurrentHashMap<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (String nodeId : List.of("node-a", "node-b", "node-c")) {
+            ShardLeaseService node = node(nodeId, 2);
+            results.add(pool.submit(() -> node.runSharded(job, job + ":run-1", 8, shard -> {
+                assertThat(processedBy.putIfAbsent(shard.shard(), nodeId)).isNull();
+                UserIdRange range = shard.range();
+                for (UUID userId : userRepository.findIdsInRange(range.first(), range.last(), PageRequest.of(0, 1000))) {
+                    assertThat(userShards.putIfAbsent(userId, shard.shard())).isNull();
+                }
+            })));
+        }
+        int completed = 0;
+        for (Future<Integer> result : results) {
+            completed += result.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(completed).isEqualTo(8);
+        assertThat(processedBy).hasSize(8);
+        assertThat(userShards.keySet()).containsAll(users.stream().map(User::getId).toList());
+        assertThat(jobLeaseRepository.findByJobNameOrderByShard(job)).allMatch(JobLease::isCompleted);
+    }
+
+    @Test
+    @DisplayName("Leases: a completed run is not repeated, the next run is")
+    void testCompletedRunIsSkipped() {
+        String job = "test-rerun-" + UUID.randomUUID();
+        ShardLeaseService node = node("node-a", 2);
+        List<Integer> processed = new ArrayList<>();
+
+        node.runSharded(job, job + ":run-1", 4, shard -> processed.add(shard.shard()));
+        node.runSharded(job, job + ":run-1", 4, shard -> processed.add(shard.shard()));
+        assertThat(processed).hasSize(4);
+
+        node.runSharded(job, job + ":run-2", 4, shard -> processed.add(shard.shard()));
+        assertThat(processed).hasSize(8);
+    }
+
+    @Test
+    @DisplayName("Leases: shards of a dead node are taken over once its lease expires")
+    void testTakeOverExpiredLease() {
+        String job = "test-takeover-" + UUID.randomUUID();
+        String runKey = job + ":run-1";
+        jobLeaseRepository.save(JobLease.builder()
+                .jobName(job)
+                .shard(0)
+                .runKey(runKey)
+                .owner("dead-node")
+                .leaseUntil(Instant.now().plusSeconds(1))
+                .build());
+        ShardLeaseService node = node("node-a", 1);
+        List<Integer> processed = new ArrayList<>();
+
+        int completed = node.runSharded(job, runKey, 2, shard -> processed.add(shard.shard()));
+
+        assertThat(completed).isEqualTo(2);
+        assertThat(processed).containsExactly(1, 0);
+        assertThat(jobLeaseRepository.findByJobNameOrderByShard(job))
+                .allMatch(lease -> lease.isCompleted() && "node-a".equals(lease.getOwner()));
+    }
+
+    @Test
+    @DisplayName("Leases: a shard taken over within the same run resumes from its checkpoint")
+    void testTakeOverResumesFromCheckpoint() {
+        String job = "test-checkpoint-" + UUID.randomUUID();
+        UUID checkpoint = UUID.randomUUID();
+        jobLeaseRepository.save(JobLease.builder()
+                .jobName(job)
+                .shard(0)
+                .runKey(job + ":run-1")
+                .owner("dead-node")
+                .leaseUntil(Instant.now().minusSeconds(1))
+                .checkpoint(checkpoint)
+                .build());
+        ShardLeaseService node = node("node-a", 2);
+        List<UUID> resumedAfter = new ArrayList<>();
+
+        node.runSharded(job, job + ":run-1", 1, shard -> {
+            resumedAfter.add(shard.resumeAfter());
+            shard.checkpoint(new UUID(0L, 42L));
+        });
+        node.runSharded(job, job + ":run-2", 1, shard -> resumedAfter.add(shard.resumeAfter()));
+
+        assertThat(resumedAfter).containsExactly(checkpoint, null);
+        assertThat(node.isRunCompleted(job, job + ":run-2", 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Leases: a failing shard is released for other nodes")
+    void testFailedShardIsReleased() {
+        String job = "test-failure-" + UUID.randomUUID();
+        ShardLeaseService failing = node("node-a", 2);
+        ShardLeaseService healthy = node("node-b", 2);
+
+        int failedNodeCompleted = failing.runSharded(job, job + ":run-1", 1, shard -> {
+            throw new IllegalStateException("shard failed");
+        });
+        int healthyNodeCompleted = healthy.runSharded(job, job + ":run-1", 1, shard -> { });
+
+        assertThat(failedNodeCompleted).isZero();
+        assertThat(healthyNodeCompleted).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Leases: user-id shards cover the id space without gaps")
+    void testUserIdRangesAreContiguous() {
+        int shards = 7;
+        for (int shard = 0; shard < shards; shard++) {
+            UserIdRange range = UserIdRange.shard(shard, shards);
+            if (shard == 0) {
+                assertThat(range.first()).isEqualTo(new UUID(0L, 0L));
+            } else {
+                UserIdRange previous = UserIdRange.shard(shard - 1, shards);
+                assertThat(range.first().getMostSignificantBits())
+                        .isEqualTo(previous.last().getMostSignificantBits() + 1);
+            }
+        }
+        assertThat(UserIdRange.shard(shards - 1, shards).last()).isEqualTo(new UUID(-1L, -1L));
+        UUID userId = UUID.randomUUID();
+        long containing = IntStream.range(0, shards)
+                .filter(shard -> UserIdRange.shard(shard, shards).contains(userId))
+                .count();
+        assertThat(containing).isEqualTo(1);
+    }
+
+    private ShardLeaseService node(String nodeId, long leaseSeconds) {
+        ShardLeaseService node = new ShardLeaseService(jobLeaseRepository, nodeId, 4, leaseSeconds);
+        nodes.add(node);
+        return node;
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.bztmrlan.financeassistant.integration;
+
+import com.github.bztmrlan.financeassistant.dto.SpendingTotals;
+import com.github.bztmrlan.financeassistant.enums.CategoryType;
+import com.github.bztmrlan.financeassistant.model.Category;
+import com.github.bztmrlan.financeassistant.model.Transaction;
+import com.github.bztmrlan.financeassistant.model.User;
+import com.github.bztmrlan.financeassistant.repository.CategoryRepository;
+import com.github.bztmrlan.financeassistant.repository.DailyCategoryTotalRepository;
+import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import com.github.bztmrlan.financeassistant.service.SpendingRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SpendingRollupIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DailyCategoryTotalRepository dailyCategoryTotalRepository;
+
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+
+    private User user;
+    private Category groceries;
+    private Category salary;
+    private final LocalDate day = LocalDate.of(2024, 3, 10);
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Rollup User")
+                .email("rollup-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(Instant.now())
+                .build());
+        groceries = createCategory("Groceries", CategoryType.EXPENSE);
+        salary = createCategory("Salary", CategoryType.INCOME);
+    }
+
+    @Test
+    @DisplayName("Rollup: inserts are added to the day's totals")
+    void testInsertsMaintainRollup() {
+        createTransaction(groceries, "-40.00", day);
+        createTransaction(groceries, "-10.50", day);
+        createTransaction(salary, "2500.00", day.plusDays(1));
+
+        SpendingTotals groceryTotals = spendingRollupService.getTotals(user.getId(), groceries.getId(), day, day);
+        assertThat(groceryTotals.getDebitSum()).isEqualByComparingTo("50.50");
+        assertThat(groceryTotals.getCreditSum()).isEqualByComparingTo("0");
+        assertThat(groceryTotals.getCount()).isEqualTo(2);
+        assertThat(groceryTotals.getNet()).isEqualByComparingTo("-50.50");
+
+        SpendingTotals allTotals = spendingRollupService.getTotals(user.getId(), null, day, day.plusDays(1));
+        assertThat(allTotals.getNet()).isEqualByComparingTo("2449.50");
+        assertThat(allTotals.getCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Rollup: category changes and deletes move the amounts")
+    void testUpdatesAndDeletesMaintainRollup() {
+        Transaction transaction = createTransaction(groceries, "-25.00", day);
+        createTransaction(null, "-5.00", day);
+
+        transaction.setCategory(salary);
+        transactionRepository.saveAndFlush(transaction);
+
+        assertThat(spendingRollupService.getTotals(user.getId(), groceries.getId(), day, day).getCount()).isZero();
+        assertThat(spendingRollupService.getTotals(user.getId(), salary.getId(), day, day).getDebitSum())
+                .isEqualByComparingTo("25.00");
+
+        transactionRepository.delete(transaction);
+        transactionRepository.flush();
+
+        SpendingTotals allTotals = spendingRollupService.getTotals(user.getId(), null, day, day);
+        assertThat(allTotals.getDebitSum()).isEqualByComparingTo("5.00");
+        assertThat(allTotals.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Rollup: repeated writes upsert a single row per category and day, including uncategorized")
+    void testApplyTransactionUpsertsOneRowPerKey() {
+        spendingRollupService.applyTransaction(user.getId(), groceries.getId(), day, new BigDecimal("-10.00"), 1);
+        spendingRollupService.applyTransaction(user.getId(), groceries.getId(), day, new BigDecimal("-5.00"), 1);
+        spendingRollupService.applyTransaction(user.getId(), null, day, new BigDecimal("3.00"), 1);
+        spendingRollupService.applyTransaction(user.getId(), null, day, new BigDecimal("4.00"), 1);
+        spendingRollupService.applyTransaction(user.getId(), null, day, new BigDecimal("3.00"), -1);
+
+        assertThat(dailyCategoryTotalRepository.findByUserIdAndDayBetween(user.getId(), day, day)).hasSize(2);
+        SpendingTotals groceryTotals = spendingRollupService.getTotals(user.getId(), groceries.getId(), day, day);
+        assertThat(groceryTotals.getDebitSum()).isEqualByComparingTo("15.00");
+        assertThat(groceryTotals.getCount()).isEqualTo(2);
+        SpendingTotals allTotals = spendingRollupService.getTotals(user.getId(), null, day, day);
+        assertThat(allTotals.getCreditSum()).isEqualByComparingTo("4.00");
+        assertThat(allTotals.getCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Rollup: rebuild recreates one row per category and day")
+    void testRebuildForUser() {
+        createTransaction(groceries, "-40.00", day);
+        createTransaction(groceries, "-60.00", day);
+        createTransaction(groceries, "-15.00", day.plusDays(2));
+        createTransaction(null, "7.00", day);
+        transactionRepository.flush();
+
+        int rows = spendingRollupService.rebuildForUser(user.getId());
+
+        assertThat(rows).isEqualTo(3);
+        List<SpendingTotals> byCategory = spendingRollupService.getTotalsByCategory(user.getId(), day, day.plusDays(2));
+        assertThat(byCategory).hasSize(2);
+        SpendingTotals groceryTotals = byCategory.stream()
+                .filter(t -> groceries.getId().equals(t.getCategoryId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(groceryTotals.getDebitSum()).isEqualByComparingTo("115.00");
+        assertThat(groceryTotals.getCount()).isEqualTo(3);
+        assertThat(dailyCategoryTotalRepository.count()).isGreaterThanOrEqualTo(3);
+    }
+
+    private Category createCategory(String name, CategoryType type) {
+        return categoryRepository.save(Category.builder()
+                .name(name)
+                .type(type)
+                .user(user)
+                .build());
+    }
+
+    private Transaction createTransaction(Category category, String amount, LocalDate date) {
+        return transactionRepository.save(Transaction.builder()
+                .user(user)
+                .category(category)
+                .amount(new BigDecimal(amount))
+                .date(date)
+                .currency("USD")
+                .description("Rollup test")
+                .build());
+    }
+}
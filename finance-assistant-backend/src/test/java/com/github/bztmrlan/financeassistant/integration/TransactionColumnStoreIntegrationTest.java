@@ -0,0 +1,115 @@
+package com.github.bztmrlan.financeassistant.integration;
+
+import com.github.bztmrlan.financeassistant.dto.SpendingTotals;
+import com.github.bztmrlan.financeassistant.enums.CategoryType;
+import com.github.bztmrlan.financeassistant.model.Category;
+import com.github.bztmrlan.financeassistant.model.Transaction;
+import com.github.bztmrlan.financeassistant.model.User;
+import com.github.bztmrlan.financeassistant.repository.CategoryRepository;
+import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import com.github.bztmrlan.financeassistant.service.SpendingRollupService;
+import com.github.bztmrlan.financeassistant.service.TransactionColumnStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes are committed step by step, as the column store only serves users whose writes have committed.
+ */
+@SpringBootTest(properties = "app.analytics.column-store.enabled=true")
+@ActiveProfiles("test")
+class TransactionColumnStoreIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SpendingRollupService spendingRollupService;
+
+    @Autowired
+    private TransactionColumnStore transactionColumnStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private Category groceries;
+    private final LocalDate day = LocalDate.of(2024, 3, 10);
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        user = userRepository.save(User.builder()
+                .name("Column User")
+                .email("columns-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(Instant.now())
+                .build());
+        groceries = categoryRepository.save(Category.builder()
+                .name("Groceries")
+                .type(CategoryType.EXPENSE)
+                .user(user)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Column store: totals match the rollup and follow committed writes")
+    void testTotalsFollowCommittedWrites() {
+        createTransaction(groceries, "-40.00", day);
+        Transaction refund = createTransaction(groceries, "12.50", day.plusDays(1));
+        createTransaction(null, "-5.00", day);
+
+        assertThat(transactionColumnStore.totals(user.getId(), groceries.getId(), day, day.plusDays(1)))
+                .hasValueSatisfying(totals -> assertThat(totals.getNet()).isEqualByComparingTo("-27.50"));
+        SpendingTotals allTotals = spendingRollupService.getTotals(user.getId(), null, day, day.plusDays(1));
+        assertThat(allTotals.getDebitSum()).isEqualByComparingTo("45.00");
+        assertThat(allTotals.getCreditSum()).isEqualByComparingTo("12.50");
+        assertThat(allTotals.getCount()).isEqualTo(3);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            createTransaction(groceries, "-60.00", day);
+            assertThat(transactionColumnStore.totals(user.getId(), groceries.getId(), day, day)).isEmpty();
+            assertThat(spendingRollupService.getTotals(user.getId(), groceries.getId(), day, day).getDebitSum())
+                    .isEqualByComparingTo("100.00");
+        });
+
+        assertThat(transactionColumnStore.totals(user.getId(), groceries.getId(), day, day))
+                .hasValueSatisfying(totals -> assertThat(totals.getDebitSum()).isEqualByComparingTo("100.00"));
+
+        transactionRepository.delete(refund);
+
+        assertThat(spendingRollupService.getTotals(user.getId(), groceries.getId(), day, day.plusDays(1)).getNet())
+                .isEqualByComparingTo("-100.00");
+    }
+
+    private Transaction createTransaction(Category category, String amount, LocalDate date) {
+        return transactionRepository.save(Transaction.builder()
+                .user(user)
+                .category(category)
+                .amount(new BigDecimal(amount))
+                .date(date)
+                .currency("USD")
+                .description("Column store test")
+                .build());
+    }
+}
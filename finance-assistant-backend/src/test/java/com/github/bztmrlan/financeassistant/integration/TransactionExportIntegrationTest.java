@@ -0,0 +1,121 @@
+package com.github.bztmrlan.financeassistant.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.bztmrlan.financeassistant.enums.CategoryType;
+import com.github.bztmrlan.financeassistant.enums.ExportFormat;
+import com.github.bztmrlan.financeassistant.model.Category;
+import com.github.bztmrlan.financeassistant.model.Transaction;
+import com.github.bztmrlan.financeassistant.model.User;
+import com.github.bztmrlan.financeassistant.repository.CategoryRepository;
+import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import com.github.bztmrlan.financeassistant.service.TransactionExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class TransactionExportIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User user;
+    private Category groceries;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Export User")
+                .email("export-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(Instant.now())
+                .build());
+        groceries = categoryRepository.save(Category.builder()
+                .name("Groceries")
+                .type(CategoryType.EXPENSE)
+                .user(user)
+                .createdAt(LocalDateTime.now())
+                .build());
+        createTransaction(groceries, "-40.00", LocalDate.of(2024, 3, 12), "Market, \"organic\"");
+        createTransaction(null, "-5.50", LocalDate.of(2024, 3, 10), "Coffee");
+        createTransaction(groceries, "-12.00", LocalDate.of(2024, 4, 2), "Bakery");
+    }
+
+    @Test
+    @DisplayName("Export: CSV rows are written oldest first in the upload layout")
+    void testCsvExport() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = transactionExportService.export(user.getId(), ExportFormat.CSV, null, null, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(3);
+        assertThat(lines).containsExactly(
+                "Date,Amount,Type,Description,Category,Currency",
+                "2024-03-10,-5.50,purchase,Coffee,,USD",
+                "2024-03-12,-40.00,purchase,\"Market, \"\"organic\"\"\",Groceries,USD",
+                "2024-04-02,-12.00,purchase,Bakery,Groceries,USD");
+    }
+
+    @Test
+    @DisplayName("Export: NDJSON writes one object per line within the date range")
+    void testNdjsonExport() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = transactionExportService.export(user.getId(), ExportFormat.NDJSON,
+                LocalDate.of(2024, 3, 11), LocalDate.of(2024, 4, 30), out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("date").asText()).isEqualTo("2024-03-12");
+        assertThat(first.get("categoryName").asText()).isEqualTo("Groceries");
+        assertThat(first.get("userId").asText()).isEqualTo(user.getId().toString());
+        assertThat(objectMapper.readTree(lines.get(1)).get("description").asText()).isEqualTo("Bakery");
+    }
+
+    private void createTransaction(Category category, String amount, LocalDate date, String description) {
+        transactionRepository.save(Transaction.builder()
+                .user(user)
+                .category(category)
+                .amount(new BigDecimal(amount))
+                .currency("USD")
+                .date(date)
+                .type("purchase")
+                .description(description)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
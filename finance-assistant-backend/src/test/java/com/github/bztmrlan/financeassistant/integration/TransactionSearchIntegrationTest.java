@@ -0,0 +1,123 @@
+package com.github.bztmrlan.financeassistant.integration;
+
+import com.github.bztmrlan.financeassistant.dto.TransactionResponse;
+import com.github.bztmrlan.financeassistant.enums.CategoryType;
+import com.github.bztmrlan.financeassistant.model.Category;
+import com.github.bztmrlan.financeassistant.model.Transaction;
+import com.github.bztmrlan.financeassistant.model.User;
+import com.github.bztmrlan.financeassistant.repository.CategoryRepository;
+import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import com.github.bztmrlan.financeassistant.service.TransactionSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class TransactionSearchIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    private User user;
+    private Category shopping;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser();
+        shopping = categoryRepository.save(Category.builder()
+                .name("Shopping")
+                .type(CategoryType.EXPENSE)
+                .user(user)
+                .createdAt(LocalDateTime.now())
+                .build());
+        createTransaction(user, "AMAZON MARKETPLACE PMTS", LocalDate.of(2024, 2, 1));
+        createTransaction(user, "Amazon Prime", LocalDate.of(2024, 3, 1));
+        createTransaction(user, "UBER *EATS PENDING", LocalDate.of(2024, 3, 5));
+        createTransaction(user, "Uber trip", LocalDate.of(2024, 3, 6));
+        createTransaction(user, "Grocery store", LocalDate.of(2024, 3, 7));
+    }
+
+    @Test
+    @DisplayName("Search: matches are ranked, newest first among equals, and paged")
+    void testRankedAndPaged() {
+        List<TransactionResponse> amazon = transactionSearchService.search(user.getId(), "amazon", 0, 10);
+        List<TransactionResponse> uberEats = transactionSearchService.search(user.getId(), "uber eats", 0, 10);
+        List<TransactionResponse> secondPage = transactionSearchService.search(user.getId(), "amazon", 1, 1);
+
+        assertThat(amazon).extracting(TransactionResponse::getDescription)
+                .containsExactly("Amazon Prime", "AMAZON MARKETPLACE PMTS");
+        assertThat(amazon.get(0).getCategoryName()).isEqualTo("Shopping");
+        assertThat(uberEats).extracting(TransactionResponse::getDescription).first().isEqualTo("UBER *EATS PENDING");
+        assertThat(secondPage).extracting(TransactionResponse::getDescription).containsExactly("AMAZON MARKETPLACE PMTS");
+    }
+
+    @Test
+    @DisplayName("Search: misspelled queries still find the merchant")
+    void testFuzzyMatch() {
+        assertThat(transactionSearchService.search(user.getId(), "amazn", 0, 10))
+                .extracting(TransactionResponse::getDescription)
+                .contains("Amazon Prime", "AMAZON MARKETPLACE PMTS")
+                .doesNotContain("Grocery store");
+        assertThat(transactionSearchService.search(user.getId(), "zzzz", 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Search: the index follows new transactions and stays per user")
+    void testIndexFollowsWrites() {
+        User other = createUser();
+        createTransaction(other, "Amazon Fresh", LocalDate.of(2024, 3, 8));
+        assertThat(transactionSearchService.search(user.getId(), "amazon", 0, 10)).hasSize(2);
+
+        createTransaction(user, "Amazon Music", LocalDate.of(2024, 3, 9));
+
+        assertThat(transactionSearchService.search(user.getId(), "amazon", 0, 10))
+                .extracting(TransactionResponse::getDescription)
+                .containsExactly("Amazon Music", "Amazon Prime", "AMAZON MARKETPLACE PMTS");
+    }
+
+    private User createUser() {
+        return userRepository.save(User.builder()
+                .name("Search User")
+                .email("search-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    private void createTransaction(User owner, String description, LocalDate date) {
+        transactionRepository.save(Transaction.builder()
+                .user(owner)
+                .category(owner == user ? shopping : null)
+                .amount(new BigDecimal("-20.00"))
+                .currency("USD")
+                .date(date)
+                .description(description)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -337,4 +338,26 @@ public class AlertRepositoryTest {
         assertThat(retrieved).isPresent();
         assertThat(retrieved.get().getMessage()).isEqualTo(longMessage);
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should keep one alert per source and window, rewriting only a changed message")
+    void testUpsertWindowAlert() {
+        userRepository.flush();
+        UUID ruleId = UUID.randomUUID();
+        LocalDate window = LocalDate.of(2024, 3, 1);
+
+        assertThat(alertRepository.upsertWindowAlert(user1.getId(), SourceType.RULE, ruleId, window,
+                "Spent 100", Instant.now())).isEqualTo(1);
+        assertThat(alertRepository.upsertWindowAlert(user1.getId(), SourceType.RULE, ruleId, window,
+                "Spent 100", Instant.now())).isZero();
+        assertThat(alertRepository.upsertWindowAlert(user1.getId(), SourceType.RULE, ruleId, window,
+                "Spent 150", Instant.now())).isEqualTo(1);
+        assertThat(alertRepository.upsertWindowAlert(user1.getId(), SourceType.RULE, ruleId, window.plusMonths(1),
+                "Spent 20", Instant.now())).isEqualTo(1);
+
+        List<Alert> alerts = alertRepository.findBySourceTypeAndSourceIdInAndWindowStartGreaterThanEqual(
+                SourceType.RULE, List.of(ruleId), window);
+        assertThat(alerts).extracting(Alert::getMessage).containsExactlyInAnyOrder("Spent 150", "Spent 20");
+        assertThat(alerts).noneMatch(Alert::isRead);
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrades a database that has only the schema Hibernate used to create, with Hibernate's default
+ * constraint names, the way an existing deployment is baselined at V1 on its first start with the
+ * migrations.
+ */
+class MigrationBaselineTest {
+
+    @Test
+    @DisplayName("A baselined database gets every table and column added after V1")
+    void testBaselinedDatabaseIsMigrated() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/hibernate-baseline/h2.sql"))
+                .execute(dataSource);
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(jdbcTemplate.queryForList("SELECT LOWER(table_name) FROM information_schema.tables " +
+                "WHERE table_schema = 'PUBLIC'", String.class))
+                .contains("daily_category_totals", "job_leases", "evaluation_runs", "evaluation_failures",
+                        "rate_limit_buckets");
+        assertThat(jdbcTemplate.queryForList("SELECT LOWER(table_name || '.' || column_name) " +
+                "FROM information_schema.columns WHERE table_schema = 'PUBLIC'", String.class))
+                .contains("users.token_version", "alerts.window_start", "goals.progress_from",
+                        "rules.last_evaluated_window");
+        assertThat(jdbcTemplate.queryForList("SELECT LOWER(constraint_name) FROM information_schema.table_constraints " +
+                "WHERE table_schema = 'PUBLIC'", String.class))
+                .contains("uk_alerts_source_window", "uk_daily_totals_user_category_day");
+        assertThat(jdbcTemplate.queryForList("SELECT LOWER(index_name) FROM information_schema.indexes " +
+                "WHERE table_schema = 'PUBLIC'", String.class))
+                .contains("idx_transactions_user_date_id", "idx_transactions_user_category_date");
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the common and PostgreSQL migrations on a real PostgreSQL, both on an empty database and on one
+ * that has only the schema Hibernate used to create. Skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Test
+    @DisplayName("An empty database is migrated from V1")
+    void testEmptyDatabaseIsMigrated() {
+        DataSource dataSource = createDatabase();
+
+        migrate(dataSource);
+
+        assertTransactionsPartitioned(new JdbcTemplate(dataSource));
+    }
+
+    @Test
+    @DisplayName("A database created by Hibernate is baselined and its transactions are partitioned")
+    void testHibernateSchemaIsMigrated() {
+        DataSource dataSource = createDatabase();
+        new ResourceDatabasePopulator(new ClassPathResource("db/hibernate-baseline/postgresql.sql"))
+                .execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(primaryKeyName(jdbcTemplate)).isEqualTo("transactions_pkey");
+
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (user_id, email, name, password, created_at) " +
+                "VALUES (?, 'baseline@example.com', 'Baseline', 'x', now())", userId);
+        jdbcTemplate.update("INSERT INTO transactions (transaction_id, user_id, date, amount, currency) " +
+                "VALUES (?, ?, DATE '2023-05-17', -12.50, 'USD')", UUID.randomUUID(), userId);
+
+        migrate(dataSource);
+
+        assertTransactionsPartitioned(jdbcTemplate);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions_p2023_05", Long.class))
+                .isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForList("SELECT column_name FROM information_schema.columns " +
+                "WHERE table_name = 'users'", String.class))
+                .contains("token_version");
+    }
+
+    private void assertTransactionsPartitioned(JdbcTemplate jdbcTemplate) {
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_partitioned_table " +
+                "WHERE partrelid = 'transactions'::REGCLASS", Long.class))
+                .isEqualTo(1L);
+        assertThat(primaryKeyName(jdbcTemplate)).isEqualTo("pk_transactions");
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('transactions_unpartitioned')", String.class))
+                .isNull();
+    }
+
+    private String primaryKeyName(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT conname FROM pg_constraint " +
+                "WHERE conrelid = 'transactions'::REGCLASS AND contype = 'p'", String.class);
+    }
+
+    private void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private DataSource createDatabase() {
+        String database = "migration_" + UUID.randomUUID().toString().replace("-", "");
+        new JdbcTemplate(new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword())).execute("CREATE DATABASE " + database);
+        String url = POSTGRES.getJdbcUrl().replace("/" + POSTGRES.getDatabaseName(), "/" + database);
+        return new DriverManagerDataSource(url, POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
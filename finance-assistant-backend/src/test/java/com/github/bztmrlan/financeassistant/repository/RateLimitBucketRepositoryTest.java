@@ -0,0 +1,66 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import com.github.bztmrlan.financeassistant.model.RateLimitBucket;
+import com.github.bztmrlan.financeassistant.service.DatabaseRateLimiter;
+import com.github.bztmrlan.financeassistant.service.RateLimit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(DatabaseRateLimiter.class)
+@TestPropertySource(properties = "app.rate-limit.store=database")
+class RateLimitBucketRepositoryTest {
+
+    @Autowired
+    private RateLimitBucketRepository bucketRepository;
+
+    @Autowired
+    private DatabaseRateLimiter rateLimiter;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Compare-and-set only moves a bucket that still holds the expected value")
+    void testCompareAndSet() {
+        bucketRepository.saveAndFlush(RateLimitBucket.builder()
+                .limitName("test").userId(userId).fullAtMillis(100).build());
+
+        assertThat(bucketRepository.compareAndSet("test", userId, 99, 200)).isZero();
+        assertThat(bucketRepository.compareAndSet("test", userId, 100, 200)).isEqualTo(1);
+        assertThat(bucketRepository.findFullAt("test", userId)).contains(200L);
+    }
+
+    @Test
+    @DisplayName("Only buckets whose tokens are all back are deleted")
+    void testDeleteFullBuckets() {
+        UUID otherUser = UUID.randomUUID();
+        bucketRepository.saveAndFlush(RateLimitBucket.builder()
+                .limitName("test").userId(userId).fullAtMillis(100).build());
+        bucketRepository.saveAndFlush(RateLimitBucket.builder()
+                .limitName("test").userId(otherUser).fullAtMillis(300).build());
+
+        assertThat(bucketRepository.deleteFullBuckets(200)).isEqualTo(1);
+        assertThat(bucketRepository.findFullAt("test", userId)).isEmpty();
+        assertThat(bucketRepository.findFullAt("test", otherUser)).contains(300L);
+    }
+
+    @Test
+    @DisplayName("The database limiter shares one bucket row per user and limit")
+    void testDatabaseRateLimiter() {
+        RateLimit limit = new RateLimit("shared", 2, 60_000);
+
+        assertThat(rateLimiter.acquire(limit, userId)).isZero();
+        assertThat(rateLimiter.acquire(limit, userId)).isZero();
+        assertThat(rateLimiter.acquire(limit, userId)).isPositive();
+        assertThat(rateLimiter.acquire(limit, UUID.randomUUID())).isZero();
+        assertThat(bucketRepository.count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.bztmrlan.financeassistant.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks against the migrated schema that the filters of the repository queries are answered from an
+ * index rather than a table scan. H2 names the index it picks in a comment of the {@code EXPLAIN} output.
+ */
+@DataJpaTest
+class SchemaIndexTest {
+
+    private static final String USER = "'00000000-0000-0000-0000-000000000001'";
+    private static final String OTHER = "'00000000-0000-0000-0000-000000000002'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Transactions of a user in a date range use an index")
+    void testTransactionsByUserAndDate() {
+        assertThat(explain("SELECT * FROM transactions WHERE user_id = " + USER
+                + " AND date BETWEEN DATE '2024-01-01' AND DATE '2024-01-31'"))
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("Transactions of a user's category in a date range use the category index")
+    void testTransactionsByUserCategoryAndDate() {
+        assertThat(explain("SELECT * FROM transactions WHERE user_id = " + USER + " AND category_id = " + OTHER
+                + " AND date BETWEEN DATE '2024-01-01' AND DATE '2024-01-31'"))
+                .containsIgnoringCase("idx_transactions_user_category_date");
+    }
+
+    @Test
+    @DisplayName("Unread alerts of a user use the alert index")
+    void testAlertsByUserAndRead() {
+        assertThat(explain("SELECT * FROM alerts WHERE user_id = " + USER + " AND read = FALSE"))
+                .containsIgnoringCase("idx_alerts_user_read");
+    }
+
+    @Test
+    @DisplayName("Alerts of a set of sources use the source window constraint")
+    void testAlertsBySource() {
+        assertThat(explain("SELECT * FROM alerts WHERE source_type = 'GOAL' AND source_id IN (" + USER + ", "
+                + OTHER + ") AND window_start >= DATE '2024-01-01'"))
+                .containsIgnoringCase("uk_alerts_source_window");
+    }
+
+    @Test
+    @DisplayName("Budgets of a user by status use the budget index")
+    void testBudgetsByUserAndStatus() {
+        assertThat(explain("SELECT * FROM budgets WHERE user_id = " + USER + " AND status = 'ACTIVE'"))
+                .containsIgnoringCase("idx_budgets_user_status");
+    }
+
+    @Test
+    @DisplayName("Category lookup by name uses the category index")
+    void testCategoriesByUserAndName() {
+        assertThat(explain("SELECT * FROM categories WHERE name = 'Groceries' AND user_id = " + USER))
+                .containsIgnoringCase("idx_categories_user_name");
+    }
+
+    @Test
+    @DisplayName("Open goals of a page of users use the goal index")
+    void testOpenGoalsByUser() {
+        assertThat(explain("SELECT * FROM goals WHERE user_id IN (" + USER + ", " + OTHER + ") AND completed = FALSE"))
+                .containsIgnoringCase("idx_goals_user_completed");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -1,5 +1,8 @@
 package com.github.bztmrlan.financeassistant.repository;
 
+import com.github.bztmrlan.financeassistant.dto.TransactionCursor;
+import com.github.bztmrlan.financeassistant.dto.TransactionFilter;
+import com.github.bztmrlan.financeassistant.dto.TransactionResponse;
 import com.github.bztmrlan.financeassistant.enums.CategoryType;
 import com.github.bztmrlan.financeassistant.model.Category;
 import com.github.bztmrlan.financeassistant.model.Transaction;
@@ -13,6 +16,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -264,4 +269,95 @@ public class TransactionRepositoryTest {
         assertThat(userTransactions).isEmpty();
         assertThat(allTransactions).isEmpty();
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should page transactions by date and id after a cursor")
+    void testFindPageWithCursor() {
+        transactionRepository.save(transaction1);
+        transactionRepository.save(transaction2);
+        transactionRepository.save(transaction3);
+        for (int i = 0; i < 3; i++) {
+            transactionRepository.save(Transaction.builder()
+                    .user(user1)
+                    .category(groceriesCategory)
+                    .date(LocalDate.of(2024, 1, 15))
+                    .amount(new BigDecimal("10.00"))
+                    .currency("USD")
+                    .description("Snack " + i)
+                    .build());
+        }
+
+        List<TransactionResponse> all = transactionRepository.findPage(user1.getId(), null, null, 10);
+        List<TransactionResponse> paged = new ArrayList<>();
+        TransactionCursor cursor = null;
+        List<TransactionResponse> page;
+        do {
+            page = transactionRepository.findPage(user1.getId(), null, cursor, 2);
+            paged.addAll(page);
+            if (!page.isEmpty()) {
+                TransactionResponse last = page.get(page.size() - 1);
+                cursor = new TransactionCursor(last.getDate(), last.getId());
+            }
+        } while (page.size() == 2);
+
+        assertThat(all).hasSize(5);
+        assertThat(all.get(0).getDescription()).isEqualTo("Monthly salary");
+        assertThat(all.get(0).getCategoryName()).isEqualTo("Salary");
+        assertThat(all.get(0).getCategoryType()).isEqualTo("INCOME");
+        assertThat(all.get(0).getUserId()).isEqualTo(user1.getId());
+        assertThat(all).extracting(TransactionResponse::getDate).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(paged).extracting(TransactionResponse::getId)
+                .containsExactlyElementsOf(all.stream().map(TransactionResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should filter transaction pages")
+    void testFindPageWithFilters() {
+        transactionRepository.save(transaction1);
+        transactionRepository.save(transaction2);
+        transactionRepository.save(transaction3);
+
+        List<TransactionResponse> expenses = transactionRepository.findPage(user1.getId(),
+                TransactionFilter.builder().type("expense").build(), null, 10);
+        List<TransactionResponse> searched = transactionRepository.findPage(user1.getId(),
+                TransactionFilter.builder().text("SALARY").build(), null, 10);
+        List<TransactionResponse> ranged = transactionRepository.findPage(user1.getId(),
+                TransactionFilter.builder()
+                        .from(LocalDate.of(2024, 1, 1))
+                        .to(LocalDate.of(2024, 1, 31))
+                        .categoryId(groceriesCategory.getId())
+                        .minAmount(new BigDecimal("40.00"))
+                        .maxAmount(new BigDecimal("60.00"))
+                        .build(), null, 10);
+        List<TransactionResponse> empty = transactionRepository.findPage(user1.getId(),
+                TransactionFilter.builder().text("100%").build(), null, 10);
+
+        assertThat(expenses).extracting("description").containsExactly("Weekly groceries");
+        assertThat(searched).extracting("description").containsExactly("Monthly salary");
+        assertThat(ranged).extracting("description").containsExactly("Weekly groceries");
+        assertThat(empty).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should project a single transaction of its owner")
+    void testFindResponseByIdAndUserId() {
+        Transaction saved = transactionRepository.save(transaction1);
+        Transaction uncategorized = transactionRepository.save(Transaction.builder()
+                .user(user1)
+                .date(LocalDate.of(2024, 1, 16))
+                .amount(new BigDecimal("25.00"))
+                .currency("USD")
+                .description("Cash withdrawal")
+                .build());
+
+        Optional<TransactionResponse> response = transactionRepository.findResponseByIdAndUserId(saved.getId(), user1.getId());
+
+        assertThat(response).isPresent();
+        assertThat(response.get().getCategoryId()).isEqualTo(groceriesCategory.getId());
+        assertThat(response.get().getCategoryType()).isEqualTo("EXPENSE");
+        assertThat(response.get().getAmount()).isEqualByComparingTo("50.00");
+        assertThat(transactionRepository.findResponseByIdAndUserId(uncategorized.getId(), user1.getId()))
+                .hasValueSatisfying(r -> assertThat(r.getCategoryName()).isNull());
+        assertThat(transactionRepository.findResponseByIdAndUserId(saved.getId(), user2.getId())).isEmpty();
+    }
+}
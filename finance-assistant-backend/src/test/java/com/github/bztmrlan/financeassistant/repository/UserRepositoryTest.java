@@ -6,9 +6,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -39,4 +43,30 @@ public class UserRepositoryTest {
         assertThat(retrieved.get().getName()).isEqualTo("Alice Johnson");
         assertThat(retrieved.get().getCreatedAt()).isNotNull();
     }
+
+    @Test
+    @DisplayName("Should page user ids in id order with keyset pagination")
+    void testKeysetPagination() {
+        for (int i = 0; i < 5; i++) {
+            User pagedUser = new User();
+            pagedUser.setName("User " + i);
+            pagedUser.setEmail("user" + i + "@example.com");
+            pagedUser.setPassword("encrypted-password");
+            pagedUser.setCreatedAt(Instant.now());
+            userRepository.save(pagedUser);
+        }
+
+        UUID first = new UUID(0L, 0L);
+        UUID last = new UUID(-1L, -1L);
+        List<UUID> firstPage = userRepository.findIdsInRange(first, last, PageRequest.of(0, 2));
+        List<UUID> secondPage = userRepository.findIdsInRangeAfter(firstPage.get(1), last, PageRequest.of(0, 2));
+        List<UUID> lastPage = userRepository.findIdsInRangeAfter(secondPage.get(1), last, PageRequest.of(0, 2));
+
+        List<UUID> paged = new ArrayList<>(firstPage);
+        paged.addAll(secondPage);
+        paged.addAll(lastPage);
+        assertThat(lastPage).hasSize(1);
+        assertThat(paged).containsExactlyElementsOf(userRepository.findIdsInRange(first, last, PageRequest.of(0, 10)));
+        assertThat(paged).doesNotHaveDuplicates();
+    }
 }
@@ -30,15 +30,15 @@ class BudgetManagementServiceTest {
     @Mock
     private BudgetCategoryRepository budgetCategoryRepository;
 
-    @Mock
-    private TransactionRepository transactionRepository;
-
     @Mock
     private AlertRepository alertRepository;
 
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private SpendingRollupService spendingRollupService;
+
     @InjectMocks
     private BudgetManagementService budgetManagementService;
 
@@ -0,0 +1,68 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Bulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkhead = new Bulkhead("test", 1, 1, 5, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkhead.shutdown();
+    }
+
+    @Test
+    @DisplayName("Work beyond the threads and queue is rejected at once with the retry delay")
+    void testRejectsWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> running = bulkhead.submit(() -> await(release, 1));
+        CompletableFuture<Integer> queued = bulkhead.submit(() -> 2);
+
+        assertThatThrownBy(() -> bulkhead.submit(() -> 3))
+                .isInstanceOf(ServiceBusyException.class)
+                .satisfies(e -> assertThat(((ServiceBusyException) e).getRetryAfterSeconds()).isEqualTo(5));
+        assertThat(meterRegistry.get("bulkhead.rejected").tag("name", "test").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.queued").tag("name", "test").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("call returns the result and rethrows the work's own exception")
+    void testCallUnwrapsResultAndExceptions() {
+        assertThat(bulkhead.call(() -> "hashed")).isEqualTo("hashed");
+        assertThatThrownBy(() -> bulkhead.call(() -> {
+            throw new IllegalArgumentException("bad input");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad input");
+    }
+
+    private static int await(CountDownLatch latch, int value) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.dto.GoalProgressRow;
+import com.github.bztmrlan.financeassistant.enums.SourceType;
+import com.github.bztmrlan.financeassistant.model.Alert;
+import com.github.bztmrlan.financeassistant.model.User;
+import com.github.bztmrlan.financeassistant.repository.AlertRepository;
+import com.github.bztmrlan.financeassistant.repository.GoalRepository;
+import com.github.bztmrlan.financeassistant.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GoalBatchEvaluationServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private GoalBatchEvaluationService goalBatchEvaluationService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        lenient().when(userRepository.getReferenceById(userId)).thenReturn(User.builder().id(userId).build());
+    }
+
+    @Test
+    void testEvaluate_GoalsInStepNeedNoWrites() {
+        GoalProgressRow onTrack = row("On track", "1000.00", "600.00", "600.00", TODAY.plusDays(10));
+        when(goalRepository.aggregateOpenGoalProgress(List.of(userId), TODAY.minusYears(1))).thenReturn(List.of(onTrack));
+
+        GoalBatchEvaluationService.Result result = goalBatchEvaluationService.evaluate(List.of(userId), TODAY);
+
+        assertEquals(new GoalBatchEvaluationService.Result(1, 0, 0, 0), result);
+        verifyNoInteractions(jdbcTemplate, alertRepository);
+        verify(goalRepository, never()).markCompleted(any());
+    }
+
+    @Test
+    void testEvaluate_ReconcilesCompletesAndWarnsInBulk() {
+        GoalProgressRow drifted = row("Drifted", "1000.00", "400.00", "450.00", TODAY.plusMonths(6));
+        GoalProgressRow reached = row("Reached", "500.00", "450.00", "520.00", TODAY.plusMonths(2));
+        GoalProgressRow atRisk = row("At risk", "1000.00", "100.00", "100.00", TODAY.plusDays(20));
+        when(goalRepository.aggregateOpenGoalProgress(List.of(userId), TODAY.minusYears(1)))
+                .thenReturn(List.of(drifted, reached, atRisk));
+        when(jdbcTemplate.query(contains("FOR UPDATE"), any(RowMapper.class), eq(reached.getGoalId())))
+                .thenReturn(List.of(reached.getGoalId()));
+        when(alertRepository.findBySourceTypeAndSourceIdInAndWindowStartGreaterThanEqual(
+                SourceType.GOAL, List.of(atRisk.getGoalId()), TODAY)).thenReturn(List.of());
+
+        GoalBatchEvaluationService.Result result = goalBatchEvaluationService.evaluate(List.of(userId), TODAY);
+
+        assertEquals(new GoalBatchEvaluationService.Result(3, 2, 1, 1), result);
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> args) -> args.size() == 2));
+        verify(goalRepository).markCompleted(List.of(reached.getGoalId()));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Alert>> alerts = ArgumentCaptor.forClass(List.class);
+        verify(alertRepository).saveAll(alerts.capture());
+        assertEquals(2, alerts.getValue().size());
+        Alert completion = alerts.getValue().get(0);
+        assertEquals(reached.getGoalId(), completion.getSourceId());
+        assertTrue(completion.getMessage().contains("Reached"));
+        Alert warning = alerts.getValue().get(1);
+        assertEquals(atRisk.getGoalId(), warning.getSourceId());
+        assertEquals(TODAY, warning.getWindowStart());
+        assertTrue(warning.getMessage().contains("20 days remaining"));
+    }
+
+    @Test
+    void testEvaluate_GoalCompletedConcurrentlyGetsNoSecondAlert() {
+        GoalProgressRow reached = row("Reached", "500.00", "520.00", "520.00", TODAY.plusMonths(2));
+        when(goalRepository.aggregateOpenGoalProgress(List.of(userId), TODAY.minusYears(1))).thenReturn(List.of(reached));
+        when(jdbcTemplate.query(contains("FOR UPDATE"), any(RowMapper.class), eq(reached.getGoalId())))
+                .thenReturn(List.of());
+
+        GoalBatchEvaluationService.Result result = goalBatchEvaluationService.evaluate(List.of(userId), TODAY);
+
+        assertEquals(new GoalBatchEvaluationService.Result(1, 0, 0, 0), result);
+        verify(goalRepository, never()).markCompleted(any());
+        verify(alertRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testEvaluate_WarnsAtMostOncePerDay() {
+        GoalProgressRow atRisk = row("At risk", "1000.00", "100.00", "100.00", TODAY.plusDays(20));
+        when(goalRepository.aggregateOpenGoalProgress(List.of(userId), TODAY.minusYears(1))).thenReturn(List.of(atRisk));
+        when(alertRepository.findBySourceTypeAndSourceIdInAndWindowStartGreaterThanEqual(
+                eq(SourceType.GOAL), anyList(), eq(TODAY)))
+                .thenReturn(List.of(Alert.builder().sourceId(atRisk.getGoalId()).windowStart(TODAY).build()));
+
+        goalBatchEvaluationService.evaluate(List.of(userId), TODAY);
+
+        verify(alertRepository, never()).saveAll(any());
+    }
+
+    private GoalProgressRow row(String name, String target, String current, String credits, LocalDate targetDate) {
+        return new GoalProgressRow(UUID.randomUUID(), userId, name, new BigDecimal(target), new BigDecimal(current),
+                targetDate, TODAY.minusYears(1), new BigDecimal(credits));
+    }
+}
@@ -2,6 +2,7 @@ package com.github.bztmrlan.financeassistant.service;
 
 import com.github.bztmrlan.financeassistant.dto.GoalRequest;
 import com.github.bztmrlan.financeassistant.dto.GoalResponse;
+import com.github.bztmrlan.financeassistant.dto.SpendingTotals;
 import com.github.bztmrlan.financeassistant.enums.CategoryType;
 import com.github.bztmrlan.financeassistant.model.*;
 import com.github.bztmrlan.financeassistant.repository.*;
@@ -38,7 +39,7 @@ class GoalManagementServiceTest {
     private AlertRepository alertRepository;
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private SpendingRollupService spendingRollupService;
 
     @InjectMocks
     private GoalManagementService goalManagementService;
@@ -88,6 +89,9 @@ class GoalManagementServiceTest {
         testGoalRequest.setTargetDate(LocalDate.now().plusMonths(6));
         testGoalRequest.setCurrency("USD");
         testGoalRequest.setCategoryId(testCategoryId);
+
+        lenient().when(spendingRollupService.getTotals(any(), any(), any(), any()))
+                .thenReturn(SpendingTotals.empty(null));
     }
 
     // ==================== HAPPY PATH TESTS ====================
@@ -182,6 +186,75 @@ class GoalManagementServiceTest {
         verify(goalRepository).findByUserId(testUserId);
     }
 
+    @Test
+    void testGetUserGoals_DoesNotRecalculateProgress() {
+        testGoal.setCurrentAmount(new BigDecimal("250.00"));
+        when(goalRepository.findByUserId(testUserId)).thenReturn(List.of(testGoal));
+
+        List<GoalResponse> result = goalManagementService.getUserGoals(testUserId);
+
+        assertEquals(new BigDecimal("250.00"), result.get(0).getCurrentAmount());
+        verifyNoInteractions(spendingRollupService);
+        verify(goalRepository, never()).save(any(Goal.class));
+    }
+
+    @Test
+    void testCreateGoal_StartsFromExistingContributions() {
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(categoryRepository.findByIdAndUserId(testCategoryId, testUserId)).thenReturn(Optional.of(testCategory));
+        when(spendingRollupService.getTotals(testUserId, testCategoryId, LocalDate.now().minusYears(1), testGoalRequest.getTargetDate()))
+                .thenReturn(new SpendingTotals(testCategoryId, BigDecimal.ZERO, new BigDecimal("300.00"), 2L));
+        when(goalRepository.save(any(Goal.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        GoalResponse result = goalManagementService.createGoal(testUserId, testGoalRequest);
+
+        assertEquals(new BigDecimal("300.00"), result.getCurrentAmount());
+        verify(goalRepository).save(argThat(goal -> LocalDate.now().minusYears(1).equals(goal.getProgressFrom())));
+    }
+
+    @Test
+    void testCalculateGoalProgress_ReconcilesDriftFromRollup() {
+        LocalDate progressFrom = LocalDate.now().minusYears(1);
+        testGoal.setCurrentAmount(new BigDecimal("100.00"));
+        testGoal.setProgressFrom(progressFrom);
+        when(goalRepository.findByUserId(testUserId)).thenReturn(List.of(testGoal));
+        when(spendingRollupService.getTotals(testUserId, testCategoryId, progressFrom, testGoal.getTargetDate()))
+                .thenReturn(new SpendingTotals(testCategoryId, BigDecimal.ZERO, new BigDecimal("120.00"), 3L));
+        when(goalRepository.reconcileProgress(testGoalId, new BigDecimal("100.00"), new BigDecimal("120.00"), progressFrom))
+                .thenReturn(1);
+
+        goalManagementService.calculateGoalProgressFromTransactions(testUserId);
+
+        verify(goalRepository).reconcileProgress(testGoalId, new BigDecimal("100.00"), new BigDecimal("120.00"), progressFrom);
+        verify(goalRepository).findReachedGoals(testUserId);
+    }
+
+    @Test
+    void testCalculateGoalProgress_SkipsGoalsInStep() {
+        LocalDate progressFrom = LocalDate.now().minusYears(1);
+        testGoal.setCurrentAmount(new BigDecimal("120.00"));
+        testGoal.setProgressFrom(progressFrom);
+        when(goalRepository.findByUserId(testUserId)).thenReturn(List.of(testGoal));
+        when(spendingRollupService.getTotals(testUserId, testCategoryId, progressFrom, testGoal.getTargetDate()))
+                .thenReturn(new SpendingTotals(testCategoryId, BigDecimal.ZERO, new BigDecimal("120.00"), 3L));
+
+        goalManagementService.calculateGoalProgressFromTransactions(testUserId);
+
+        verify(goalRepository, never()).reconcileProgress(any(), any(), any(), any());
+    }
+
+    @Test
+    void testCompleteReachedGoals_CompletesAndAlerts() {
+        testGoal.setCurrentAmount(new BigDecimal("1000.00"));
+        when(goalRepository.findReachedGoals(testUserId)).thenReturn(List.of(testGoal));
+
+        goalManagementService.completeReachedGoals(testUserId);
+
+        assertTrue(testGoal.isCompleted());
+        verify(goalRepository).save(testGoal);
+        verify(alertRepository).save(argThat(alert -> testGoalId.equals(alert.getSourceId())));
+    }
+
     @Test
     void testGetGoalById_Success() {
         // Given
@@ -0,0 +1,67 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimiterTest {
+
+    private static final RateLimit LIMIT = new RateLimit("test", 2, 1000);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final UUID userId = UUID.randomUUID();
+    private InMemoryRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new InMemoryRateLimiter(now::get);
+    }
+
+    @Test
+    @DisplayName("A bucket allows its capacity at once, then one request per refill interval")
+    void testBurstThenRefill() {
+        assertThat(rateLimiter.acquire(LIMIT, userId)).isZero();
+        assertThat(rateLimiter.acquire(LIMIT, userId)).isZero();
+        assertThat(rateLimiter.acquire(LIMIT, userId)).isEqualTo(1000);
+
+        now.addAndGet(400);
+        assertThat(rateLimiter.acquire(LIMIT, userId)).isEqualTo(600);
+
+        now.addAndGet(600);
+        assertThat(rateLimiter.acquire(LIMIT, userId)).isZero();
+        assertThat(rateLimiter.acquire(LIMIT, userId)).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Buckets are kept per user and per limit")
+    void testBucketsAreIndependent() {
+        RateLimit other = new RateLimit("other", 1, 1000);
+        UUID otherUser = UUID.randomUUID();
+
+        assertThat(rateLimiter.acquire(other, userId)).isZero();
+        assertThat(rateLimiter.acquire(other, userId)).isPositive();
+        assertThat(rateLimiter.acquire(other, otherUser)).isZero();
+        assertThat(rateLimiter.acquire(LIMIT, userId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Only buckets that have refilled are evicted")
+    void testEvictsIdleBuckets() {
+        rateLimiter.acquire(LIMIT, userId);
+        rateLimiter.acquire(LIMIT, UUID.randomUUID());
+        now.addAndGet(500);
+        rateLimiter.acquire(LIMIT, userId);
+
+        now.addAndGet(600);
+        rateLimiter.evictIdleBuckets();
+
+        assertThat(rateLimiter.size()).isEqualTo(1);
+        assertThat(rateLimiter.acquire(LIMIT, userId)).isZero();
+        assertThat(rateLimiter.acquire(LIMIT, userId)).isPositive();
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinorUnitsTest {
+
+    @Test
+    void testConversion_RoundTripsAtScale() {
+        assertEquals(-1250, MinorUnits.toMinorUnits(new BigDecimal("-12.50")));
+        assertEquals(1235, MinorUnits.toMinorUnits(new BigDecimal("12.345")));
+        assertEquals(1500, MinorUnits.toMinorUnits(new BigDecimal("1500.00"), 0));
+        assertEquals(new BigDecimal("-12.50"), MinorUnits.fromMinorUnits(-1250));
+        assertEquals(new BigDecimal("1.500"), MinorUnits.fromMinorUnits(1500, 3));
+    }
+
+    @Test
+    void testArithmetic_ThrowsOnOverflow() {
+        assertEquals(300, MinorUnits.add(100, 200));
+        assertEquals(-100, MinorUnits.subtract(100, 200));
+        assertEquals(-250, MinorUnits.multiply(250, -1));
+        assertThrows(ArithmeticException.class, () -> MinorUnits.add(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> MinorUnits.subtract(Long.MIN_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> MinorUnits.multiply(Long.MIN_VALUE, -1));
+        assertThrows(ArithmeticException.class,
+                () -> MinorUnits.toMinorUnits(new BigDecimal("92233720368547758.08")));
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerUserCacheTest {
+
+    private final UUID userId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testLoad_KeepsValue() {
+        PerUserCache<String> cache = PerUserCache.bySize(10);
+
+        assertThat(cache.get(userId, id -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get(userId, id -> "reloaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    void testLoadOverlappingInvalidation_IsServedButNotKept() {
+        PerUserCache<String> cache = PerUserCache.bySize(10);
+
+        String value = cache.load(userId, id -> {
+            cache.invalidate(id);
+            return "stale";
+        });
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(cache.getIfPresent(userId)).isNull();
+    }
+
+    @Test
+    void testInvalidateUntilCompletion_DropsValueLoadedInsideTransaction() {
+        PerUserCache<String> cache = PerUserCache.bySize(10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidateUntilCompletion(userId);
+        cache.load(userId, id -> "uncommitted");
+        assertThat(cache.getIfPresent(userId)).isEqualTo("uncommitted");
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(cache.getIfPresent(userId)).isNull();
+    }
+
+    @Test
+    void testByWeight_EvictsValuesOverBudget() {
+        PerUserCache<String> cache = PerUserCache.byWeight(5, String::length);
+
+        cache.load(userId, id -> "too long");
+
+        assertThat(cache.contains(userId)).isFalse();
+        assertThat(cache.weightedSize()).isZero();
+    }
+}
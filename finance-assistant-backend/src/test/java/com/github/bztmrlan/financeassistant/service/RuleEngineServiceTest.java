@@ -1,15 +1,14 @@
 package com.github.bztmrlan.financeassistant.service;
 
 import com.github.bztmrlan.financeassistant.enums.CondititonType;
+import com.github.bztmrlan.financeassistant.enums.SourceType;
 import com.github.bztmrlan.financeassistant.enums.TimePeriod;
-import com.github.bztmrlan.financeassistant.model.Alert;
 import com.github.bztmrlan.financeassistant.model.Category;
 import com.github.bztmrlan.financeassistant.model.Rule;
 import com.github.bztmrlan.financeassistant.model.Transaction;
 import com.github.bztmrlan.financeassistant.model.User;
 import com.github.bztmrlan.financeassistant.repository.AlertRepository;
 import com.github.bztmrlan.financeassistant.repository.RuleRepository;
-import com.github.bztmrlan.financeassistant.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,11 +18,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +36,7 @@ class RuleEngineServiceTest {
     private RuleRepository ruleRepository;
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private SpendingWindowCache spendingWindowCache;
 
     @Mock
     private AlertRepository alertRepository;
@@ -86,76 +89,124 @@ class RuleEngineServiceTest {
     void testEvaluateRulesForUser_NoViolation() {
 
         List<Rule> rules = Arrays.asList(testRule);
-        List<Transaction> transactions = Arrays.asList(
-                Transaction.builder()
-                        .amount(new BigDecimal("300.00"))
-                        .build()
-        );
 
         when(ruleRepository.findByUserIdAndActiveTrue(testUser.getId())).thenReturn(rules);
-        when(transactionRepository.findByUserIdAndCategoryIdAndDateBetween(
-                any(), any(), any(), any()
-        )).thenReturn(transactions);
+        when(spendingWindowCache.windowSum(any(), any(), any(), any())).thenReturn(minorUnits(new BigDecimal("300.00")));
 
 
         ruleEngineService.evaluateRulesForUser(testUser.getId());
 
 
-        verify(alertRepository, never()).save(any());
+        verify(alertRepository, never()).upsertWindowAlert(any(), any(), any(), any(), any(), any());
     }
 
     @Test
     void testEvaluateRulesForUser_WithViolation() {
 
         List<Rule> rules = Arrays.asList(testRule);
-        List<Transaction> transactions = Arrays.asList(
-                Transaction.builder()
-                        .amount(new BigDecimal("600.00"))
-                        .build()
-        );
 
         when(ruleRepository.findByUserIdAndActiveTrue(testUser.getId())).thenReturn(rules);
-        when(transactionRepository.findByUserIdAndCategoryIdAndDateBetween(
-                any(), any(), any(), any()
-        )).thenReturn(transactions);
-        when(alertRepository.save(any(Alert.class))).thenReturn(new Alert());
+        when(spendingWindowCache.windowSum(any(), any(), any(), any())).thenReturn(minorUnits(new BigDecimal("600.00")));
 
 
         ruleEngineService.evaluateRulesForUser(testUser.getId());
 
 
-        verify(alertRepository, times(1)).save(any(Alert.class));
+        verify(alertRepository, times(1)).upsertWindowAlert(any(), any(), any(), any(), any(), any());
     }
 
     @Test
-    void testEvaluateRulesForTransaction() {
+    void testEvaluateRulesForUser_ManyRulesShareWindowTotals() {
+        List<Rule> rules = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            rules.add(Rule.builder()
+                    .id(UUID.randomUUID())
+                    .user(testUser)
+                    .category(i % 2 == 0 ? testCategory : null)
+                    .name("Rule " + i)
+                    .conditionType(CondititonType.GREATER_THAN)
+                    .threshold(new BigDecimal(i * 20))
+                    .active(true)
+                    .period(TimePeriod.values()[i % TimePeriod.values().length])
+                    .build());
+        }
 
-        List<Rule> rules = Arrays.asList(testRule);
-        
         when(ruleRepository.findByUserIdAndActiveTrue(testUser.getId())).thenReturn(rules);
-        when(alertRepository.save(any(Alert.class))).thenReturn(new Alert());
+        when(spendingWindowCache.windowSum(any(), any(), any(), any())).thenReturn(minorUnits(new BigDecimal("450.00")));
+
+        ruleEngineService.evaluateRulesForUser(testUser.getId());
+
+        verify(spendingWindowCache, times(10)).windowSum(any(), any(), any(), any());
+        verify(alertRepository, times(23)).upsertWindowAlert(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testEvaluateRulesForTransaction() {
+
+        when(ruleRepository.findByUserIdAndActiveTrue(testUser.getId())).thenReturn(List.of(testRule));
+        when(spendingWindowCache.windowSum(any(), any(), any(), any())).thenReturn(minorUnits(new BigDecimal("600.00")));
 
         ruleEngineService.evaluateRulesForTransaction(testTransaction);
 
-        verify(alertRepository, times(1)).save(any(Alert.class));
+        verify(alertRepository, times(1)).upsertWindowAlert(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testEvaluateRulesForTransactions_OnlyMatchingRules() {
+        Category rent = Category.builder().id(UUID.randomUUID()).name("Rent").build();
+        Rule rentRule = Rule.builder()
+                .id(UUID.randomUUID())
+                .user(testUser)
+                .category(rent)
+                .name("Rent Rule")
+                .conditionType(CondititonType.GREATER_THAN)
+                .threshold(new BigDecimal("100.00"))
+                .active(true)
+                .period(TimePeriod.MONTHLY)
+                .build();
+        when(ruleRepository.findByUserIdAndActiveTrue(testUser.getId())).thenReturn(List.of(testRule, rentRule));
+        when(spendingWindowCache.windowSum(any(), any(), any(), any())).thenReturn(minorUnits(new BigDecimal("600.00")));
+
+        ruleEngineService.evaluateRulesForTransactions(testUser.getId(), List.of(testTransaction));
+
+        verify(spendingWindowCache, times(1)).windowSum(eq(testUser.getId()), eq(testCategory.getId()), any(), any());
+        verify(spendingWindowCache, never()).windowSum(any(), eq(rent.getId()), any(), any());
+        verify(alertRepository, times(1)).upsertWindowAlert(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testEvaluateRulesForTransactions_SkipsTransactionsOutsideWindows() {
+        testTransaction.setDate(LocalDate.now().minusYears(2));
+        when(ruleRepository.findByUserIdAndActiveTrue(testUser.getId())).thenReturn(List.of(testRule));
+
+        ruleEngineService.evaluateRulesForTransactions(testUser.getId(), List.of(testTransaction));
+
+        verify(spendingWindowCache, never()).windowSum(any(), any(), any(), any());
+        verify(alertRepository, never()).upsertWindowAlert(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testEvaluateRulesForUser_UpsertsOneAlertPerWindow() {
+        when(ruleRepository.findByUserIdAndActiveTrue(testUser.getId())).thenReturn(List.of(testRule));
+        when(spendingWindowCache.windowSum(any(), any(), any(), any())).thenReturn(minorUnits(new BigDecimal("700.00")));
+
+        ruleEngineService.evaluateRulesForUser(testUser.getId());
+        ruleEngineService.evaluateRulesForUser(testUser.getId());
+
+        verify(alertRepository, times(2)).upsertWindowAlert(eq(testUser.getId()), eq(SourceType.RULE),
+                eq(testRule.getId()), eq(TimePeriod.MONTHLY.windowStart(LocalDate.now())),
+                argThat(message -> message.contains("700.00")), any());
+        verify(alertRepository, never()).save(any());
     }
 
     @Test
     void testEvaluateRulesWithEasyRules() {
         List<Rule> rules = Arrays.asList(testRule);
-        List<Transaction> transactions = Arrays.asList(
-                Transaction.builder()
-                        .amount(new BigDecimal("600.00"))
-                        .build()
-        );
 
         when(ruleRepository.findByUserIdAndActiveTrue(testUser.getId())).thenReturn(rules);
-        when(transactionRepository.findByUserIdAndCategoryIdAndDateBetween(
-                any(), any(), any(), any()
-        )).thenReturn(transactions);
-        when(alertRepository.save(any(Alert.class))).thenReturn(new Alert());
+        when(spendingWindowCache.windowSum(any(), any(), any(), any())).thenReturn(minorUnits(new BigDecimal("600.00")));
         ruleEngineService.evaluateRulesWithEasyRules(testUser.getId());
-        verify(alertRepository, times(1)).save(any(Alert.class));
+        verify(alertRepository, times(1)).upsertWindowAlert(any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -173,21 +224,13 @@ class RuleEngineServiceTest {
                 .build();
 
         List<Rule> rules = Arrays.asList(lessThanRule);
-        List<Transaction> transactions = Arrays.asList(
-                Transaction.builder()
-                        .amount(new BigDecimal("30.00"))
-                        .build()
-        );
 
         when(ruleRepository.findByUserIdAndActiveTrue(testUser.getId())).thenReturn(rules);
-        when(transactionRepository.findByUserIdAndCategoryIdAndDateBetween(
-                any(), any(), any(), any()
-        )).thenReturn(transactions);
-        when(alertRepository.save(any(Alert.class))).thenReturn(new Alert());
+        when(spendingWindowCache.windowSum(any(), any(), any(), any())).thenReturn(minorUnits(new BigDecimal("30.00")));
 
         ruleEngineService.evaluateRulesForUser(testUser.getId());
 
-        verify(alertRepository, times(1)).save(any(Alert.class));
+        verify(alertRepository, times(1)).upsertWindowAlert(any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -204,20 +247,63 @@ class RuleEngineServiceTest {
                 .build();
 
         List<Rule> rules = Arrays.asList(equalRule);
-        List<Transaction> transactions = Arrays.asList(
-                Transaction.builder()
-                        .amount(new BigDecimal("100.00"))
-                        .build()
-        );
 
         when(ruleRepository.findByUserIdAndActiveTrue(testUser.getId())).thenReturn(rules);
-        when(transactionRepository.findByUserIdAndCategoryIdAndDateBetween(
-                any(), any(), any(), any()
-        )).thenReturn(transactions);
-        when(alertRepository.save(any(Alert.class))).thenReturn(new Alert());
+        when(spendingWindowCache.windowSum(any(), any(), any(), any())).thenReturn(minorUnits(new BigDecimal("100.00")));
 
         ruleEngineService.evaluateRulesForUser(testUser.getId());
 
-        verify(alertRepository, times(1)).save(any(Alert.class));
+        verify(alertRepository, times(1)).upsertWindowAlert(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testEvaluateClosedWindows_FirstRunEvaluatesLastClosedWindow() {
+        LocalDate today = LocalDate.of(2024, 3, 5);
+        when(ruleRepository.findActiveRulesByPeriod(testUser.getId(), TimePeriod.MONTHLY)).thenReturn(List.of(testRule));
+        when(spendingWindowCache.windowSum(testUser.getId(), testCategory.getId(),
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29))).thenReturn(minorUnits(new BigDecimal("600.00")));
+        
+        int evaluated = ruleEngineService.evaluateClosedWindows(testUser.getId(), TimePeriod.MONTHLY, today, 3);
+
+        assertEquals(1, evaluated);
+        assertEquals(LocalDate.of(2024, 2, 1), testRule.getLastEvaluatedWindow());
+        verify(alertRepository).upsertWindowAlert(eq(testUser.getId()), eq(SourceType.RULE), eq(testRule.getId()),
+                eq(LocalDate.of(2024, 2, 1)), anyString(), any());
+    }
+
+    @Test
+    void testEvaluateClosedWindows_UpToDateRuleIsSkipped() {
+        testRule.setLastEvaluatedWindow(LocalDate.of(2024, 2, 1));
+        when(ruleRepository.findActiveRulesByPeriod(testUser.getId(), TimePeriod.MONTHLY)).thenReturn(List.of(testRule));
+
+        int evaluated = ruleEngineService.evaluateClosedWindows(testUser.getId(), TimePeriod.MONTHLY,
+                LocalDate.of(2024, 3, 20), 3);
+
+        assertEquals(0, evaluated);
+        verifyNoInteractions(spendingWindowCache, alertRepository);
+    }
+
+    @Test
+    void testEvaluateClosedWindows_CatchUpIsBounded() {
+        testRule.setLastEvaluatedWindow(LocalDate.of(2023, 6, 1));
+        when(ruleRepository.findActiveRulesByPeriod(testUser.getId(), TimePeriod.MONTHLY)).thenReturn(List.of(testRule));
+        when(spendingWindowCache.windowSum(any(), any(), any(), any())).thenReturn(minorUnits(new BigDecimal("100.00")));
+
+        int evaluated = ruleEngineService.evaluateClosedWindows(testUser.getId(), TimePeriod.MONTHLY,
+                LocalDate.of(2024, 3, 5), 3);
+
+        assertEquals(3, evaluated);
+        assertEquals(LocalDate.of(2024, 2, 1), testRule.getLastEvaluatedWindow());
+        verify(spendingWindowCache).windowSum(testUser.getId(), testCategory.getId(),
+                LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 31));
+        verify(spendingWindowCache).windowSum(testUser.getId(), testCategory.getId(),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+        verify(spendingWindowCache).windowSum(testUser.getId(), testCategory.getId(),
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+        verify(alertRepository, never()).upsertWindowAlert(any(), any(), any(), any(), any(), any());
+    }
+
+    private long minorUnits(BigDecimal amount) {
+        return MinorUnits.toMinorUnits(amount);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.dto.SpendingTotals;
+import com.github.bztmrlan.financeassistant.model.DailyCategoryTotal;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpendingWindowCacheTest {
+
+    @Mock
+    private SpendingRollupService spendingRollupService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private SpendingWindowCache cache;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID groceries = UUID.randomUUID();
+    private final UUID rent = UUID.randomUUID();
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        cache = new SpendingWindowCache(spendingRollupService, entityManager, 60, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+    }
+
+    @Test
+    void testWindowSums_LoadUserOnce() {
+        when(spendingRollupService.getDailyTotals(eq(userId), any(), any())).thenReturn(List.of(
+                daily(groceries, today, "-40.00"),
+                daily(groceries, today.minusDays(10), "-25.50"),
+                daily(rent, today.minusDays(20), "-900.00"),
+                daily(null, today.minusDays(400), "-1.00")));
+
+        assertThat(cache.windowSum(userId, groceries, today, today)).isEqualTo(-4000L);
+        assertThat(cache.windowSum(userId, groceries, today.minusWeeks(2), today)).isEqualTo(-6550L);
+        assertThat(cache.windowSum(userId, null, today.minusMonths(1), today)).isEqualTo(-96550L);
+        assertThat(cache.windowSum(userId, UUID.randomUUID(), today.minusMonths(1), today)).isZero();
+
+        verify(spendingRollupService, times(1)).getDailyTotals(eq(userId), any(), any());
+    }
+
+    @Test
+    void testWindowBeyondRing_FallsBackToRollup() {
+        when(spendingRollupService.getDailyTotals(eq(userId), any(), any())).thenReturn(List.of());
+        when(spendingRollupService.getTotals(userId, null, today.minusYears(2), today))
+                .thenReturn(new SpendingTotals(new BigDecimal("12.34"), BigDecimal.ZERO, 1L));
+
+        assertThat(cache.windowSum(userId, null, today.minusYears(2), today)).isEqualTo(-1234L);
+    }
+
+    @Test
+    void testCommittedChanges_UpdateLoadedBuckets() {
+        when(spendingRollupService.getDailyTotals(eq(userId), any(), any()))
+                .thenReturn(List.of(daily(groceries, today, "-10.00")));
+        assertThat(cache.windowSum(userId, groceries, today, today)).isEqualTo(-1000L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.recordChange(userId, groceries, today, new BigDecimal("-5.00"), 1);
+        assertThat(cache.windowSum(userId, groceries, today, today)).isEqualTo(-1500L);
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(cache.windowSum(userId, groceries, today, today)).isEqualTo(-1500L);
+        verify(spendingRollupService, times(1)).getDailyTotals(eq(userId), any(), any());
+    }
+
+    @Test
+    void testRolledBackChanges_AreDiscarded() {
+        when(spendingRollupService.getDailyTotals(eq(userId), any(), any()))
+                .thenReturn(List.of(daily(groceries, today, "-10.00")));
+        assertThat(cache.windowSum(userId, groceries, today, today)).isEqualTo(-1000L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.recordChange(userId, groceries, today, new BigDecimal("-5.00"), 1);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(cache.windowSum(userId, groceries, today, today)).isEqualTo(-1000L);
+    }
+
+    @Test
+    void testChangeOutsideTransaction_ReloadsUser() {
+        when(spendingRollupService.getDailyTotals(eq(userId), any(), any())).thenReturn(List.of());
+        cache.windowSum(userId, null, today, today);
+
+        cache.recordChange(userId, groceries, today, new BigDecimal("-5.00"), 1);
+        cache.windowSum(userId, null, today, today);
+
+        verify(spendingRollupService, times(2)).getDailyTotals(eq(userId), any(), any());
+    }
+
+    @Test
+    void testExpiredBuckets_AreReloaded() {
+        cache = new SpendingWindowCache(spendingRollupService, entityManager, 0, 100);
+        when(spendingRollupService.getDailyTotals(eq(userId), any(), any()))
+                .thenReturn(List.of(daily(groceries, today, "-10.00")))
+                .thenReturn(List.of(daily(groceries, today, "-30.00")));
+
+        assertThat(cache.windowSum(userId, groceries, today, today)).isEqualTo(-1000L);
+        assertThat(cache.windowSum(userId, groceries, today, today)).isEqualTo(-3000L);
+        verify(spendingRollupService, times(2)).getDailyTotals(eq(userId), any(), any());
+    }
+
+    @Test
+    void testRingAdvance_DropsExpiredDays() {
+        long day = today.toEpochDay();
+        SpendingWindowCache.UserWindows windows = new SpendingWindowCache.UserWindows(day);
+        windows.add(groceries, day, -100L);
+        windows.add(groceries, day - 1, -50L);
+
+        windows.add(groceries, day + SpendingWindowCache.WINDOW_DAYS - 1, -7L);
+
+        assertThat(windows.sum(groceries, day - 1, day + SpendingWindowCache.WINDOW_DAYS - 1)).isEqualTo(-107L);
+        assertThat(windows.sum(null, day + 1, day + SpendingWindowCache.WINDOW_DAYS - 1)).isEqualTo(-7L);
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private DailyCategoryTotal daily(UUID categoryId, LocalDate day, String net) {
+        BigDecimal amount = new BigDecimal(net);
+        return DailyCategoryTotal.builder()
+                .userId(userId)
+                .categoryId(categoryId)
+                .day(day)
+                .debitSum(amount.signum() < 0 ? amount.negate() : BigDecimal.ZERO)
+                .creditSum(amount.signum() > 0 ? amount : BigDecimal.ZERO)
+                .count(1)
+                .build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import com.github.bztmrlan.financeassistant.dto.SpendingTotals;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionColumnStoreTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<Object[]> query;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID groceries = UUID.randomUUID();
+    private final UUID salary = UUID.randomUUID();
+    private final LocalDate day = LocalDate.of(2024, 3, 10);
+
+    private TransactionColumnStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (store != null) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(store);
+        }
+    }
+
+    @Test
+    void testTotals_LoadUserOnceAndAggregateRanges() {
+        store = new TransactionColumnStore(entityManager, true, 1_000_000);
+        returnRows(
+                row(day.minusDays(3), "-12.25", groceries),
+                row(day, "-40.00", groceries),
+                row(day, "2500.00", salary),
+                row(day, "-7.75", null),
+                row(day.plusDays(1), "-10.50", groceries));
+
+        SpendingTotals groceryTotals = totals(groceries, day, day.plusDays(1));
+        assertThat(groceryTotals.getDebitSum()).isEqualByComparingTo("50.50");
+        assertThat(groceryTotals.getCreditSum()).isEqualByComparingTo("0");
+        assertThat(groceryTotals.getCount()).isEqualTo(2);
+        assertThat(groceryTotals.getCategoryId()).isEqualTo(groceries);
+
+        SpendingTotals allTotals = totals(null, day.minusDays(3), day);
+        assertThat(allTotals.getDebitSum()).isEqualByComparingTo("60.00");
+        assertThat(allTotals.getCreditSum()).isEqualByComparingTo("2500.00");
+        assertThat(allTotals.getCount()).isEqualTo(4);
+
+        assertThat(totals(UUID.randomUUID(), day, day).getCount()).isZero();
+        assertThat(totals(null, day.plusDays(2), day.plusDays(30)).getCount()).isZero();
+        assertThat(totals(null, day, day.minusDays(1)).getCount()).isZero();
+
+        verify(query, times(1)).getResultList();
+    }
+
+    @Test
+    void testTotals_ChecksOverflowWhenSumsCouldExceedLong() {
+        store = new TransactionColumnStore(entityManager, true, 1_000_000);
+        returnRows(
+                row(day, "92233720368547758.07", groceries),
+                row(day, "1.00", groceries));
+
+        assertThrows(ArithmeticException.class,
+                () -> totals(groceries, day, day));
+    }
+
+    @Test
+    void testDisabled_LeavesTotalsToTheDatabase() {
+        store = new TransactionColumnStore(entityManager, false, 1_000_000);
+
+        assertThat(store.totals(userId, null, day, day)).isEmpty();
+        store.recordChange(userId);
+
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void testWrites_BypassStoreUntilTransactionCompletes() {
+        store = new TransactionColumnStore(entityManager, true, 1_000_000);
+        returnRows(row(day, "-40.00", groceries));
+        totals(groceries, day, day);
+        assertThat(store.isLoaded(userId)).isTrue();
+
+        TransactionSynchronizationManager.initSynchronization();
+        store.recordChange(userId);
+
+        assertThat(store.isLoaded(userId)).isFalse();
+        assertThat(store.totals(userId, groceries, day, day)).isEmpty();
+        assertThat(store.totals(UUID.randomUUID(), groceries, day, day)).isPresent();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(store.totals(userId, groceries, day, day)).isPresent();
+    }
+
+    @Test
+    void testReadOnlyTransactions_ServeLoadedUsersButDoNotLoad() {
+        store = new TransactionColumnStore(entityManager, true, 1_000_000);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(store.totals(userId, groceries, day, day)).isEmpty();
+        assertThat(store.isLoaded(userId)).isFalse();
+        verify(entityManager, never()).createQuery(anyString(), eq(Object[].class));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        returnRows(row(day, "-40.00", groceries));
+        totals(groceries, day, day);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(store.totals(userId, groceries, day, day)).isPresent();
+        verify(query, times(1)).getResultList();
+    }
+
+    @Test
+    void testEviction_KeepsLoadedUsersWithinBudget() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(row(day.minusDays(i), "-1.00", groceries));
+        }
+        store = new TransactionColumnStore(entityManager, true, 5_000);
+        returnRows(rows.toArray(new Object[0][]));
+
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        store.totals(first, null, day, day);
+        store.totals(second, null, day, day);
+        store.totals(first, null, day, day);
+        store.totals(third, null, day, day);
+
+        assertThat(Stream.of(first, second, third).filter(store::isLoaded)).hasSize(2);
+        assertThat(store.usedBytes()).isLessThanOrEqualTo(5_000);
+    }
+
+    @Test
+    void testUserLargerThanBudget_IsServedButNotKept() {
+        store = new TransactionColumnStore(entityManager, true, 100);
+        returnRows(row(day, "-40.00", groceries));
+
+        assertThat(totals(groceries, day, day).getDebitSum()).isEqualByComparingTo("40.00");
+        assertThat(store.isLoaded(userId)).isFalse();
+        assertThat(store.usedBytes()).isZero();
+    }
+
+    private SpendingTotals totals(UUID categoryId, LocalDate startDate, LocalDate endDate) {
+        return store.totals(userId, categoryId, startDate, endDate).orElseThrow();
+    }
+
+    private void returnRows(Object[]... rows) {
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenReturn(query);
+        when(query.setParameter(eq("userId"), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(rows));
+    }
+
+    private static Object[] row(LocalDate date, String amount, UUID categoryId) {
+        return new Object[]{date, new BigDecimal(amount), categoryId};
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 11, 15);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ShardLeaseService shardLeaseService;
+
+    @Test
+    void testMaintainPartitions_CreatesCurrentAndUpcomingMonths() {
+        TransactionPartitionService service = new TransactionPartitionService(jdbcTemplate, shardLeaseService, 3, 0);
+        when(jdbcTemplate.queryForObject(eq(TransactionPartitionService.CREATE_PARTITION_SQL), eq(Boolean.class),
+                any(LocalDate.class))).thenReturn(true);
+
+        service.maintainPartitions(TODAY);
+
+        for (LocalDate month : new LocalDate[]{LocalDate.of(2024, 11, 1), LocalDate.of(2024, 12, 1),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1)}) {
+            verify(jdbcTemplate).queryForObject(TransactionPartitionService.CREATE_PARTITION_SQL, Boolean.class, month);
+        }
+        verify(jdbcTemplate, never()).queryForObject(eq(TransactionPartitionService.ARCHIVE_PARTITIONS_SQL),
+                eq(Integer.class), any(LocalDate.class));
+    }
+
+    @Test
+    void testMaintainPartitions_ArchivesMonthsOutOfRetention() {
+        TransactionPartitionService service = new TransactionPartitionService(jdbcTemplate, shardLeaseService, 0, 24);
+        when(jdbcTemplate.queryForObject(eq(TransactionPartitionService.CREATE_PARTITION_SQL), eq(Boolean.class),
+                any(LocalDate.class))).thenReturn(false);
+        when(jdbcTemplate.queryForObject(eq(TransactionPartitionService.ARCHIVE_PARTITIONS_SQL), eq(Integer.class),
+                any(LocalDate.class))).thenReturn(1);
+
+        service.maintainPartitions(TODAY);
+
+        verify(jdbcTemplate).queryForObject(TransactionPartitionService.ARCHIVE_PARTITIONS_SQL, Integer.class,
+                LocalDate.of(2022, 11, 1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDetectPartitioning_DisabledOutsidePostgres() {
+        TransactionPartitionService service = new TransactionPartitionService(jdbcTemplate, shardLeaseService, 3, 0);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        service.detectPartitioning();
+        service.maintainPartitionsDaily();
+
+        assertFalse(service.isPartitioned());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class));
+        verify(shardLeaseService, never()).runSharded(anyString(), anyString(), anyInt(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDetectPartitioning_MaintainsPartitionedTable() {
+        TransactionPartitionService service = new TransactionPartitionService(jdbcTemplate, shardLeaseService, 1, 0);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(TransactionPartitionService.IS_PARTITIONED_SQL, Integer.class)).thenReturn(1);
+        when(jdbcTemplate.queryForObject(eq(TransactionPartitionService.CREATE_PARTITION_SQL), eq(Boolean.class),
+                any(LocalDate.class))).thenReturn(true);
+
+        service.detectPartitioning();
+        service.maintainPartitionsDaily();
+
+        assertTrue(service.isPartitioned());
+        verify(jdbcTemplate, times(2)).queryForObject(eq(TransactionPartitionService.CREATE_PARTITION_SQL),
+                eq(Boolean.class), any(LocalDate.class));
+        verify(shardLeaseService).runSharded(eq(TransactionPartitionService.JOB_NAME), anyString(), eq(1), any());
+    }
+}
@@ -182,7 +182,7 @@ class TransactionUploadServiceTest {
         assertTrue(result.getErrors().get(0).contains("No valid transactions found"));
         
         verify(transactionRepository, never()).saveAll(any());
-        verify(ruleEngineService, never()).evaluateRulesForUser(any());
+        verify(ruleEngineService, never()).evaluateRulesForTransactions(any(), any());
     }
 
     @Test
@@ -204,7 +204,7 @@ class TransactionUploadServiceTest {
         assertTrue(result.getErrors().get(0).contains("Failed to process file"));
         
         verify(transactionRepository, never()).saveAll(any());
-        verify(ruleEngineService, never()).evaluateRulesForUser(any());
+        verify(ruleEngineService, never()).evaluateRulesForTransactions(any(), any());
     }
 
     @Test
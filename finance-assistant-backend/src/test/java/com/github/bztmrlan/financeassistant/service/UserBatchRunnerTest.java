@@ -0,0 +1,77 @@
+package com.github.bztmrlan.financeassistant.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserBatchRunnerTest {
+
+    private final UserBatchRunner runner = new UserBatchRunner(4, 10);
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+    }
+
+    @Test
+    void testRun_ProcessesEveryUserAcrossPages() {
+        List<UUID> userIds = sortedUserIds(35);
+        Set<UUID> evaluated = ConcurrentHashMap.newKeySet();
+
+        UserBatchRunner.RunSummary summary = runner.run("test run", userIds.size(), pagesOf(userIds), evaluated::add);
+
+        assertEquals(35, summary.processed());
+        assertEquals(0, summary.failed());
+        assertEquals(Set.copyOf(userIds), evaluated);
+    }
+
+    @Test
+    void testRun_IsolatesFailingUsers() {
+        List<UUID> userIds = sortedUserIds(20);
+        UUID failingUser = userIds.get(7);
+        Set<UUID> evaluated = ConcurrentHashMap.newKeySet();
+
+        UserBatchRunner.RunSummary summary = runner.run("test run", userIds.size(), pagesOf(userIds), userId -> {
+            if (userId.equals(failingUser)) {
+                throw new IllegalStateException("evaluation failed");
+            }
+            evaluated.add(userId);
+        });
+
+        assertEquals(20, summary.processed());
+        assertEquals(1, summary.failed());
+        assertEquals(19, evaluated.size());
+        assertFalse(evaluated.contains(failingUser));
+    }
+
+    @Test
+    void testRun_NoUsers() {
+        UserBatchRunner.RunSummary summary = runner.run("test run", 0, (after, size) -> List.of(), userId -> fail());
+
+        assertEquals(0, summary.processed());
+    }
+
+    private List<UUID> sortedUserIds(int count) {
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            userIds.add(UUID.randomUUID());
+        }
+        Collections.sort(userIds);
+        return userIds;
+    }
+
+    private UserBatchRunner.UserIdPages pagesOf(List<UUID> userIds) {
+        return (after, size) -> userIds.stream()
+                .filter(id -> after == null || id.compareTo(after) > 0)
+                .limit(size)
+                .toList();
+    }
+}
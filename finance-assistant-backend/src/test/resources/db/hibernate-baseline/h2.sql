@@ -0,0 +1,178 @@
+-- Schema Hibernate generated from the entities before the Flyway migrations (H2Dialect), with its
+-- default constraint names. Used to test that such a database is baselined and migrated.
+
+create table alerts (
+    read boolean not null,
+    created_at timestamp(6) with time zone,
+    alert_id uuid not null,
+    source_id uuid not null,
+    user_id uuid not null,
+    message varchar(255) not null,
+    source_type enum ('BUDGET','GOAL','RULE') not null,
+    primary key (alert_id)
+);
+
+create table budget_categories (
+    limit_amount numeric(38,2) not null,
+    spent_amount numeric(38,2) not null,
+    budget_id uuid not null,
+    category_id uuid not null,
+    id uuid not null,
+    primary key (id)
+);
+
+create table budgets (
+    end_date date not null,
+    start_date date not null,
+    budget_id uuid not null,
+    user_id uuid not null,
+    description varchar(255),
+    name varchar(255) not null,
+    period varchar(255),
+    status enum ('ACTIVE','COMPLETED','UPCOMING') not null,
+    primary key (budget_id)
+);
+
+create table categories (
+    created_at timestamp(6) not null,
+    category_id uuid not null,
+    user_id uuid not null,
+    name varchar(255) not null,
+    type enum ('EXPENSE','INCOME','TRANSFER') not null,
+    primary key (category_id)
+);
+
+create table goals (
+    completed boolean not null,
+    currency varchar(3) not null,
+    current_amount numeric(38,2) not null,
+    target_amount numeric(38,2) not null,
+    target_date date not null,
+    category_id uuid,
+    goal_id uuid not null,
+    user_id uuid not null,
+    name varchar(255) not null,
+    primary key (goal_id)
+);
+
+create table insights (
+    confidence_score float(53),
+    viewed boolean not null,
+    generated_at timestamp(6) with time zone not null,
+    insight_id uuid not null,
+    user_id uuid not null,
+    category_tags TEXT,
+    insight_data TEXT,
+    message TEXT not null,
+    time_period TEXT,
+    user_question TEXT,
+    type enum ('BUDGET_PERFORMANCE','BUDGET_REVIEW','CUSTOM_QUERY','GOAL_PROGRESS','INCOME_ANALYSIS','SAVINGS_OPPORTUNITY','SPENDING_ANALYSIS','SPENDING_TREND','UNUSUAL_ACTIVITY') not null,
+    primary key (insight_id)
+);
+
+create table rules (
+    active boolean not null,
+    threshold numeric(38,2) not null,
+    category_id uuid,
+    rule_id uuid not null,
+    user_id uuid not null,
+    name varchar(255) not null,
+    condition_type enum ('EQUAL_TO','GREATER_THAN','LESS_THAN') not null,
+    period enum ('DAILY','MONTHLY','QUARTERLY','WEEKLY','YEARLY') not null,
+    primary key (rule_id)
+);
+
+create table transactions (
+    amount numeric(38,2) not null,
+    currency varchar(3) not null,
+    date date not null,
+    created_at timestamp(6),
+    category_id uuid,
+    transaction_id uuid not null,
+    user_id uuid not null,
+    description varchar(255),
+    type varchar(255),
+    primary key (transaction_id)
+);
+
+create table users (
+    created_at timestamp(6) with time zone,
+    user_id uuid not null,
+    email varchar(255) not null unique,
+    name varchar(255) not null,
+    password varchar(255),
+    primary key (user_id)
+);
+
+create table user_settings (
+    user_id uuid not null,
+    currency varchar(255) not null,
+    language varchar(255) not null,
+    timezone varchar(255) not null,
+    primary key (user_id)
+);
+
+alter table if exists alerts
+   add constraint FKqx4kjyy8qmc38cpa1pj5gp74i
+   foreign key (user_id)
+   references users;
+
+alter table if exists budget_categories
+   add constraint FK7xdi9b13c0h6mpy55c0lvgs2w
+   foreign key (budget_id)
+   references budgets;
+
+alter table if exists budget_categories
+   add constraint FK7dnkp89rbhc1ygj79rxwunvu6
+   foreign key (category_id)
+   references categories;
+
+alter table if exists budgets
+   add constraint FKln0tm5tgf3f9q3sp9sa5m8m7b
+   foreign key (user_id)
+   references users;
+
+alter table if exists categories
+   add constraint FKghuylkwuedgl2qahxjt8g41kb
+   foreign key (user_id)
+   references users;
+
+alter table if exists goals
+   add constraint FK2aa0dyyhb21tks9mv85ttcd57
+   foreign key (category_id)
+   references categories;
+
+alter table if exists goals
+   add constraint FKb1mp6ulyqkpcw6bc1a2mr7v1g
+   foreign key (user_id)
+   references users;
+
+alter table if exists insights
+   add constraint FK85quhk1tlu7jecfmc7efuryn2
+   foreign key (user_id)
+   references users;
+
+alter table if exists rules
+   add constraint FKj1xo5ry2rm2vconnsa8xkxcv5
+   foreign key (category_id)
+   references categories;
+
+alter table if exists rules
+   add constraint FKpbm9sa9my7g9sl35w38h2hglj
+   foreign key (user_id)
+   references users;
+
+alter table if exists transactions
+   add constraint FKsqqi7sneo04kast0o138h19mv
+   foreign key (category_id)
+   references categories;
+
+alter table if exists transactions
+   add constraint FKqwv7rmvc8va8rep7piikrojds
+   foreign key (user_id)
+   references users;
+
+alter table if exists user_settings
+   add constraint FK8v82nj88rmai0nyck19f873dw
+   foreign key (user_id)
+   references users;
@@ -4,6 +4,11 @@ let allCategories = [];
 let currentPage = 1;
 const pageSize = 20;
 let filteredTransactions = [];
+// Transactions are fetched from the server a page at a time; nextCursor is null once all are loaded
+const fetchSize = 100;
+let nextCursor = null;
+// Sample transactions exist only in the browser, so their statistics are summed here
+let usingSampleData = false;
 
 // Initialize the page
 document.addEventListener('DOMContentLoaded', function() {
@@ -281,6 +286,7 @@ function createSampleTransactions() {
     
     currentTransactions = sampleTransactions;
     filteredTransactions = [...sampleTransactions];
+    usingSampleData = true;
     
     showMessage('Sample transactions created successfully! You can now edit categories.', 'success');
     updateStatistics();
@@ -394,7 +400,27 @@ function populateCategoryFilter() {
     }
 }
 
-async function loadTransactions(token) {
+function buildTransactionQuery(cursor) {
+    const params = new URLSearchParams({ limit: fetchSize });
+    const filters = {
+        from: document.getElementById('dateFrom')?.value,
+        to: document.getElementById('dateTo')?.value,
+        categoryId: document.getElementById('categoryFilter')?.value,
+        type: document.getElementById('typeFilter')?.value,
+        q: document.getElementById('searchDescription')?.value.trim()
+    };
+    Object.entries(filters).forEach(([name, value]) => {
+        if (value) {
+            params.set(name, value);
+        }
+    });
+    if (cursor) {
+        params.set('cursor', cursor);
+    }
+    return params.toString();
+}
+
+async function loadTransactions(token, append = false) {
     try {
         console.log('=== LOADING TRANSACTIONS ===');
         console.log('Using token for transactions:', !!token);
@@ -404,8 +430,9 @@ async function loadTransactions(token) {
             return;
         }
 
-        console.log('Making request to:', `${CONFIG.getBackendUrl()}/api/transactions`);
-        const response = await fetch(`${CONFIG.getBackendUrl()}/api/transactions`, {
+        const url = `${CONFIG.getBackendUrl()}/api/transactions?${buildTransactionQuery(append ? nextCursor : null)}`;
+        console.log('Making request to:', url);
+        const response = await fetch(url, {
             method: 'GET',
             headers: {
                 'Authorization': `Bearer ${token}`,
@@ -414,8 +441,14 @@ async function loadTransactions(token) {
         });
 
         if (response.ok) {
-            currentTransactions = await response.json();
+            const page = await response.json();
+            nextCursor = response.headers.get('X-Next-Cursor');
+            currentTransactions = append ? currentTransactions.concat(page) : page;
             filteredTransactions = [...currentTransactions];
+            usingSampleData = false;
+            if (!append) {
+                currentPage = 1;
+            }
             console.log('Transactions loaded successfully:', currentTransactions.length, 'transactions');
             updateStatistics();
             displayTransactions();
@@ -454,23 +487,81 @@ async function loadTransactions(token) {
     }
 }
 
-function updateStatistics() {
-    const totalTransactions = currentTransactions.length;
-    const totalIncome = currentTransactions
-        .filter(t => t.amount > 0)
-        .reduce((sum, t) => sum + Math.abs(t.amount), 0);
-    const totalExpenses = currentTransactions
-        .filter(t => t.amount < 0)
-        .reduce((sum, t) => sum + Math.abs(t.amount), 0);
-    const netAmount = currentTransactions.reduce((sum, t) => sum + t.amount, 0);
+// The statistics cover every transaction matching the date and category filters, not only the loaded
+// pages; the server sums them from its daily totals, which the type and description filters cannot narrow.
+async function updateStatistics() {
+    const token = localStorage.getItem('authToken');
+    if (usingSampleData || !token) {
+        showStatistics(sumLoadedTransactions(), 'Loaded transactions only');
+        return;
+    }
 
-    document.getElementById('totalTransactions').textContent = totalTransactions;
-    document.getElementById('totalIncome').textContent = formatCurrency(totalIncome);
+    const params = new URLSearchParams();
+    const filters = {
+        from: document.getElementById('dateFrom')?.value,
+        to: document.getElementById('dateTo')?.value,
+        categoryId: document.getElementById('categoryFilter')?.value
+    };
+    Object.entries(filters).forEach(([name, value]) => {
+        if (value) {
+            params.set(name, value);
+        }
+    });
+
+    try {
+        const response = await fetch(`${CONFIG.getBackendUrl()}/api/transactions/totals?${params.toString()}`, {
+            method: 'GET',
+            headers: {
+                'Authorization': `Bearer ${token}`,
+                'Content-Type': 'application/json'
+            }
+        });
+        if (response.ok) {
+            const totals = await response.json();
+            const narrowed = document.getElementById('typeFilter')?.value
+                || document.getElementById('searchDescription')?.value.trim();
+            showStatistics({
+                count: totals.count,
+                income: Number(totals.creditSum),
+                expenses: Number(totals.debitSum),
+                net: Number(totals.net)
+            }, narrowed ? 'All transactions in the selected dates and category; type and search are not applied' : '');
+            return;
+        }
+        console.error('Failed to load transaction totals:', response.statusText);
+    } catch (error) {
+        console.error('Error loading transaction totals:', error);
+    }
+    showStatistics(sumLoadedTransactions(), 'Loaded transactions only');
+}
+
+function sumLoadedTransactions() {
+    return {
+        count: currentTransactions.length,
+        income: currentTransactions
+            .filter(t => t.amount > 0)
+            .reduce((sum, t) => sum + Math.abs(t.amount), 0),
+        expenses: currentTransactions
+            .filter(t => t.amount < 0)
+            .reduce((sum, t) => sum + Math.abs(t.amount), 0),
+        net: currentTransactions.reduce((sum, t) => sum + t.amount, 0)
+    };
+}
+
+function showStatistics(totals, note) {
+    document.getElementById('totalTransactions').textContent = totals.count;
+    document.getElementById('totalIncome').textContent = formatCurrency(totals.income);
     document.getElementById('totalIncome').className = 'stat-value amount-positive';
-    document.getElementById('totalExpenses').textContent = formatCurrency(totalExpenses);
+    document.getElementById('totalExpenses').textContent = formatCurrency(totals.expenses);
     document.getElementById('totalExpenses').className = 'stat-value amount-negative';
-    document.getElementById('netAmount').textContent = formatCurrency(netAmount);
-    document.getElementById('netAmount').className = netAmount >= 0 ? 'stat-value amount-positive' : 'stat-value amount-negative';
+    document.getElementById('netAmount').textContent = formatCurrency(totals.net);
+    document.getElementById('netAmount').className = totals.net >= 0 ? 'stat-value amount-positive' : 'stat-value amount-negative';
+
+    const statisticsNote = document.getElementById('statisticsNote');
+    if (statisticsNote) {
+        statisticsNote.textContent = note;
+        statisticsNote.style.display = note ? 'block' : 'none';
+    }
 }
 
 function displayTransactions() {
@@ -801,47 +892,14 @@ async function saveTransactionChanges(transactionId) {
     }
 }
 
-function applyFilters() {
-    const dateFrom = document.getElementById('dateFrom').value;
-    const dateTo = document.getElementById('dateTo').value;
-    const categoryFilter = document.getElementById('categoryFilter').value;
-    const typeFilter = document.getElementById('typeFilter').value;
-    const searchDescription = document.getElementById('searchDescription').value.toLowerCase();
+async function applyFilters() {
+    const token = localStorage.getItem('authToken');
+    if (!token) {
+        showMessage('Please log in again to access transactions', 'error');
+        return;
+    }
 
-    filteredTransactions = currentTransactions.filter(transaction => {
-        // Date filter
-        if (dateFrom && new Date(transaction.date) < new Date(dateFrom)) {
-            return false;
-        }
-        if (dateTo && new Date(transaction.date) > new Date(dateTo)) {
-            return false;
-        }
-        
-        // Category filter - check both categoryId and categoryName
-        if (categoryFilter) {
-            const hasMatchingCategory = transaction.categoryId === categoryFilter || 
-                                      transaction.categoryName === categoryFilter;
-            if (!hasMatchingCategory) {
-                return false;
-            }
-        }
-        
-        // Type filter - check both type and categoryType
-        if (typeFilter) {
-            const hasMatchingType = transaction.type === typeFilter || 
-                                   transaction.categoryType === typeFilter;
-            if (!hasMatchingType) {
-                return false;
-            }
-        }
-        
-        // Description search
-        if (searchDescription && (!transaction.description || !transaction.description.toLowerCase().includes(searchDescription))) {
-            return false;
-        }
-        
-        return true;
-    });
+    await loadTransactions(token);
 
     currentPage = 1;
     displayTransactions();
@@ -859,14 +917,17 @@ function applyFilters() {
     }
 }
 
-function clearFilters() {
+async function clearFilters() {
     document.getElementById('dateFrom').value = '';
     document.getElementById('dateTo').value = '';
     document.getElementById('categoryFilter').value = '';
     document.getElementById('typeFilter').value = '';
     document.getElementById('searchDescription').value = '';
-    
-    filteredTransactions = [...currentTransactions];
+
+    const token = localStorage.getItem('authToken');
+    if (token) {
+        await loadTransactions(token);
+    }
     currentPage = 1;
     displayTransactions();
     updatePagination();
@@ -887,7 +948,7 @@ function updatePagination() {
     const totalPages = Math.ceil(filteredTransactions.length / pageSize);
     const pagination = document.getElementById('pagination');
     
-    if (totalPages <= 1) {
+    if (totalPages <= 1 && !nextCursor) {
         pagination.style.display = 'none';
         return;
     }
@@ -899,13 +960,20 @@ function updatePagination() {
     const pageInfo = document.getElementById('pageInfo');
     
     prevBtn.disabled = currentPage === 1;
-    nextBtn.disabled = currentPage === totalPages;
+    nextBtn.disabled = currentPage === totalPages && !nextCursor;
     
-    pageInfo.textContent = `Page ${currentPage} of ${totalPages}`;
+    pageInfo.textContent = `Page ${currentPage} of ${totalPages}${nextCursor ? '+' : ''}`;
 }
 
-function changePage(direction) {
-    const totalPages = Math.ceil(filteredTransactions.length / pageSize);
+async function changePage(direction) {
+    let totalPages = Math.ceil(filteredTransactions.length / pageSize);
+
+    if (direction === 'next' && currentPage >= totalPages && nextCursor) {
+        const page = currentPage;
+        await loadTransactions(localStorage.getItem('authToken'), true);
+        currentPage = page;
+        totalPages = Math.ceil(filteredTransactions.length / pageSize);
+    }
     
     if (direction === 'prev' && currentPage > 1) {
         currentPage--;